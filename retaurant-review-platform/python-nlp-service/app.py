@@ -19,6 +19,7 @@ sentiment_analyzer = None
 model_ready = False
 model_loading = False
 model_error = None
+model_version = None
 initialization_queue = Queue()
 
 class ModelLoader(threading.Thread):
@@ -29,7 +30,7 @@ class ModelLoader(threading.Thread):
 
     def run(self):
         """Load the sentiment analysis model in background"""
-        global sentiment_analyzer, model_ready, model_loading, model_error
+        global sentiment_analyzer, model_ready, model_loading, model_error, model_version
 
         try:
             model_loading = True
@@ -42,6 +43,7 @@ class ModelLoader(threading.Thread):
                     model="cardiffnlp/twitter-roberta-base-sentiment-latest",
                     return_all_scores=True
                 )
+                model_version = "cardiffnlp/twitter-roberta-base-sentiment-latest"
                 logger.info("Primary model loaded successfully!")
 
             except Exception as e:
@@ -50,6 +52,7 @@ class ModelLoader(threading.Thread):
                     "sentiment-analysis",
                     model="distilbert-base-uncased-finetuned-sst-2-english"
                 )
+                model_version = "distilbert-base-uncased-finetuned-sst-2-english"
                 logger.info("Fallback model loaded successfully!")
 
             model_ready = True
@@ -77,7 +80,8 @@ def health_check():
         'timestamp': datetime.now().isoformat(),
         'service': 'nlp-sentiment-analysis',
         'model_ready': model_ready,
-        'model_loading': model_loading
+        'model_loading': model_loading,
+        'model_version': model_version
     }
 
     if model_error:
@@ -100,6 +104,7 @@ def readiness_check():
         return jsonify({
             'status': 'ready',
             'model_ready': True,
+            'model_version': model_version,
             'timestamp': datetime.now().isoformat()
         }), 200
     else:
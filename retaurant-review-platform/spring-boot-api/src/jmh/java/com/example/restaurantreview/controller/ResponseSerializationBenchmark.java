@@ -0,0 +1,180 @@
+package com.example.restaurantreview.controller;
+
+import com.example.restaurantreview.dto.CursorPage;
+import com.example.restaurantreview.dto.RestaurantSummary;
+import com.example.restaurantreview.dto.ReviewView;
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.Review;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON bodies of the review and restaurant endpoints. The entity benchmarks are the responses as they were
+// before the read models: entities through a plain Boot-configured ObjectMapper. The view benchmarks are the
+// responses now: ReviewView and RestaurantSummary through the same mapper with Blackbird (see JacksonConfig),
+// each written by an ObjectWriter built once for its root type. Payload sizes are printed at setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper viewMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(new BlackbirdModule())
+            .build();
+
+    private final ObjectWriter reviewViewWriter = viewMapper.writerFor(ReviewView.class);
+    private final ObjectWriter reviewViewPageWriter = viewMapper.writerFor(new TypeReference<CursorPage<ReviewView>>() {});
+    private final ObjectWriter restaurantSummaryWriter = viewMapper.writerFor(RestaurantSummary.class);
+    private final ObjectWriter restaurantSummaryListWriter = viewMapper.writerFor(new TypeReference<List<RestaurantSummary>>() {});
+
+    private Review review;
+    private CursorPage<Review> reviewPage;
+    private Restaurant restaurant;
+    private List<Restaurant> restaurants;
+
+    private ReviewView reviewView;
+    private CursorPage<ReviewView> reviewViewPage;
+    private RestaurantSummary restaurantSummary;
+    private List<RestaurantSummary> restaurantSummaries;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 12, 30);
+
+        restaurant = newRestaurant(1, createdAt);
+        restaurants = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            restaurants.add(newRestaurant(i, createdAt));
+        }
+
+        // GET /api/reviews/restaurant/{id}/feed, default page of 20
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            reviews.add(newReview(i, restaurant, createdAt.minusMinutes(i)));
+        }
+        review = reviews.get(0);
+        reviewPage = new CursorPage<>(reviews, "MjAyNS0wMS0wMVQxMjoxMDowMHw5ODc2", true);
+
+        restaurantSummary = toSummary(restaurant);
+        restaurantSummaries = new ArrayList<>();
+        restaurants.forEach(r -> restaurantSummaries.add(toSummary(r)));
+
+        List<ReviewView> views = new ArrayList<>();
+        reviews.forEach(r -> views.add(toView(r)));
+        reviewView = views.get(0);
+        reviewViewPage = new CursorPage<>(views, reviewPage.getNextCursor(), true);
+
+        System.out.printf("%nPayload bytes (entity -> view): review %d -> %d, feed page %d -> %d, "
+                        + "restaurant %d -> %d, restaurant list %d -> %d%n",
+                review().length, reviewView().length, reviewFeedPage().length, reviewFeedPageView().length,
+                restaurant().length, restaurantSummary().length, restaurantList().length, restaurantSummaryList().length);
+    }
+
+    // Same columns the constructor expressions of the repositories select
+    private static ReviewView toView(Review review) {
+        return new ReviewView(review.getId(), review.getRestaurant().getId(), review.getRestaurant().getName(),
+                review.getReviewText(), review.getReviewerName(), review.getSentimentLabel(),
+                review.getSentimentScore(), review.getSentimentConfidence(), review.getIsPositive(),
+                review.getCreatedAt());
+    }
+
+    private static RestaurantSummary toSummary(Restaurant restaurant) {
+        return new RestaurantSummary(restaurant.getId(), restaurant.getName(), restaurant.getDescription(),
+                restaurant.getAddress(), restaurant.getCuisineType(), restaurant.getAverageScore(),
+                restaurant.getReviewCount());
+    }
+
+    private static Restaurant newRestaurant(int id, LocalDateTime createdAt) {
+        Restaurant restaurant = new Restaurant("Restaurant " + id, "Neighbourhood place with a seasonal menu",
+                id + " Market Street", id % 2 == 0 ? "Italian" : "Japanese");
+        restaurant.setId((long) id);
+        restaurant.setTotalScore(0.81 * 120);
+        restaurant.setReviewCount(120);
+        restaurant.setAverageScore(0.81);
+        restaurant.setCreatedAt(createdAt);
+        restaurant.setUpdatedAt(createdAt);
+        return restaurant;
+    }
+
+    private static Review newReview(int id, Restaurant restaurant, LocalDateTime createdAt) {
+        Review review = new Review(restaurant, "The pasta was fresh and the staff were friendly, "
+                + "we will definitely come back for the tasting menu.", "Reviewer " + id);
+        review.setId((long) id);
+        review.setSentimentLabel("POSITIVE");
+        review.setSentimentScore(0.9731);
+        review.setSentimentConfidence(0.9731);
+        review.setIsPositive(true);
+        review.setSentimentStatus(Review.SENTIMENT_STATUS_COMPLETED);
+        review.setSentimentEngine(Review.SENTIMENT_ENGINE_TRANSFORMER);
+        review.setCreatedAt(createdAt);
+        review.setUpdatedAt(createdAt);
+        return review;
+    }
+
+    @Benchmark
+    public byte[] review() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(review);
+    }
+
+    @Benchmark
+    public byte[] reviewFeedPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reviewPage);
+    }
+
+    @Benchmark
+    public byte[] restaurant() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurant);
+    }
+
+    @Benchmark
+    public byte[] restaurantList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurants);
+    }
+
+    @Benchmark
+    public byte[] reviewView() throws JsonProcessingException {
+        return reviewViewWriter.writeValueAsBytes(reviewView);
+    }
+
+    @Benchmark
+    public byte[] reviewFeedPageView() throws JsonProcessingException {
+        return reviewViewPageWriter.writeValueAsBytes(reviewViewPage);
+    }
+
+    @Benchmark
+    public byte[] restaurantSummary() throws JsonProcessingException {
+        return restaurantSummaryWriter.writeValueAsBytes(restaurantSummary);
+    }
+
+    @Benchmark
+    public byte[] restaurantSummaryList() throws JsonProcessingException {
+        return restaurantSummaryListWriter.writeValueAsBytes(restaurantSummaries);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.service.LeaderboardService.RestaurantLeaderboardEntry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// The leaderboard hash "data" field as it was written before LeaderboardEntryCodec
+// (GenericJackson2JsonRedisSerializer, with @class type info) against a typed Jackson codec and the codec's
+// binary layout. Encoded sizes are printed at setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardEntryCodecBenchmark {
+
+    private final GenericJackson2JsonRedisSerializer redisSerializer = new GenericJackson2JsonRedisSerializer();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LeaderboardEntryCodec binaryCodec = new LeaderboardEntryCodec(RedisValueFormat.BINARY);
+    private final LeaderboardEntryCodec jsonCodec = new LeaderboardEntryCodec(RedisValueFormat.JSON);
+
+    private ObjectWriter typedWriter;
+    private ObjectReader typedReader;
+    private RestaurantLeaderboardEntry entry;
+
+    private byte[] genericJson;
+    private byte[] typedJson;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        entry = new RestaurantLeaderboardEntry(4217L, "Trattoria da Enzo al 29", 0.8734, 1289, "Italian");
+        typedWriter = objectMapper.writerFor(RestaurantLeaderboardEntry.class);
+        typedReader = objectMapper.readerFor(RestaurantLeaderboardEntry.class);
+
+        genericJson = redisSerializer.serialize(entry);
+        typedJson = typedWriter.writeValueAsBytes(entry);
+        binary = binaryCodec.encode(entry);
+
+        System.out.printf("Encoded entry size: generic JSON %d B, typed JSON %d B, binary %d B%n",
+                genericJson.length, typedJson.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] genericJsonEncode() {
+        return redisSerializer.serialize(entry);
+    }
+
+    @Benchmark
+    public Object genericJsonDecode() {
+        return redisSerializer.deserialize(genericJson);
+    }
+
+    @Benchmark
+    public byte[] typedJsonEncode() throws IOException {
+        return typedWriter.writeValueAsBytes(entry);
+    }
+
+    @Benchmark
+    public RestaurantLeaderboardEntry typedJsonDecode() throws IOException {
+        return typedReader.readValue(typedJson);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binaryCodec.encode(entry);
+    }
+
+    @Benchmark
+    public RestaurantLeaderboardEntry binaryDecode() {
+        return binaryCodec.decode(binary);
+    }
+
+    // A legacy entry read while app.leaderboard.entry-format is binary: the first byte picks the JSON path
+    @Benchmark
+    public RestaurantLeaderboardEntry legacyJsonDecodeThroughCodec() {
+        return binaryCodec.decode(genericJson);
+    }
+
+    @Benchmark
+    public byte[] jsonCodecEncode() {
+        return jsonCodec.encode(entry);
+    }
+}
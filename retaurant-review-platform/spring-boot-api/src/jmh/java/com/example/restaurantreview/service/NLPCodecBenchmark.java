@@ -0,0 +1,133 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.BatchSentimentAnalysisResponse;
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Request building and response parsing for the NLP service, through the same Jackson codecs WebClient uses
+// (nlpWebClient is built with the default codecs). The HTTP exchange itself is not part of the measurement.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NLPCodecBenchmark {
+
+    private static final ResolvableType MAP_TYPE = ResolvableType.forClass(Map.class);
+    private static final ResolvableType SINGLE_RESPONSE_TYPE = ResolvableType.forClass(SentimentAnalysisResponse.class);
+    private static final ResolvableType BATCH_RESPONSE_TYPE = ResolvableType.forClass(BatchSentimentAnalysisResponse.class);
+
+    private static final String[] SAMPLE_REVIEWS = {
+            "The pasta was fresh and the staff were friendly, we will definitely come back.",
+            "Waited forty minutes for a cold pizza. Not coming back.",
+            "Decent food, nothing special, a bit pricey for what you get.",
+            "Absolutely amazing tasting menu, every course was better than the last one!"
+    };
+
+    // Texts per /batch-analyze call, 100 is the service maximum
+    @Param({"1", "16", "100"})
+    public int batchSize;
+
+    private final Jackson2JsonEncoder encoder = new Jackson2JsonEncoder();
+    private final Jackson2JsonDecoder decoder = new Jackson2JsonDecoder();
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private Map<String, Object> singleRequest;
+    private Map<String, Object> batchRequest;
+    private byte[] singleResponse;
+    private byte[] batchResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<String> texts = new ArrayList<>(batchSize);
+        List<Map<String, Object>> results = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            texts.add(SAMPLE_REVIEWS[i % SAMPLE_REVIEWS.length]);
+            results.add(result(i, i % 2 == 0));
+        }
+
+        singleRequest = Map.of("text", SAMPLE_REVIEWS[0]);
+        batchRequest = Map.of("texts", texts);
+
+        Map<String, Object> single = result(0, true);
+        single.remove("index");
+        single.put("processed_at", "2025-01-01T12:00:00.000000");
+        singleResponse = objectMapper.writeValueAsBytes(single);
+
+        Map<String, Object> batch = new LinkedHashMap<>();
+        batch.put("results", results);
+        batch.put("processed_count", batchSize);
+        batch.put("error_count", 0);
+        batch.put("processed_at", "2025-01-01T12:00:00.000000");
+        batchResponse = objectMapper.writeValueAsBytes(batch);
+    }
+
+    private static Map<String, Object> result(int index, boolean positive) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("sentiment", positive ? "POSITIVE" : "NEGATIVE");
+        result.put("confidence", 0.9731);
+        result.put("score", positive ? 0.9731 : -0.9731);
+        result.put("is_positive", positive);
+        return result;
+    }
+
+    @Benchmark
+    public int encodeSingleRequest() {
+        return encode(singleRequest);
+    }
+
+    @Benchmark
+    public int encodeBatchRequest() {
+        return encode(batchRequest);
+    }
+
+    @Benchmark
+    public Object decodeSingleResponse() {
+        return decoder.decode(bufferFactory.wrap(singleResponse), SINGLE_RESPONSE_TYPE, MediaType.APPLICATION_JSON, null);
+    }
+
+    // Parsing plus the mapping of results back to input positions
+    @Benchmark
+    public NLPBatchClient.BatchResults decodeBatchResponse() {
+        BatchSentimentAnalysisResponse response = (BatchSentimentAnalysisResponse) decoder.decode(
+                bufferFactory.wrap(batchResponse), BATCH_RESPONSE_TYPE, MediaType.APPLICATION_JSON, null);
+        return NLPBatchClient.toResultsByIndex(response, batchSize);
+    }
+
+    private int encode(Map<String, Object> body) {
+        DataBuffer buffer = encoder.encodeValue(body, bufferFactory, MAP_TYPE, MediaType.APPLICATION_JSON, null);
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// JVM-side cost of RestaurantService.updateRestaurantScores. The aggregate arithmetic itself runs in the
+// database UPDATE and the Redis script, so what is left here is the work around it: trending bucket keys and
+// expiries, script arguments, the leaderboard entry encoding and the Redis timer. Repository, EntityManager and Redis are
+// Mockito stubs, their (small, constant) invocation cost is included.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreUpdateBenchmark {
+
+    private RestaurantService restaurantService;
+    private Restaurant restaurant;
+    private LocalDateTime reviewedAt;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // The delta script answers with the new average
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class, invocation -> "0.8734");
+
+        LeaderboardService leaderboardService = new LeaderboardService();
+        ReflectionTestUtils.setField(leaderboardService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(leaderboardService, "entryCodec", new LeaderboardEntryCodec(RedisValueFormat.BINARY));
+        ReflectionTestUtils.setField(leaderboardService, "nearCache", mock(LeaderboardNearCache.class));
+        ReflectionTestUtils.setField(leaderboardService, "leaderboardKey", "restaurant:leaderboard");
+
+        ReviewPipelineMetrics metrics = new ReviewPipelineMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.init();
+        ReflectionTestUtils.setField(leaderboardService, "metrics", metrics);
+
+        RestaurantRepository restaurantRepository = mock(RestaurantRepository.class);
+        when(restaurantRepository.applyScoreDelta(anyLong(), anyDouble(), anyInt(), any())).thenReturn(1);
+
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.contains(any())).thenReturn(true);
+
+        restaurantService = new RestaurantService();
+        ReflectionTestUtils.setField(restaurantService, "restaurantRepository", restaurantRepository);
+        ReflectionTestUtils.setField(restaurantService, "leaderboardService", leaderboardService);
+        ReflectionTestUtils.setField(restaurantService, "entityManager", entityManager);
+
+        restaurant = new Restaurant("Trattoria da Enzo al 29", "Roman trattoria", "Via dei Vascellari 29", "Italian");
+        restaurant.setId(4217L);
+        restaurant.setTotalScore(1125.8);
+        restaurant.setReviewCount(1289);
+        restaurant.setAverageScore(0.8734);
+        reviewedAt = LocalDateTime.of(2025, 1, 1, 12, 30);
+    }
+
+    @Benchmark
+    public Restaurant updateRestaurantScores() {
+        restaurantService.updateRestaurantScores(restaurant, 0.9731, reviewedAt);
+        return restaurant;
+    }
+}
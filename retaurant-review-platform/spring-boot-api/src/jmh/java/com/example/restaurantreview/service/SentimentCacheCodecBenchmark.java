@@ -0,0 +1,70 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+// Values of the Redis level of SentimentCache: the reactive template's GenericJackson2JsonRedisSerializer
+// (app.nlp.cache.format json) against SentimentResponseCodec (binary). Encoded sizes are printed at setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SentimentCacheCodecBenchmark {
+
+    private final GenericJackson2JsonRedisSerializer redisSerializer = new GenericJackson2JsonRedisSerializer();
+
+    private SentimentAnalysisResponse response;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+        response = new SentimentAnalysisResponse();
+        response.setSentiment("POSITIVE");
+        response.setConfidence(0.9731);
+        response.setScore(0.9731);
+        response.setIsPositive(true);
+        response.setProcessedAt("2024-05-14T18:22:31.417Z");
+        response.setEngine(Review.SENTIMENT_ENGINE_TRANSFORMER);
+
+        json = redisSerializer.serialize(response);
+        binary = SentimentResponseCodec.encode(response);
+
+        System.out.printf("Cached sentiment size: JSON %d B, binary %d B%n", json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return redisSerializer.serialize(response);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return redisSerializer.deserialize(json);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return SentimentResponseCodec.encode(response);
+    }
+
+    @Benchmark
+    public SentimentAnalysisResponse binaryDecode() {
+        return SentimentResponseCodec.decode(binary);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.restaurantreview.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Picked up by Boot's ObjectMapper, so MVC responses, the export and the import all use it. Jackson
+    // already caches one serializer per type; Blackbird swaps their reflective getter calls for generated
+    // lambdas, which is most of what is left of writing a page of flat read models.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
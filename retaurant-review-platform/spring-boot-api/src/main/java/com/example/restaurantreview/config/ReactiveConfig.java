@@ -0,0 +1,23 @@
+package com.example.restaurantreview.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+    // Sized like the connection pool: more threads would only wait for a connection
+    @Value("${app.reactive.jpa-threads:10}")
+    private int jpaThreads;
+
+    @Value("${app.reactive.jpa-queue-capacity:10000}")
+    private int jpaQueueCapacity;
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jpaScheduler() {
+        return Schedulers.newBoundedElastic(jpaThreads, jpaQueueCapacity, "jpa");
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.restaurantreview.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// Guards the virtual-thread execution mode. A virtual thread that blocks on I/O inside a synchronized
+// block pins its carrier thread, so a few pinned JDBC or Lettuce calls can stall every request.
+// The driver releases below replaced those monitors with java.util.concurrent locks.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    private static final String PGJDBC_DRIVER = "org.postgresql.Driver";
+    private static final int[] PGJDBC_MIN_VERSION = {42, 6};
+
+    private static final String LETTUCE_CLIENT = "io.lettuce.core.RedisClient";
+    private static final int[] LETTUCE_MIN_VERSION = {6, 3};
+
+    @Value("${app.virtual-threads.fail-on-pinning-risk:true}")
+    private boolean failOnPinningRisk;
+
+    @PostConstruct
+    public void checkPinningRisk() {
+        checkDriver("PostgreSQL JDBC driver", PGJDBC_DRIVER, PGJDBC_MIN_VERSION);
+        checkDriver("Lettuce Redis client", LETTUCE_CLIENT, LETTUCE_MIN_VERSION);
+
+        if (System.getProperty("jdk.tracePinnedThreads") == null) {
+            logger.info("Virtual-thread mode enabled; start with -Djdk.tracePinnedThreads=short to log pinned threads");
+        } else {
+            logger.info("Virtual-thread mode enabled with pinned-thread tracing");
+        }
+    }
+
+    private void checkDriver(String name, String className, int[] minVersion) {
+        String version;
+        try {
+            Package driverPackage = Class.forName(className).getPackage();
+            version = driverPackage != null ? driverPackage.getImplementationVersion() : null;
+        } catch (ClassNotFoundException e) {
+            return;
+        }
+
+        if (version == null) {
+            logger.warn("Could not determine the {} version, pinning risk not checked", name);
+            return;
+        }
+
+        if (!isAtLeast(version, minVersion)) {
+            String message = String.format("%s %s may pin virtual threads, %d.%d or newer is required",
+                    name, version, minVersion[0], minVersion[1]);
+            if (failOnPinningRisk) {
+                throw new IllegalStateException(message);
+            }
+            logger.warn(message);
+        } else {
+            logger.info("{} {} is safe for virtual threads", name, version);
+        }
+    }
+
+    private boolean isAtLeast(String version, int[] minVersion) {
+        String[] parts = version.split("[.\\-]");
+        for (int i = 0; i < minVersion.length; i++) {
+            int part;
+            try {
+                part = i < parts.length ? Integer.parseInt(parts[i]) : 0;
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            if (part != minVersion[i]) {
+                return part > minVersion[i];
+            }
+        }
+        return true;
+    }
+}
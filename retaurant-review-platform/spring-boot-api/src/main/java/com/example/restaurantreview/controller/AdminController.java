@@ -0,0 +1,106 @@
+package com.example.restaurantreview.controller;
+
+import com.example.restaurantreview.service.LeaderboardMaintenanceService;
+import com.example.restaurantreview.service.ReviewStatisticsService;
+import com.example.restaurantreview.service.SentimentRescoreService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    @Autowired
+    private LeaderboardMaintenanceService maintenanceService;
+
+    @Autowired
+    private ReviewStatisticsService statisticsService;
+
+    @Autowired
+    private SentimentRescoreService rescoreService;
+
+    @PostMapping("/leaderboard/rebuild")
+    public ResponseEntity<?> rebuildLeaderboard() {
+        try {
+            return ResponseEntity.ok(maintenanceService.rebuild());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Leaderboard rebuild failed: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("error", "Leaderboard rebuild failed: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/leaderboard/reconcile")
+    public ResponseEntity<?> reconcileLeaderboard() {
+        try {
+            return ResponseEntity.ok(maintenanceService.reconcile());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Leaderboard reconcile failed: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("error", "Leaderboard reconcile failed: " + e.getMessage()));
+        }
+    }
+
+    // Rewrites leaderboard entries still stored in another format than app.leaderboard.entry-format
+    @PostMapping("/leaderboard/migrate-entries")
+    public ResponseEntity<?> migrateLeaderboardEntries() {
+        try {
+            return ResponseEntity.ok(maintenanceService.migrateEntries());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Leaderboard entry migration failed: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("error", "Leaderboard entry migration failed: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/leaderboard/maintenance")
+    public ResponseEntity<?> getLeaderboardMaintenance() {
+        // HashMap because any report is null until its job has run once
+        Map<String, Object> response = new HashMap<>();
+        response.put("lastRebuild", maintenanceService.getLastRebuild());
+        response.put("lastReconcile", maintenanceService.getLastReconcile());
+        response.put("lastEntryMigration", maintenanceService.getLastMigration());
+        return ResponseEntity.ok(response);
+    }
+
+    // Verifies the maintained statistics row against the reviews and rewrites it if it drifted
+    @PostMapping("/restaurants/{restaurantId}/review-statistics/recompute")
+    public ResponseEntity<?> recomputeReviewStatistics(@PathVariable Long restaurantId) {
+        try {
+            return ResponseEntity.ok(statisticsService.recompute(restaurantId));
+        } catch (RuntimeException e) {
+            logger.error("Review statistics recompute failed: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Re-scores lexicon and fallback sentiments with the transformer, the same job also runs on a schedule
+    @PostMapping("/reviews/sentiment/rescore")
+    public ResponseEntity<?> rescoreSentiment(@RequestParam(defaultValue = "5000") int limit) {
+        try {
+            return ResponseEntity.ok(rescoreService.rescore(Math.max(1, limit)));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Sentiment re-score failed: {}", e.getMessage());
+            return ResponseEntity.internalServerError().body(Map.of("error", "Sentiment re-score failed: " + e.getMessage()));
+        }
+    }
+}
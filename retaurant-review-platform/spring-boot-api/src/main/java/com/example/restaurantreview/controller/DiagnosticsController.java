@@ -0,0 +1,48 @@
+package com.example.restaurantreview.controller;
+
+import com.example.restaurantreview.service.LeaderboardNearCache;
+import com.example.restaurantreview.service.NLPResilienceGuard;
+import com.example.restaurantreview.service.SentimentBatcher;
+import com.example.restaurantreview.service.SentimentCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+public class DiagnosticsController {
+
+    @Autowired
+    private SentimentBatcher sentimentBatcher;
+
+    @Autowired
+    private SentimentCache sentimentCache;
+
+    @Autowired
+    private NLPResilienceGuard resilienceGuard;
+
+    @Autowired
+    private LeaderboardNearCache leaderboardNearCache;
+
+    @GetMapping("/nlp-batching")
+    public ResponseEntity<SentimentBatcher.BatchStats> getNlpBatchingStats() {
+        return ResponseEntity.ok(sentimentBatcher.getStats());
+    }
+
+    @GetMapping("/sentiment-cache")
+    public ResponseEntity<SentimentCache.CacheStats> getSentimentCacheStats() {
+        return ResponseEntity.ok(sentimentCache.getStats());
+    }
+
+    @GetMapping("/nlp-resilience")
+    public ResponseEntity<NLPResilienceGuard.ResilienceStats> getNlpResilienceStats() {
+        return ResponseEntity.ok(resilienceGuard.getStats());
+    }
+
+    @GetMapping("/leaderboard-cache")
+    public ResponseEntity<LeaderboardNearCache.NearCacheStats> getLeaderboardCacheStats() {
+        return ResponseEntity.ok(leaderboardNearCache.getStats());
+    }
+}
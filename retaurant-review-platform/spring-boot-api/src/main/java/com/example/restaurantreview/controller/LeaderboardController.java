@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -44,4 +45,53 @@ public class LeaderboardController {
             ));
         }
     }
+
+    @GetMapping("/cuisine/{cuisineType}")
+    public ResponseEntity<List<LeaderboardService.RestaurantLeaderboardEntry>> getCuisineLeaderboard(
+            @PathVariable String cuisineType,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(leaderboardService.getTopRestaurantsByCuisine(cuisineType, limit));
+    }
+
+    @GetMapping("/cuisine/{cuisineType}/restaurant/{restaurantId}/rank")
+    public ResponseEntity<?> getRestaurantCuisineRank(@PathVariable String cuisineType,
+                                                      @PathVariable Long restaurantId) {
+        Long rank = leaderboardService.getRestaurantRankInCuisine(cuisineType, restaurantId);
+        return ResponseEntity.ok(rankResponse(restaurantId, rank, cuisineType + " leaderboard"));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingLeaderboard(@RequestParam(defaultValue = "24h") String window,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        try {
+            LeaderboardService.TrendingWindow trendingWindow = LeaderboardService.TrendingWindow.fromParameter(window);
+            return ResponseEntity.ok(leaderboardService.getTrendingRestaurants(trendingWindow, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/trending/restaurant/{restaurantId}/rank")
+    public ResponseEntity<?> getRestaurantTrendingRank(@PathVariable Long restaurantId,
+                                                       @RequestParam(defaultValue = "24h") String window) {
+        try {
+            LeaderboardService.TrendingWindow trendingWindow = LeaderboardService.TrendingWindow.fromParameter(window);
+            Long rank = leaderboardService.getTrendingRank(trendingWindow, restaurantId);
+            return ResponseEntity.ok(rankResponse(restaurantId, rank, trendingWindow.getParameter() + " trending leaderboard"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> rankResponse(Long restaurantId, Long rank, String leaderboardName) {
+        // HashMap because the rank may be null
+        Map<String, Object> response = new HashMap<>();
+        response.put("restaurantId", restaurantId);
+        response.put("rank", rank);
+        response.put("message", rank != null
+                ? "Restaurant is ranked #" + rank + " on the " + leaderboardName
+                : "Restaurant not found in " + leaderboardName);
+        return response;
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.restaurantreview.controller;
+
+import com.example.restaurantreview.service.LeaderboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reactive/leaderboard")
+@CrossOrigin(origins = "*")
+public class ReactiveLeaderboardController {
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<LeaderboardService.RestaurantLeaderboardEntry>>> getLeaderboard(
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return leaderboardService.getTopRestaurantsReactive(limit)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/restaurant/{restaurantId}/rank")
+    public Mono<ResponseEntity<Map<String, Object>>> getRestaurantRank(@PathVariable Long restaurantId) {
+        return leaderboardService.getRestaurantRankReactive(restaurantId)
+                .map(rank -> rankResponse(restaurantId, rank, "Restaurant is ranked #" + rank + " on the leaderboard"))
+                .defaultIfEmpty(rankResponse(restaurantId, null, "Restaurant not found in leaderboard"))
+                .map(ResponseEntity::ok);
+    }
+
+    private Map<String, Object> rankResponse(Long restaurantId, Long rank, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("restaurantId", restaurantId);
+        response.put("rank", rank);
+        response.put("message", message);
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.restaurantreview.controller;
+
+import com.example.restaurantreview.dto.ReviewRequest;
+import com.example.restaurantreview.service.NLPService;
+import com.example.restaurantreview.service.ReactiveReviewService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reactive/reviews")
+@CrossOrigin(origins = "*")
+public class ReactiveReviewController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReviewController.class);
+
+    @Autowired
+    private ReactiveReviewService reactiveReviewService;
+
+    @PostMapping
+    public Mono<ResponseEntity<Map<String, Object>>> createReview(@Valid @RequestBody ReviewRequest request) {
+        logger.debug("Received reactive review submission for restaurant ID: {}", request.getRestaurantId());
+
+        return reactiveReviewService.createReview(request)
+                .map(review -> {
+                    // The entity is detached here, so only plain columns are returned
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("reviewId", review.getId());
+                    response.put("restaurantId", request.getRestaurantId());
+                    response.put("message", "Review created successfully and sentiment analyzed");
+                    response.put("sentiment", review.getSentimentLabel());
+                    response.put("sentimentScore", review.getSentimentScore());
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                })
+                .onErrorResume(NLPService.ServiceOverloadedException.class, e -> {
+                    logger.warn("Shedding review submission: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body(Map.<String, Object>of("error", e.getMessage())));
+                })
+                .onErrorResume(RuntimeException.class, e -> {
+                    logger.error("Error creating review: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().body(Map.<String, Object>of("error", e.getMessage())));
+                });
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.restaurantreview.controller;
 
 import com.example.restaurantreview.dto.RestaurantRequest;
+import com.example.restaurantreview.dto.RestaurantSummary;
 import com.example.restaurantreview.entity.Restaurant;
 import com.example.restaurantreview.service.LeaderboardService;
 import com.example.restaurantreview.service.RestaurantService;
@@ -26,6 +27,8 @@ public class RestaurantController {
 
     private static final Logger logger = LoggerFactory.getLogger(RestaurantController.class);
 
+    private static final int MAX_LIST_LIMIT = 100;
+
     @Autowired
     private RestaurantService restaurantService;
 
@@ -36,7 +39,7 @@ public class RestaurantController {
     public ResponseEntity<?> createRestaurant(@Valid @RequestBody RestaurantRequest request) {
         try {
             Restaurant restaurant = restaurantService.createRestaurant(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(restaurant);
+            return ResponseEntity.status(HttpStatus.CREATED).body(RestaurantSummary.of(restaurant));
         } catch (RuntimeException e) {
             logger.error("Error creating restaurant: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -44,7 +47,7 @@ public class RestaurantController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<Restaurant>> getAllRestaurants(
+    public ResponseEntity<Page<RestaurantSummary>> getAllRestaurants(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
@@ -55,13 +58,13 @@ public class RestaurantController {
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
 
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Restaurant> restaurants = restaurantService.searchRestaurants(search, pageable);
+        Page<RestaurantSummary> restaurants = restaurantService.searchRestaurants(search, pageable);
         return ResponseEntity.ok(restaurants);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getRestaurantById(@PathVariable Long id) {
-        return restaurantService.getRestaurantById(id)
+        return restaurantService.getRestaurantSummary(id)
                 .map(restaurant -> {
                     // Add rank information
                     Long rank = leaderboardService.getRestaurantRank(id);
@@ -79,7 +82,7 @@ public class RestaurantController {
                                               @Valid @RequestBody RestaurantRequest request) {
         try {
             Restaurant updated = restaurantService.updateRestaurant(id, request);
-            return ResponseEntity.ok(updated);
+            return ResponseEntity.ok(RestaurantSummary.of(updated));
         } catch (RuntimeException e) {
             logger.error("Error updating restaurant: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -98,20 +101,26 @@ public class RestaurantController {
     }
 
     @GetMapping("/cuisine/{cuisineType}")
-    public ResponseEntity<List<Restaurant>> getRestaurantsByCuisine(@PathVariable String cuisineType) {
-        List<Restaurant> restaurants = restaurantService.getRestaurantsByCuisine(cuisineType);
+    public ResponseEntity<List<RestaurantSummary>> getRestaurantsByCuisine(@PathVariable String cuisineType) {
+        List<RestaurantSummary> restaurants = restaurantService.getRestaurantsByCuisine(cuisineType);
         return ResponseEntity.ok(restaurants);
     }
 
     @GetMapping("/top-rated")
-    public ResponseEntity<List<Restaurant>> getTopRatedRestaurants() {
-        List<Restaurant> restaurants = restaurantService.getTopRatedRestaurants();
+    public ResponseEntity<List<RestaurantSummary>> getTopRatedRestaurants(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RestaurantSummary> restaurants = restaurantService.getTopRatedRestaurants(
+                Math.max(0, offset), Math.max(1, Math.min(limit, MAX_LIST_LIMIT)));
         return ResponseEntity.ok(restaurants);
     }
 
     @GetMapping("/most-reviewed")
-    public ResponseEntity<List<Restaurant>> getMostReviewedRestaurants() {
-        List<Restaurant> restaurants = restaurantService.getMostReviewedRestaurants();
+    public ResponseEntity<List<RestaurantSummary>> getMostReviewedRestaurants(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<RestaurantSummary> restaurants = restaurantService.getMostReviewedRestaurants(
+                Math.max(0, offset), Math.max(1, Math.min(limit, MAX_LIST_LIMIT)));
         return ResponseEntity.ok(restaurants);
     }
 }
@@ -1,8 +1,18 @@
 package com.example.restaurantreview.controller;
 
+import com.example.restaurantreview.dto.CursorPage;
 import com.example.restaurantreview.dto.ReviewRequest;
+import com.example.restaurantreview.dto.ReviewView;
 import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.entity.ReviewImportJob;
+import com.example.restaurantreview.entity.ReviewIngestionTask;
+import com.example.restaurantreview.service.NLPService;
+import com.example.restaurantreview.service.ReviewExportService;
+import com.example.restaurantreview.service.ReviewImportService;
+import com.example.restaurantreview.service.ReviewIngestionService;
+import com.example.restaurantreview.service.ReviewSearchService;
 import com.example.restaurantreview.service.ReviewService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,12 +21,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -28,35 +46,140 @@ public class ReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private ReviewIngestionService reviewIngestionService;
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private ReviewExportService reviewExportService;
+
+    @Autowired
+    private ReviewSearchService reviewSearchService;
+
     @PostMapping
     public ResponseEntity<?> createReview(@Valid @RequestBody ReviewRequest request) {
         try {
-            logger.info("Received review submission for restaurant ID: {}", request.getRestaurantId());
+            logger.debug("Received review submission for restaurant ID: {}", request.getRestaurantId());
             Review review = reviewService.createReview(request);
 
             Map<String, Object> response = Map.of(
-                    "review", review,
+                    "review", ReviewView.of(review),
                     "message", "Review created successfully and sentiment analyzed",
                     "sentiment", review.getSentimentLabel(),
                     "sentimentScore", review.getSentimentScore()
             );
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (NLPService.ServiceOverloadedException e) {
+            logger.warn("Shedding review submission: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             logger.error("Error creating review: {}", e.getMessage());
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Bulk import of an NDJSON or CSV body, read as a stream. Returns the job with its final counts; pass
+    // resumeJobId and the same body again to continue a failed import after its last checkpoint.
+    @PostMapping("/import")
+    public ResponseEntity<?> importReviews(
+            InputStream body,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) Long resumeJobId) {
+        try {
+            ReviewImportJob job = reviewImportService.importReviews(
+                    body, ReviewImportService.Format.fromParameter(format), source, resumeJobId);
+            return ResponseEntity.ok(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Error importing reviews: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // NDJSON export of every review matching the filters (createdAt in [from, to)), written while it is read.
+    // Synchronous on purpose: an async StreamingResponseBody would be cut off by the MVC async request timeout.
+    @GetMapping("/export")
+    public void exportReviews(
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) String sentiment,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"'from' must be before 'to'\"}");
+            return;
+        }
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"reviews.ndjson" + (gzip ? ".gz" : "") + "\"");
+
+        OutputStream output = response.getOutputStream();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            output = new GZIPOutputStream(output, 1 << 16);
+        }
+        reviewExportService.exportReviews(restaurantId, sentiment, from, to, output);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ReviewImportJob> getImportJob(@PathVariable Long jobId) {
+        return reviewImportService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/async")
+    public ResponseEntity<?> submitReview(@Valid @RequestBody ReviewRequest request) {
+        try {
+            logger.debug("Received asynchronous review submission for restaurant ID: {}", request.getRestaurantId());
+            ReviewIngestionTask task = reviewIngestionService.submitReview(request);
+
+            String statusUrl = "/api/reviews/" + task.getReviewId() + "/status";
+            Map<String, Object> response = Map.of(
+                    "reviewId", task.getReviewId(),
+                    "status", Review.SENTIMENT_STATUS_PENDING,
+                    "statusUrl", statusUrl,
+                    "message", "Review accepted, sentiment analysis is pending"
+            );
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, statusUrl)
+                    .body(response);
+        } catch (RuntimeException e) {
+            logger.error("Error accepting review: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/status")
+    public ResponseEntity<ReviewIngestionService.IngestionStatus> getReviewStatus(@PathVariable Long id) {
+        return reviewIngestionService.getIngestionStatus(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Review> getReviewById(@PathVariable Long id) {
+    public ResponseEntity<ReviewView> getReviewById(@PathVariable Long id) {
         return reviewService.getReviewById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<Page<Review>> getReviewsByRestaurant(
+    public ResponseEntity<Page<ReviewView>> getReviewsByRestaurant(
             @PathVariable Long restaurantId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -68,25 +191,59 @@ public class ReviewController {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Review> reviews = reviewService.getReviewsByRestaurant(restaurantId, pageable);
+        Page<ReviewView> reviews = reviewService.getReviewsByRestaurant(restaurantId, pageable);
         return ResponseEntity.ok(reviews);
     }
 
+    // Keyset-paginated alternative to the offset endpoint above, stays fast on deep pages
+    @GetMapping("/restaurant/{restaurantId}/feed")
+    public ResponseEntity<?> getReviewFeed(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        try {
+            int pageSize = Math.max(1, Math.min(size, 100));
+            CursorPage<ReviewView> feed = reviewService.getReviewFeed(restaurantId, cursor, pageSize);
+            return ResponseEntity.ok(feed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Ranked full-text search over review text, keyset-paginated like the feed
+    @GetMapping("/search")
+    public ResponseEntity<?> searchReviews(
+            @RequestParam String q,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) String sentiment,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        try {
+            int pageSize = Math.max(1, Math.min(size, 100));
+            CursorPage<ReviewView> results = reviewSearchService.searchReviews(q, restaurantId, sentiment, cursor, pageSize);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/restaurant/{restaurantId}/sentiment/{sentiment}")
-    public ResponseEntity<List<Review>> getReviewsBySentiment(
+    public ResponseEntity<List<ReviewView>> getReviewsBySentiment(
             @PathVariable Long restaurantId,
             @PathVariable String sentiment) {
 
-        List<Review> reviews = reviewService.getReviewsBySentiment(restaurantId, sentiment.toUpperCase());
+        List<ReviewView> reviews = reviewService.getReviewsBySentiment(restaurantId, sentiment.toUpperCase());
         return ResponseEntity.ok(reviews);
     }
 
     @GetMapping("/restaurant/{restaurantId}/recent")
-    public ResponseEntity<List<Review>> getRecentReviews(
+    public ResponseEntity<List<ReviewView>> getRecentReviews(
             @PathVariable Long restaurantId,
             @RequestParam(defaultValue = "24") int hours) {
 
-        List<Review> reviews = reviewService.getRecentReviews(restaurantId, hours);
+        List<ReviewView> reviews = reviewService.getRecentReviews(restaurantId, hours);
         return ResponseEntity.ok(reviews);
     }
 
@@ -0,0 +1,138 @@
+package com.example.restaurantreview.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Counts the SQL statements each request runs, including the lazy loads triggered while the response body is
+// serialized, and records them per endpoint. With the debug header on, the body is buffered so the counts can
+// still go out as X-Query-Count and X-Query-Time-Ms once serialization is done. Streaming endpoints such as the
+// review export are never buffered and get no headers; they are matched by path, because their
+// Content-Disposition is only set once the handler runs.
+// Statements a handler runs on another thread (the reactive jpaScheduler) are not attributed to the request.
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private static final String STATS_ATTRIBUTE = QueryCountFilter.class.getName() + ".stats";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.diagnostics.query-count.response-header:false}")
+    private boolean responseHeader;
+
+    @Value("${app.diagnostics.query-count.unbuffered-paths:/api/reviews/export}")
+    private List<String> unbufferedPaths;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // One pair of meters per route pattern, looked up without building a meter id per request
+    private final Map<String, EndpointMeters> metersByUri = new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Mono and StreamingResponseBody results are serialized in the async dispatch
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryStats stats = (RequestQueryStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = new RequestQueryStats();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+
+        HttpServletResponse responseToUse = response;
+        if (responseHeader && WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null
+                && !isUnbuffered(request)) {
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+
+        RequestQueryStats.bind(stats);
+        try {
+            chain.doFilter(request, responseToUse);
+        } finally {
+            RequestQueryStats.unbind();
+        }
+
+        // Only the last dispatch of a request has the complete count
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        record(request, stats);
+
+        ContentCachingResponseWrapper cachingResponse =
+                WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+        if (cachingResponse != null) {
+            cachingResponse.setHeader(QUERY_COUNT_HEADER, Integer.toString(stats.getQueryCount()));
+            cachingResponse.setHeader(QUERY_TIME_HEADER,
+                    String.format("%.2f", stats.getExecutionNanos() / 1_000_000.0));
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private boolean isUnbuffered(HttpServletRequest request) {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        for (String pattern : unbufferedPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        EndpointMeters meters = metersByUri.computeIfAbsent(uri, this::registerMeters);
+        meters.queries.record(stats.getQueryCount());
+        meters.queryTime.record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private EndpointMeters registerMeters(String uri) {
+        return new EndpointMeters(
+                DistributionSummary.builder("http.server.requests.queries")
+                        .description("SQL statements and batches executed per request")
+                        .tag("uri", uri)
+                        .register(meterRegistry),
+                Timer.builder("http.server.requests.query.time")
+                        .description("Time spent executing SQL per request")
+                        .tag("uri", uri)
+                        .register(meterRegistry));
+    }
+
+    private static class EndpointMeters {
+        private final DistributionSummary queries;
+        private final Timer queryTime;
+
+        EndpointMeters(DistributionSummary queries, Timer queryTime) {
+            this.queries = queries;
+            this.queryTime = queryTime;
+        }
+    }
+}
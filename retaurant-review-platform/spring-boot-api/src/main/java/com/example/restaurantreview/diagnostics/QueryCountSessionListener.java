@@ -0,0 +1,51 @@
+package com.example.restaurantreview.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+// Created by Hibernate for every session (hibernate.session.events.auto). Times each JDBC statement execution,
+// batch execution and connection acquisition, and adds it to the stats of the request running on this thread.
+public class QueryCountSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+    private long connectionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.onStatement(System.nanoTime() - statementStart);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.onBatch(System.nanoTime() - batchStart);
+        }
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            stats.onConnectionAcquired(System.nanoTime() - connectionStart);
+        }
+    }
+}
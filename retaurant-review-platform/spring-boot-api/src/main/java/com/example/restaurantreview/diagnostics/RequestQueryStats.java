@@ -0,0 +1,52 @@
+package com.example.restaurantreview.diagnostics;
+
+// JDBC work done on the current request thread. QueryCountFilter opens one per request, the Hibernate
+// session listener adds to it. Plain fields: only the owning thread ever touches an instance.
+public class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int batches;
+    private long executionNanos;
+    private long connectionAcquisitionNanos;
+
+    // Also used to re-attach a request's stats when it resumes in an async dispatch
+    static void bind(RequestQueryStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // Null outside a request, for example in scheduled jobs
+    public static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    void onStatement(long nanos) {
+        statements++;
+        executionNanos += nanos;
+    }
+
+    void onBatch(long nanos) {
+        batches++;
+        executionNanos += nanos;
+    }
+
+    void onConnectionAcquired(long nanos) {
+        connectionAcquisitionNanos += nanos;
+    }
+
+    // Statements and batches, what a database round trip count would show
+    public int getQueryCount() {
+        return statements + batches;
+    }
+
+    // Getters
+    public int getStatements() { return statements; }
+    public int getBatches() { return batches; }
+    public long getExecutionNanos() { return executionNanos; }
+    public long getConnectionAcquisitionNanos() { return connectionAcquisitionNanos; }
+}
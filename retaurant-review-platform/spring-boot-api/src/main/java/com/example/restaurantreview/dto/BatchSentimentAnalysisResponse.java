@@ -0,0 +1,82 @@
+package com.example.restaurantreview.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchSentimentAnalysisResponse {
+
+    private List<Result> results;
+
+    @JsonProperty("processed_count")
+    private Integer processedCount;
+
+    @JsonProperty("error_count")
+    private Integer errorCount;
+
+    @JsonProperty("processed_at")
+    private String processedAt;
+
+    // Constructors
+    public BatchSentimentAnalysisResponse() {}
+
+    // Getters and Setters
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    public Integer getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(Integer processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public Integer getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(Integer errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public String getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(String processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    // One entry of the /batch-analyze response, either a sentiment or an error for its index
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Result extends SentimentAnalysisResponse {
+        private Integer index;
+        private String error;
+
+        public Result() {}
+
+        public Integer getIndex() {
+            return index;
+        }
+
+        public void setIndex(Integer index) {
+            this.index = index;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.restaurantreview.dto;
+
+import com.example.restaurantreview.entity.Restaurant;
+
+// Read model of a restaurant in API responses, selected with a JPQL constructor expression. Leaves out the
+// running score total and the audit timestamps, which no client reads.
+public class RestaurantSummary {
+
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String cuisineType;
+    private final Double averageScore;
+    private final Integer reviewCount;
+
+    // Constructors
+    public RestaurantSummary(Long id, String name, String description, String address, String cuisineType,
+                             Double averageScore, Integer reviewCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.address = address;
+        this.cuisineType = cuisineType;
+        this.averageScore = averageScore;
+        this.reviewCount = reviewCount;
+    }
+
+    // For write endpoints, which have the entity they just saved
+    public static RestaurantSummary of(Restaurant restaurant) {
+        return new RestaurantSummary(restaurant.getId(), restaurant.getName(), restaurant.getDescription(),
+                restaurant.getAddress(), restaurant.getCuisineType(), restaurant.getAverageScore(),
+                restaurant.getReviewCount());
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public String getCuisineType() { return cuisineType; }
+    public Double getAverageScore() { return averageScore; }
+    public Integer getReviewCount() { return reviewCount; }
+}
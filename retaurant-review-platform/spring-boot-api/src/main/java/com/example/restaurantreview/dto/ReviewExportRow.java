@@ -0,0 +1,53 @@
+package com.example.restaurantreview.dto;
+
+import com.example.restaurantreview.entity.Review;
+
+import java.time.LocalDateTime;
+
+// One NDJSON line of the review export. Flat, so writing it never touches the lazy restaurant association.
+public class ReviewExportRow {
+
+    private final Long id;
+    private final Long restaurantId;
+    private final String reviewText;
+    private final String reviewerName;
+    private final String sentimentLabel;
+    private final Double sentimentScore;
+    private final Double sentimentConfidence;
+    private final Boolean isPositive;
+    private final String sentimentStatus;
+    private final String sentimentEngine;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    // Constructors
+    public ReviewExportRow(Review review) {
+        this.id = review.getId();
+        // The id of an uninitialized proxy is read without a query
+        this.restaurantId = review.getRestaurant().getId();
+        this.reviewText = review.getReviewText();
+        this.reviewerName = review.getReviewerName();
+        this.sentimentLabel = review.getSentimentLabel();
+        this.sentimentScore = review.getSentimentScore();
+        this.sentimentConfidence = review.getSentimentConfidence();
+        this.isPositive = review.getIsPositive();
+        this.sentimentStatus = review.getSentimentStatus();
+        this.sentimentEngine = review.getSentimentEngine();
+        this.createdAt = review.getCreatedAt();
+        this.updatedAt = review.getUpdatedAt();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getRestaurantId() { return restaurantId; }
+    public String getReviewText() { return reviewText; }
+    public String getReviewerName() { return reviewerName; }
+    public String getSentimentLabel() { return sentimentLabel; }
+    public Double getSentimentScore() { return sentimentScore; }
+    public Double getSentimentConfidence() { return sentimentConfidence; }
+    public Boolean getIsPositive() { return isPositive; }
+    public String getSentimentStatus() { return sentimentStatus; }
+    public String getSentimentEngine() { return sentimentEngine; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
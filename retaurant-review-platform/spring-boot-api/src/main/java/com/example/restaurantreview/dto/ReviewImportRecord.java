@@ -0,0 +1,60 @@
+package com.example.restaurantreview.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+// One line of an NDJSON import or one row of a CSV import (header: restaurantId,reviewText,reviewerName,createdAt)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReviewImportRecord {
+
+    private Long restaurantId;
+    private String reviewText;
+    private String reviewerName;
+
+    // Optional, ISO-8601 local date-time; defaults to the import time
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ReviewImportRecord() {}
+
+    public ReviewImportRecord(Long restaurantId, String reviewText, String reviewerName, LocalDateTime createdAt) {
+        this.restaurantId = restaurantId;
+        this.reviewText = reviewText;
+        this.reviewerName = reviewerName;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public String getReviewText() {
+        return reviewText;
+    }
+
+    public void setReviewText(String reviewText) {
+        this.reviewText = reviewText;
+    }
+
+    public String getReviewerName() {
+        return reviewerName;
+    }
+
+    public void setReviewerName(String reviewerName) {
+        this.reviewerName = reviewerName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
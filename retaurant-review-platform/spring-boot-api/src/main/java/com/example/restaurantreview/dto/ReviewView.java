@@ -0,0 +1,57 @@
+package com.example.restaurantreview.dto;
+
+import com.example.restaurantreview.entity.Review;
+
+import java.time.LocalDateTime;
+
+// Read model of a review in API responses, selected column by column with a JPQL constructor expression.
+// Carries the restaurant's id and name instead of the whole restaurant entity.
+public class ReviewView {
+
+    private final Long id;
+    private final Long restaurantId;
+    private final String restaurantName;
+    private final String reviewText;
+    private final String reviewerName;
+    private final String sentimentLabel;
+    private final Double sentimentScore;
+    private final Double sentimentConfidence;
+    private final Boolean isPositive;
+    private final LocalDateTime createdAt;
+
+    // Constructors
+    public ReviewView(Long id, Long restaurantId, String restaurantName, String reviewText, String reviewerName,
+                      String sentimentLabel, Double sentimentScore, Double sentimentConfidence, Boolean isPositive,
+                      LocalDateTime createdAt) {
+        this.id = id;
+        this.restaurantId = restaurantId;
+        this.restaurantName = restaurantName;
+        this.reviewText = reviewText;
+        this.reviewerName = reviewerName;
+        this.sentimentLabel = sentimentLabel;
+        this.sentimentScore = sentimentScore;
+        this.sentimentConfidence = sentimentConfidence;
+        this.isPositive = isPositive;
+        this.createdAt = createdAt;
+    }
+
+    // For write endpoints, which have the entity they just saved
+    public static ReviewView of(Review review) {
+        return new ReviewView(review.getId(), review.getRestaurant().getId(), review.getRestaurant().getName(),
+                review.getReviewText(), review.getReviewerName(), review.getSentimentLabel(),
+                review.getSentimentScore(), review.getSentimentConfidence(), review.getIsPositive(),
+                review.getCreatedAt());
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getRestaurantId() { return restaurantId; }
+    public String getRestaurantName() { return restaurantName; }
+    public String getReviewText() { return reviewText; }
+    public String getReviewerName() { return reviewerName; }
+    public String getSentimentLabel() { return sentimentLabel; }
+    public Double getSentimentScore() { return sentimentScore; }
+    public Double getSentimentConfidence() { return sentimentConfidence; }
+    public Boolean getIsPositive() { return isPositive; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
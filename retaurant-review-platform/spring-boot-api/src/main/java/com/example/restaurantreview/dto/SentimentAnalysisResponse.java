@@ -14,6 +14,9 @@ public class SentimentAnalysisResponse {
     @JsonProperty("processed_at")
     private String processedAt;
 
+    // Set on the Java side: TRANSFORMER for model output, LEXICON for the in-process scorer
+    private String engine;
+
     // Constructors
     public SentimentAnalysisResponse() {}
 
@@ -64,4 +67,12 @@ public class SentimentAnalysisResponse {
     public void setProcessedAt(String processedAt) {
         this.processedAt = processedAt;
     }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.restaurantreview.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -7,7 +8,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants", indexes = {
+        // Bounded fallback for the top-rated and most-reviewed lists when Redis is unavailable
+        @Index(name = "idx_restaurants_average_score", columnList = "average_score, id"),
+        @Index(name = "idx_restaurants_review_count", columnList = "review_count, id")
+})
 public class Restaurant {
 
     @Id
@@ -43,6 +48,8 @@ public class Restaurant {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Never part of a response: serializing it loads every review, and each review points back here
+    @JsonIgnore
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews;
 
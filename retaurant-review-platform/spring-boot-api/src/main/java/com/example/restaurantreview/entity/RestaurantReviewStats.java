@@ -0,0 +1,96 @@
+package com.example.restaurantreview.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Written only through RestaurantReviewStatsRepository upserts, read by primary key
+@Entity
+@Table(name = "restaurant_review_stats")
+public class RestaurantReviewStats {
+
+    @Id
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+
+    @Column(name = "positive_count", nullable = false)
+    private Long positiveCount = 0L;
+
+    @Column(name = "negative_count", nullable = false)
+    private Long negativeCount = 0L;
+
+    @Column(name = "neutral_count", nullable = false)
+    private Long neutralCount = 0L;
+
+    @Column(name = "sentiment_sum", nullable = false)
+    private Double sentimentSum = 0.0;
+
+    @Column(name = "confidence_sum", nullable = false)
+    private Double confidenceSum = 0.0;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public RestaurantReviewStats() {}
+
+    public RestaurantReviewStats(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    // Getters and Setters
+    public Long getRestaurantId() {
+        return restaurantId;
+    }
+
+    public void setRestaurantId(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+
+    public Long getPositiveCount() {
+        return positiveCount;
+    }
+
+    public void setPositiveCount(Long positiveCount) {
+        this.positiveCount = positiveCount;
+    }
+
+    public Long getNegativeCount() {
+        return negativeCount;
+    }
+
+    public void setNegativeCount(Long negativeCount) {
+        this.negativeCount = negativeCount;
+    }
+
+    public Long getNeutralCount() {
+        return neutralCount;
+    }
+
+    public void setNeutralCount(Long neutralCount) {
+        this.neutralCount = neutralCount;
+    }
+
+    public Double getSentimentSum() {
+        return sentimentSum;
+    }
+
+    public void setSentimentSum(Double sentimentSum) {
+        this.sentimentSum = sentimentSum;
+    }
+
+    public Double getConfidenceSum() {
+        return confidenceSum;
+    }
+
+    public void setConfidenceSum(Double confidenceSum) {
+        this.confidenceSum = confidenceSum;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.restaurantreview.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -7,14 +8,31 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        // Keyset feed: seek on (created_at, id) within one restaurant
+        @Index(name = "idx_reviews_restaurant_created_id", columnList = "restaurant_id, created_at, id")
+})
 public class Review {
 
+    public static final String SENTIMENT_STATUS_PENDING = "PENDING";
+    public static final String SENTIMENT_STATUS_COMPLETED = "COMPLETED";
+    public static final String SENTIMENT_STATUS_FAILED = "FAILED";
+
+    // Which engine produced the sentiment; anything but TRANSFORMER is picked up again by the re-score job
+    public static final String SENTIMENT_ENGINE_TRANSFORMER = "TRANSFORMER";
+    public static final String SENTIMENT_ENGINE_LEXICON = "LEXICON";
+    public static final String SENTIMENT_ENGINE_FALLBACK = "FALLBACK";
+
+    // Sequence ids allow JDBC insert batching, allocationSize matches INCREMENT BY of reviews_seq
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
+    // Review queries that feed responses fetch this with an entity graph; a proxy that slips through still
+    // serializes without its Hibernate internals
     @NotNull(message = "Restaurant is required")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
@@ -39,6 +57,12 @@ public class Review {
     @Column(name = "is_positive")
     private Boolean isPositive;
 
+    @Column(name = "sentiment_status", length = 20)
+    private String sentimentStatus;
+
+    @Column(name = "sentiment_engine", length = 20)
+    private String sentimentEngine;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -47,7 +71,10 @@ public class Review {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Imported reviews keep the time they were originally written
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
         updatedAt = LocalDateTime.now();
     }
 
@@ -130,6 +157,22 @@ public class Review {
         this.isPositive = isPositive;
     }
 
+    public String getSentimentStatus() {
+        return sentimentStatus;
+    }
+
+    public void setSentimentStatus(String sentimentStatus) {
+        this.sentimentStatus = sentimentStatus;
+    }
+
+    public String getSentimentEngine() {
+        return sentimentEngine;
+    }
+
+    public void setSentimentEngine(String sentimentEngine) {
+        this.sentimentEngine = sentimentEngine;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
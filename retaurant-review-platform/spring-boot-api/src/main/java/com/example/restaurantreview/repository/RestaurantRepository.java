@@ -1,31 +1,84 @@
 package com.example.restaurantreview.repository;
 
+import com.example.restaurantreview.dto.RestaurantSummary;
 import com.example.restaurantreview.entity.Restaurant;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
+    // Read endpoints return RestaurantSummary rows, only the columns of the response
+    String SUMMARY_SELECT = "SELECT new com.example.restaurantreview.dto.RestaurantSummary(r.id, r.name, " +
+            "r.description, r.address, r.cuisineType, r.averageScore, r.reviewCount) FROM Restaurant r ";
+
     Optional<Restaurant> findByNameIgnoreCase(String name);
 
-    List<Restaurant> findByCuisineTypeIgnoreCase(String cuisineType);
+    @Query(SUMMARY_SELECT + "WHERE r.id = :id")
+    Optional<RestaurantSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE r.id IN :ids")
+    List<RestaurantSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(r) FROM Restaurant r")
+    Page<RestaurantSummary> findAllSummaries(Pageable pageable);
 
-    Page<Restaurant> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    @Query(SUMMARY_SELECT + "WHERE upper(r.cuisineType) = upper(:cuisineType)")
+    List<RestaurantSummary> findSummariesByCuisineType(@Param("cuisineType") String cuisineType);
+
+    // The pattern is built by RestaurantService: '%term%' is served by the pg_trgm index on upper(name),
+    // 'te%' for terms shorter than a trigram by the text_pattern_ops index
+    @Query(value = SUMMARY_SELECT + "WHERE upper(r.name) LIKE upper(:pattern) ESCAPE '\\'",
+           countQuery = "SELECT COUNT(r) FROM Restaurant r WHERE upper(r.name) LIKE upper(:pattern) ESCAPE '\\'")
+    Page<RestaurantSummary> searchByNamePattern(@Param("pattern") String pattern, Pageable pageable);
 
     @Query("SELECT r FROM Restaurant r WHERE r.averageScore >= :minScore ORDER BY r.averageScore DESC")
     List<Restaurant> findByMinimumScore(@Param("minScore") Double minScore);
 
-    @Query("SELECT r FROM Restaurant r ORDER BY r.averageScore DESC")
-    List<Restaurant> findAllOrderByAverageScoreDesc();
+    // Database-side increment: concurrent reviews on the same restaurant cannot lose each other's update,
+    // and the row lock is only held from this statement to commit
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Restaurant r SET " +
+           "r.totalScore = CASE WHEN r.reviewCount + :countDelta > 0 THEN r.totalScore + :scoreDelta ELSE 0.0 END, " +
+           "r.reviewCount = CASE WHEN r.reviewCount + :countDelta > 0 THEN r.reviewCount + :countDelta ELSE 0 END, " +
+           "r.averageScore = CASE WHEN r.reviewCount + :countDelta > 0 " +
+           "THEN (r.totalScore + :scoreDelta) / (r.reviewCount + :countDelta) ELSE 0.0 END, " +
+           "r.updatedAt = :now " +
+           "WHERE r.id = :id")
+    int applyScoreDelta(@Param("id") Long id,
+                        @Param("scoreDelta") double scoreDelta,
+                        @Param("countDelta") int countDelta,
+                        @Param("now") LocalDateTime now);
+
+    // Server-side cursor: Postgres only honours the fetch size inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Restaurant r")
+    Stream<Restaurant> streamAll();
+
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT r FROM Restaurant r ORDER BY r.reviewCount DESC")
-    List<Restaurant> findAllOrderByReviewCountDesc();
+    // Row locks make concurrent score increments wait until the reconciled values are committed
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Restaurant r WHERE r.id IN :ids ORDER BY r.id")
+    List<Restaurant> findAllByIdForUpdate(@Param("ids") List<Long> ids);
 }
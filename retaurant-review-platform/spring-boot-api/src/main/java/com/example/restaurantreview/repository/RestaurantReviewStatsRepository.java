@@ -0,0 +1,55 @@
+package com.example.restaurantreview.repository;
+
+import com.example.restaurantreview.entity.RestaurantReviewStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RestaurantReviewStatsRepository extends JpaRepository<RestaurantReviewStats, Long> {
+
+    // Single statement for the first review and every later one; the row lock is held until commit
+    @Modifying
+    @Query(value = "INSERT INTO restaurant_review_stats AS s (restaurant_id, positive_count, negative_count, " +
+                   "neutral_count, sentiment_sum, confidence_sum, updated_at) " +
+                   "VALUES (:restaurantId, :positive, :negative, :neutral, :sentiment, :confidence, :now) " +
+                   "ON CONFLICT (restaurant_id) DO UPDATE SET " +
+                   "positive_count = s.positive_count + EXCLUDED.positive_count, " +
+                   "negative_count = s.negative_count + EXCLUDED.negative_count, " +
+                   "neutral_count = s.neutral_count + EXCLUDED.neutral_count, " +
+                   "sentiment_sum = s.sentiment_sum + EXCLUDED.sentiment_sum, " +
+                   "confidence_sum = s.confidence_sum + EXCLUDED.confidence_sum, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int applyDelta(@Param("restaurantId") Long restaurantId,
+                   @Param("positive") long positive,
+                   @Param("negative") long negative,
+                   @Param("neutral") long neutral,
+                   @Param("sentiment") double sentiment,
+                   @Param("confidence") double confidence,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO restaurant_review_stats (restaurant_id, positive_count, negative_count, " +
+                   "neutral_count, sentiment_sum, confidence_sum, updated_at) " +
+                   "VALUES (:restaurantId, :positive, :negative, :neutral, :sentiment, :confidence, :now) " +
+                   "ON CONFLICT (restaurant_id) DO UPDATE SET " +
+                   "positive_count = EXCLUDED.positive_count, " +
+                   "negative_count = EXCLUDED.negative_count, " +
+                   "neutral_count = EXCLUDED.neutral_count, " +
+                   "sentiment_sum = EXCLUDED.sentiment_sum, " +
+                   "confidence_sum = EXCLUDED.confidence_sum, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int overwrite(@Param("restaurantId") Long restaurantId,
+                  @Param("positive") long positive,
+                  @Param("negative") long negative,
+                  @Param("neutral") long neutral,
+                  @Param("sentiment") double sentiment,
+                  @Param("confidence") double confidence,
+                  @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.example.restaurantreview.repository;
+
+import com.example.restaurantreview.entity.ReviewImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReviewImportJobRepository extends JpaRepository<ReviewImportJob, Long> {
+}
@@ -0,0 +1,48 @@
+package com.example.restaurantreview.repository;
+
+import com.example.restaurantreview.entity.ReviewIngestionTask;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReviewIngestionTaskRepository extends JpaRepository<ReviewIngestionTask, Long> {
+
+    Optional<ReviewIngestionTask> findByReviewId(Long reviewId);
+
+    @Transactional
+    void deleteByReviewId(Long reviewId);
+
+    // Only one worker (on any node) can move a task from PENDING to PROCESSING
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReviewIngestionTask t SET t.status = 'PROCESSING', t.attempts = t.attempts + 1, t.updatedAt = :now " +
+           "WHERE t.id = :id AND t.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // A worker finishing a task locks its row first, so a stale worker racing a newer claim waits and then
+    // sees that the attempt it holds is no longer the current one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM ReviewIngestionTask t WHERE t.id = :id")
+    Optional<ReviewIngestionTask> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM ReviewIngestionTask t WHERE t.status = 'PENDING' AND t.nextAttemptAt <= :now ORDER BY t.id")
+    List<Long> findDueTaskIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Tasks left in PROCESSING by a crashed or restarted node go back to the queue
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReviewIngestionTask t SET t.status = 'PENDING', t.updatedAt = :now " +
+           "WHERE t.status = 'PROCESSING' AND t.updatedAt < :staleBefore")
+    int releaseStaleTasks(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now);
+}
@@ -1,35 +1,90 @@
 package com.example.restaurantreview.repository;
 
+import com.example.restaurantreview.dto.ReviewView;
 import com.example.restaurantreview.entity.Review;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
-    List<Review> findByRestaurantId(Long restaurantId);
+    // Read endpoints return ReviewView rows: only the columns of the response, with the restaurant name from
+    // the same join, so nothing is left for the serializer to load
+    String VIEW_SELECT = "SELECT new com.example.restaurantreview.dto.ReviewView(r.id, rest.id, rest.name, " +
+            "r.reviewText, r.reviewerName, r.sentimentLabel, r.sentimentScore, r.sentimentConfidence, " +
+            "r.isPositive, r.createdAt) FROM Review r JOIN r.restaurant rest ";
 
-    Page<Review> findByRestaurantId(Long restaurantId, Pageable pageable);
+    // Write paths read the restaurant of the review they change, so it comes in the same statement
+    @Override
+    @EntityGraph(attributePaths = "restaurant")
+    Optional<Review> findById(Long id);
 
-    List<Review> findByRestaurantIdAndSentimentLabel(Long restaurantId, String sentimentLabel);
+    @Query(VIEW_SELECT + "WHERE r.id = :id")
+    Optional<ReviewView> findViewById(@Param("id") Long id);
 
-    @Query("SELECT r FROM Review r WHERE r.restaurant.id = :restaurantId AND r.createdAt >= :since")
-    List<Review> findRecentReviewsForRestaurant(@Param("restaurantId") Long restaurantId,
-                                                @Param("since") LocalDateTime since);
+    @Query(VIEW_SELECT + "WHERE r.id IN :ids")
+    List<ReviewView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.restaurant.id = :restaurantId AND r.isPositive = true")
-    Long countPositiveReviewsForRestaurant(@Param("restaurantId") Long restaurantId);
+    @Query(value = VIEW_SELECT + "WHERE r.restaurant.id = :restaurantId",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.restaurant.id = :restaurantId")
+    Page<ReviewView> findViewsByRestaurantId(@Param("restaurantId") Long restaurantId, Pageable pageable);
 
-    @Query("SELECT COUNT(r) FROM Review r WHERE r.restaurant.id = :restaurantId AND r.isPositive = false")
-    Long countNegativeReviewsForRestaurant(@Param("restaurantId") Long restaurantId);
+    @Query(VIEW_SELECT + "WHERE r.restaurant.id = :restaurantId AND r.sentimentLabel = :sentimentLabel")
+    List<ReviewView> findViewsByRestaurantIdAndSentimentLabel(@Param("restaurantId") Long restaurantId,
+                                                              @Param("sentimentLabel") String sentimentLabel);
 
-    @Query("SELECT AVG(r.sentimentScore) FROM Review r WHERE r.restaurant.id = :restaurantId")
-    Double getAverageSentimentScoreForRestaurant(@Param("restaurantId") Long restaurantId);
+    // Keyset feed, newest first. No count query: callers ask for one row more than the page size.
+    @Query(VIEW_SELECT + "WHERE r.restaurant.id = :restaurantId ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findFeedFirstPage(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    // createdAt <= :createdAt is the index range condition, the OR only breaks ties on the boundary timestamp
+    @Query(VIEW_SELECT + "WHERE r.restaurant.id = :restaurantId " +
+           "AND r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewView> findFeedAfter(@Param("restaurantId") Long restaurantId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE r.restaurant.id = :restaurantId AND r.createdAt >= :since")
+    List<ReviewView> findRecentReviewsForRestaurant(@Param("restaurantId") Long restaurantId,
+                                                    @Param("since") LocalDateTime since);
+
+    // Only analyzed reviews count towards restaurant aggregates. Row: restaurant id, score sum, review count
+    @Query("SELECT r.restaurant.id, COALESCE(SUM(r.sentimentScore), 0.0), COUNT(r) FROM Review r " +
+           "WHERE r.restaurant.id IN :restaurantIds AND r.sentimentScore IS NOT NULL " +
+           "GROUP BY r.restaurant.id")
+    List<Object[]> sumScoresByRestaurant(@Param("restaurantIds") List<Long> restaurantIds);
+
+    // Recompute path for the statistics row, one pass over the restaurant's analyzed reviews.
+    // Row: positive count, negative count, neutral count, sentiment sum, confidence sum
+    @Query("SELECT COALESCE(SUM(CASE WHEN r.isPositive = true THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN r.isPositive = false THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN r.isPositive IS NULL THEN 1 ELSE 0 END), 0), " +
+           "COALESCE(SUM(r.sentimentScore), 0.0), COALESCE(SUM(r.sentimentConfidence), 0.0) " +
+           "FROM Review r WHERE r.restaurant.id = :restaurantId AND r.sentimentScore IS NOT NULL")
+    List<Object[]> aggregateStatisticsForRestaurant(@Param("restaurantId") Long restaurantId);
+
+    // Re-score job: the row lock makes a run on another node wait for this one to commit, after which it sees
+    // the transformer result and skips the review
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :id")
+    Optional<Review> findByIdForUpdate(@Param("id") Long id);
+
+    // Re-score job: (id, text) of reviews not scored by the transformer, served by a partial index
+    @Query("SELECT r.id, r.reviewText FROM Review r " +
+           "WHERE r.id > :afterId AND r.sentimentEngine <> 'TRANSFORMER' ORDER BY r.id")
+    List<Object[]> findRescoreCandidates(@Param("afterId") Long afterId, Pageable pageable);
 }
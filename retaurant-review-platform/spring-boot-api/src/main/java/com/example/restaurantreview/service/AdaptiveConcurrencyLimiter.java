@@ -0,0 +1,110 @@
+package com.example.restaurantreview.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Vegas-style concurrency limit. The limit grows while observed latency stays close to the best latency
+// seen recently (no queueing), and shrinks when latency rises or calls time out.
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long minRttWindowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private volatile long minRttNanos = Long.MAX_VALUE;
+    private volatile long minRttWindowStart = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long minRttWindowNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.minRttWindowNanos = minRttWindowNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtCompletion);
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        updateLock.lock();
+        try {
+            limit = Math.max(minLimit, limit * 0.9);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    private void update(long rttNanos, int inFlightAtCompletion) {
+        if (rttNanos <= 0 || !updateLock.tryLock()) {
+            // Under contention a skipped sample is fine, the next one will adjust the limit
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            if (now - minRttWindowStart > minRttWindowNanos) {
+                // Forget the old minimum so a permanently slower service is eventually the new baseline
+                minRttNanos = rttNanos;
+                minRttWindowStart = now;
+            } else if (rttNanos < minRttNanos) {
+                minRttNanos = rttNanos;
+            }
+
+            double current = limit;
+            double queueSize = current * (1.0 - (double) minRttNanos / rttNanos);
+            double step = Math.max(1.0, Math.log10(current));
+
+            double next = current;
+            if (queueSize >= 6 * step) {
+                next = current - step;
+            } else if (queueSize <= 3 * step && inFlightAtCompletion * 2 >= current) {
+                // Only grow when the limit is actually being used
+                next = current + step;
+            }
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public double getMinRttMs() {
+        long minRtt = minRttNanos;
+        return minRtt == Long.MAX_VALUE ? 0.0 : minRtt / 1_000_000.0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.restaurantreview.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Building blocks of the binary Redis values. Every value starts with a version byte, so a reader can tell
+// the layouts apart and a new layout only needs the next number; the first byte of a JSON value is always '{'.
+// Integers are unsigned LEB128 varints, strings a varint length followed by UTF-8 bytes.
+final class CompactBinary {
+
+    static final byte JSON_START = '{';
+
+    private CompactBinary() {}
+
+    static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static int bytesSize(byte[] value) {
+        return value != null ? varLongSize(value.length) + value.length : 0;
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // Nothing is written for null, the caller records presence in its flags byte
+    static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value != null) {
+            putVarLong(buffer, value.length);
+            buffer.put(value);
+        }
+    }
+
+    static String getString(ByteBuffer buffer) {
+        long length = getVarLong(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed string length " + length);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), (int) length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + (int) length);
+        return value;
+    }
+
+    static boolean has(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+}
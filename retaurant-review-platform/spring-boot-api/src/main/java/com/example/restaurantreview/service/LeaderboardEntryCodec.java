@@ -0,0 +1,152 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.service.LeaderboardService.RestaurantLeaderboardEntry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.example.restaurantreview.service.CompactBinary.bytesSize;
+import static com.example.restaurantreview.service.CompactBinary.getString;
+import static com.example.restaurantreview.service.CompactBinary.getVarLong;
+import static com.example.restaurantreview.service.CompactBinary.has;
+import static com.example.restaurantreview.service.CompactBinary.putBytes;
+import static com.example.restaurantreview.service.CompactBinary.putVarLong;
+import static com.example.restaurantreview.service.CompactBinary.utf8;
+import static com.example.restaurantreview.service.CompactBinary.varLongSize;
+
+// Encoding of the "data" field of the restaurant:{id} hashes. Writes the configured format and reads both,
+// so entries written before a format switch stay readable until a score update, the warm-up rebuild or
+// LeaderboardMaintenanceService.migrateEntries rewrites them.
+@Component
+public class LeaderboardEntryCodec {
+
+    // Layout v1: version, flags, varint id, then only the fields present: average score as an 8-byte double,
+    // varint review count, name and cuisine type as length-prefixed UTF-8
+    static final byte BINARY_V1 = 1;
+
+    private static final int HAS_AVERAGE_SCORE = 1;
+    private static final int HAS_REVIEW_COUNT = 1 << 1;
+    private static final int HAS_NAME = 1 << 2;
+    private static final int HAS_CUISINE_TYPE = 1 << 3;
+
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+
+    @Value("${app.leaderboard.entry-format:binary}")
+    private String formatParameter = "binary";
+
+    private RedisValueFormat format;
+
+    public LeaderboardEntryCodec() {}
+
+    public LeaderboardEntryCodec(RedisValueFormat format) {
+        this.formatParameter = format.name();
+        init();
+    }
+
+    @PostConstruct
+    public void init() {
+        format = RedisValueFormat.fromParameter(formatParameter);
+    }
+
+    public RedisValueFormat getFormat() {
+        return format;
+    }
+
+    public byte[] encode(RestaurantLeaderboardEntry entry) {
+        return format == RedisValueFormat.JSON ? jsonSerializer.serialize(entry) : encodeBinary(entry);
+    }
+
+    // Null for anything this version cannot read (a newer layout, a foreign value), which callers skip like a
+    // missing hash; the next write of the restaurant replaces it
+    public RestaurantLeaderboardEntry decode(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (data[0] == CompactBinary.JSON_START) {
+                return jsonSerializer.deserialize(data) instanceof RestaurantLeaderboardEntry entry ? entry : null;
+            }
+            if (data[0] == BINARY_V1) {
+                return decodeBinaryV1(data);
+            }
+            return null;
+        } catch (SerializationException | BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Whether the stored bytes are already in the format this codec writes
+    public boolean isCurrentFormat(byte[] data) {
+        if (data == null || data.length == 0) {
+            return false;
+        }
+        return format == RedisValueFormat.JSON ? data[0] == CompactBinary.JSON_START : data[0] == BINARY_V1;
+    }
+
+    private static byte[] encodeBinary(RestaurantLeaderboardEntry entry) {
+        if (entry.getId() == null) {
+            throw new IllegalArgumentException("Leaderboard entry without an id");
+        }
+        byte[] name = utf8(entry.getName());
+        byte[] cuisineType = utf8(entry.getCuisineType());
+
+        int flags = 0;
+        int size = 2 + varLongSize(entry.getId());
+        if (entry.getAverageScore() != null) {
+            flags |= HAS_AVERAGE_SCORE;
+            size += Double.BYTES;
+        }
+        if (entry.getReviewCount() != null) {
+            flags |= HAS_REVIEW_COUNT;
+            size += varLongSize(entry.getReviewCount());
+        }
+        if (name != null) {
+            flags |= HAS_NAME;
+            size += bytesSize(name);
+        }
+        if (cuisineType != null) {
+            flags |= HAS_CUISINE_TYPE;
+            size += bytesSize(cuisineType);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(BINARY_V1).put((byte) flags);
+        putVarLong(buffer, entry.getId());
+        if (entry.getAverageScore() != null) {
+            buffer.putDouble(entry.getAverageScore());
+        }
+        if (entry.getReviewCount() != null) {
+            // As unsigned 32 bits, so even a corrupt negative count costs five bytes rather than ten
+            putVarLong(buffer, entry.getReviewCount() & 0xFFFFFFFFL);
+        }
+        putBytes(buffer, name);
+        putBytes(buffer, cuisineType);
+        return buffer.array();
+    }
+
+    private static RestaurantLeaderboardEntry decodeBinaryV1(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1).slice();
+        int flags = buffer.get();
+
+        RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry();
+        entry.setId(getVarLong(buffer));
+        if (has(flags, HAS_AVERAGE_SCORE)) {
+            entry.setAverageScore(buffer.getDouble());
+        }
+        if (has(flags, HAS_REVIEW_COUNT)) {
+            entry.setReviewCount((int) getVarLong(buffer));
+        }
+        if (has(flags, HAS_NAME)) {
+            entry.setName(getString(buffer));
+        }
+        if (has(flags, HAS_CUISINE_TYPE)) {
+            entry.setCuisineType(getString(buffer));
+        }
+        return entry;
+    }
+}
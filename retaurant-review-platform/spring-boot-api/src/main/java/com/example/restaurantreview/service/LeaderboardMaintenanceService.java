@@ -0,0 +1,659 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import com.example.restaurantreview.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Rebuilds the Redis leaderboards from Postgres and repairs drift between reviews, restaurant aggregates and
+// Redis. The rebuild writes into temporary keys and swaps them in with one script, so reads keep serving the
+// previous rankings until the new ones are complete. Score updates keep running meanwhile: the rebuild never
+// overwrites aggregates already in Redis, and the swap re-ranks every restaurant written since the rebuild
+// started from its live hash. Rebuild and reconcile each take a lock in Redis as well as the local guard, so
+// with several nodes only one of them runs the warm-up or the scheduled job at a time.
+@Service
+public class LeaderboardMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardMaintenanceService.class);
+
+    private static final RedisScript<Long> SWAP_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-swap.lua"), Long.class);
+
+    private static final RedisScript<Long> MIGRATE_ENTRY_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-migrate-entry.lua"), Long.class);
+
+    private static final RedisScript<Long> LOCK_RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lock-release.lua"), Long.class);
+
+    // Restaurant hashes only, not the leaderboard sorted sets that share the prefix
+    private static final String RESTAURANT_HASH_PATTERN = "restaurant:[0-9]*";
+
+    // Scores are sums of doubles, tiny differences are rounding and not drift
+    private static final double SCORE_TOLERANCE = 1e-6;
+
+    // Safety TTL on rebuild keys, removed by the swap. The change log keeps entries as long, so a rebuild that
+    // can still swap always finds the writes it has to replay.
+    private static final long REBUILD_KEY_TTL_SECONDS = 3600;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private LeaderboardEntryCodec entryCodec;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.leaderboard.warmup.enabled:true}")
+    private boolean warmupEnabled;
+
+    @Value("${app.leaderboard.warmup.batch-size:500}")
+    private int warmupBatchSize;
+
+    @Value("${app.leaderboard.reconcile.chunk-size:500}")
+    private int reconcileChunkSize;
+
+    @Value("${app.leaderboard.reconcile.parallelism:4}")
+    private int reconcileParallelism;
+
+    @Value("${app.leaderboard.maintenance-lock.lease:1h}")
+    private Duration lockLease;
+
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private final AtomicBoolean reconcileRunning = new AtomicBoolean();
+    private final AtomicBoolean migrationRunning = new AtomicBoolean();
+    private volatile RebuildReport lastRebuild;
+    private volatile ReconcileReport lastReconcile;
+    private volatile MigrationReport lastMigration;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmupEnabled) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (IllegalStateException e) {
+            // Another node is warming up or rebuilding, its rankings are swapped in for everyone
+            logger.info("Skipping leaderboard warm-up: {}", e.getMessage());
+        } catch (Exception e) {
+            // The previous rankings stay live, the reconcile job or an admin rebuild can retry
+            logger.error("Leaderboard warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    public RebuildReport rebuild() {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A leaderboard rebuild is already running");
+        }
+        try {
+            String lockKey = lockKey("rebuild");
+            String token = acquireLock(lockKey, "A leaderboard rebuild is already running on another node");
+            try {
+                return doRebuild();
+            } finally {
+                releaseLock(lockKey, token);
+            }
+        } finally {
+            rebuildRunning.set(false);
+        }
+    }
+
+    private RebuildReport doRebuild() {
+        long start = System.nanoTime();
+        String leaderboardKey = leaderboardService.getLeaderboardKey();
+        String suffix = ":rebuild:" + UUID.randomUUID();
+        String tempLeaderboardKey = leaderboardKey + suffix;
+        String tempReviewCountKey = leaderboardService.reviewCountKey() + suffix;
+
+        // Redis clock, the same one the scripts stamp the change log with
+        long rebuildStart = redisTemplate.execute((RedisCallback<Long>) connection ->
+                connection.serverCommands().time(TimeUnit.MILLISECONDS));
+
+        // Live cuisine key -> rebuilt cuisine key
+        Map<String, String> cuisineKeys = new HashMap<>();
+        AtomicInteger restaurants = new AtomicInteger();
+
+        logger.info("Rebuilding leaderboard from the database");
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Restaurant> stream = restaurantRepository.streamAll()) {
+                List<Restaurant> batch = new ArrayList<>(warmupBatchSize);
+                Iterator<Restaurant> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == warmupBatchSize || !iterator.hasNext()) {
+                        writeRebuildBatch(batch, tempLeaderboardKey, tempReviewCountKey, suffix, cuisineKeys, rebuildStart);
+                        restaurants.addAndGet(batch.size());
+                        batch.clear();
+                        // Streamed entities are not needed after their batch is written
+                        entityManager.clear();
+                    }
+                }
+            }
+        });
+
+        // Cuisine leaderboards that no longer have any restaurant are dropped by the swap
+        Set<String> staleCuisineKeys = new HashSet<>();
+        ScanOptions options = ScanOptions.scanOptions().match(leaderboardKey + ":cuisine:*").count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> {
+                if (!key.contains(":rebuild:") && !cuisineKeys.containsKey(key)) {
+                    staleCuisineKeys.add(key);
+                }
+            });
+        }
+
+        List<String> rebuiltKeys = new ArrayList<>();
+        List<String> liveKeys = new ArrayList<>();
+        rebuiltKeys.add(tempLeaderboardKey);
+        liveKeys.add(leaderboardKey);
+        rebuiltKeys.add(tempReviewCountKey);
+        liveKeys.add(leaderboardService.reviewCountKey());
+        cuisineKeys.forEach((liveKey, rebuiltKey) -> {
+            liveKeys.add(liveKey);
+            rebuiltKeys.add(rebuiltKey);
+        });
+
+        List<String> keys = new ArrayList<>(rebuiltKeys);
+        keys.addAll(liveKeys);
+        keys.addAll(staleCuisineKeys);
+        keys.add(leaderboardService.changeLogKey());
+        redisTemplate.execute(SWAP_SCRIPT, RedisSerializer.byteArray(), new GenericToStringSerializer<>(Long.class),
+                keys,
+                String.valueOf(rebuiltKeys.size()).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(staleCuisineKeys.size()).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(rebuildStart).getBytes(StandardCharsets.UTF_8),
+                String.valueOf(REBUILD_KEY_TTL_SECONDS * 1000).getBytes(StandardCharsets.UTF_8));
+
+        leaderboardService.invalidateNearCache();
+
+        RebuildReport report = new RebuildReport(restaurants.get(), cuisineKeys.size(), staleCuisineKeys.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        lastRebuild = report;
+        logger.info("Leaderboard rebuilt: {} restaurants, {} cuisines in {} ms",
+                report.getRestaurants(), report.getCuisines(), report.getDurationMs());
+        return report;
+    }
+
+    private void writeRebuildBatch(List<Restaurant> batch, String tempLeaderboardKey, String tempReviewCountKey,
+                                   String suffix, Map<String, String> cuisineKeys, long rebuildStart) {
+        Set<String> batchKeys = new HashSet<>();
+        batchKeys.add(tempLeaderboardKey);
+        batchKeys.add(tempReviewCountKey);
+
+        // One pipelined round trip per batch
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            leaderboardService.loadRebuildEntryScript(connection);
+            for (Restaurant restaurant : batch) {
+                String liveCuisineKey = leaderboardService.cuisineKey(restaurant.getCuisineType());
+                String rebuiltCuisineKey = cuisineKeys.computeIfAbsent(liveCuisineKey, key -> key + suffix);
+                batchKeys.add(rebuiltCuisineKey);
+                leaderboardService.writeRebuildEntry(connection, restaurant, tempLeaderboardKey, rebuiltCuisineKey,
+                        tempReviewCountKey, rebuildStart);
+            }
+            for (String key : batchKeys) {
+                connection.keyCommands().expire(key.getBytes(StandardCharsets.UTF_8), REBUILD_KEY_TTL_SECONDS);
+            }
+            return null;
+        });
+    }
+
+    @Scheduled(initialDelayString = "${app.leaderboard.reconcile.initial-delay-ms:600000}",
+               fixedDelayString = "${app.leaderboard.reconcile.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled reconcile: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Leaderboard reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    public ReconcileReport reconcile() {
+        if (!reconcileRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A leaderboard reconcile is already running");
+        }
+        try {
+            String lockKey = lockKey("reconcile");
+            String token = acquireLock(lockKey, "A leaderboard reconcile is already running on another node");
+            try {
+                return doReconcile();
+            } finally {
+                releaseLock(lockKey, token);
+            }
+        } finally {
+            reconcileRunning.set(false);
+        }
+    }
+
+    private String lockKey(String job) {
+        return leaderboardService.getLeaderboardKey() + ":lock:" + job;
+    }
+
+    // SET NX PX with a token only this run knows. The lease only matters if a node dies while holding the lock;
+    // it has to outlast the longest run, or a second node could start before the first one finishes.
+    private String acquireLock(String lockKey, String heldMessage) {
+        String token = UUID.randomUUID().toString();
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, token, lockLease))) {
+            throw new IllegalStateException(heldMessage);
+        }
+        return token;
+    }
+
+    private void releaseLock(String lockKey, String token) {
+        try {
+            Long released = stringRedisTemplate.execute(LOCK_RELEASE_SCRIPT, List.of(lockKey), token);
+            if (released == null || released == 0) {
+                logger.warn("Lock {} expired before the job finished, increase app.leaderboard.maintenance-lock.lease",
+                        lockKey);
+            }
+        } catch (Exception e) {
+            // The lease frees it eventually
+            logger.error("Could not release lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+
+    private ReconcileReport doReconcile() {
+        long start = System.nanoTime();
+        AtomicInteger checked = new AtomicInteger();
+        AtomicInteger databaseCorrected = new AtomicInteger();
+        AtomicInteger redisCorrected = new AtomicInteger();
+        AtomicInteger failedChunks = new AtomicInteger();
+        int chunks = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, reconcileParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            Long afterId = 0L;
+            while (true) {
+                // Keyset pagination over ids, chunks are then reconciled in parallel
+                List<Long> ids = restaurantRepository.findIdsAfter(afterId, PageRequest.of(0, reconcileChunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                chunks++;
+
+                futures.add(executor.submit(() -> {
+                    try {
+                        ChunkResult result = transactionTemplate.execute(status -> reconcileChunk(ids));
+                        checked.addAndGet(result.checked);
+                        databaseCorrected.addAndGet(result.databaseCorrected);
+                        redisCorrected.addAndGet(result.redisCorrected);
+                    } catch (Exception e) {
+                        failedChunks.incrementAndGet();
+                        logger.error("Reconcile of restaurants {}..{} failed: {}",
+                                ids.get(0), ids.get(ids.size() - 1), e.getMessage());
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedChunks.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Leaderboard reconcile was interrupted");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (redisCorrected.get() > 0) {
+            leaderboardService.invalidateNearCache();
+        }
+
+        ReconcileReport report = new ReconcileReport(checked.get(), databaseCorrected.get(), redisCorrected.get(),
+                chunks, failedChunks.get(), (System.nanoTime() - start) / 1_000_000);
+        lastReconcile = report;
+        logger.info("Leaderboard reconcile checked {} restaurants, corrected {} database rows and {} Redis entries in {} ms",
+                report.getRestaurantsChecked(), report.getDatabaseRowsCorrected(),
+                report.getRedisEntriesCorrected(), report.getDurationMs());
+        return report;
+    }
+
+    private ChunkResult reconcileChunk(List<Long> ids) {
+        // Lock first, then sum: a review committed before the lock is in the sums, a review still in flight
+        // increments after we commit, on top of the corrected values
+        List<Restaurant> restaurants = restaurantRepository.findAllByIdForUpdate(ids);
+
+        Map<Long, double[]> actual = new HashMap<>();
+        for (Object[] row : reviewRepository.sumScoresByRestaurant(ids)) {
+            actual.put((Long) row[0], new double[]{((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue()});
+        }
+
+        ChunkResult result = new ChunkResult();
+        for (Restaurant restaurant : restaurants) {
+            result.checked++;
+            double[] sums = actual.getOrDefault(restaurant.getId(), new double[]{0.0, 0.0});
+            double total = sums[1] > 0 ? sums[0] : 0.0;
+            int count = (int) sums[1];
+
+            if (count != restaurant.getReviewCount()
+                    || Math.abs(total - restaurant.getTotalScore()) > SCORE_TOLERANCE) {
+                logger.warn("Restaurant {} drifted: stored total {} / count {}, actual total {} / count {}",
+                        restaurant.getId(), restaurant.getTotalScore(), restaurant.getReviewCount(), total, count);
+                restaurant.setTotalScore(total);
+                restaurant.setReviewCount(count);
+                restaurant.setAverageScore(count > 0 ? total / count : 0.0);
+                result.databaseCorrected++;
+            }
+        }
+
+        // Still under the row locks, so no review can change Redis for these restaurants in between
+        result.redisCorrected = repairRedis(restaurants);
+        return result;
+    }
+
+    private int repairRedis(List<Restaurant> restaurants) {
+        try {
+            String leaderboardKey = leaderboardService.getLeaderboardKey();
+            String reviewCountKey = leaderboardService.reviewCountKey();
+            List<Object> stored = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Restaurant restaurant : restaurants) {
+                    byte[] restaurantKey = ("restaurant:" + restaurant.getId()).getBytes(StandardCharsets.UTF_8);
+                    connection.hashCommands().hMGet(restaurantKey,
+                            "totalScore".getBytes(StandardCharsets.UTF_8),
+                            "reviewCount".getBytes(StandardCharsets.UTF_8),
+                            "cuisineKey".getBytes(StandardCharsets.UTF_8));
+                    connection.zSetCommands().zScore(leaderboardKey.getBytes(StandardCharsets.UTF_8), restaurantKey);
+                    connection.zSetCommands().zScore(reviewCountKey.getBytes(StandardCharsets.UTF_8), restaurantKey);
+                }
+                return null;
+            }, RedisSerializer.string());
+
+            List<Restaurant> drifted = new ArrayList<>();
+            for (int i = 0; i < restaurants.size(); i++) {
+                Restaurant restaurant = restaurants.get(i);
+                @SuppressWarnings("unchecked")
+                List<String> fields = (List<String>) stored.get(i * 3);
+                Double rankScore = (Double) stored.get(i * 3 + 1);
+                Double countScore = (Double) stored.get(i * 3 + 2);
+                if (isRedisDrifted(restaurant, fields, rankScore, countScore)) {
+                    drifted.add(restaurant);
+                }
+            }
+
+            if (!drifted.isEmpty()) {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Restaurant restaurant : drifted) {
+                        leaderboardService.writeEntry(connection, restaurant, leaderboardKey,
+                                leaderboardService.cuisineKey(restaurant.getCuisineType()), reviewCountKey);
+                    }
+                    return null;
+                });
+            }
+            return drifted.size();
+
+        } catch (Exception e) {
+            // Redis trouble must not undo the database corrections
+            logger.error("Could not reconcile Redis leaderboard entries: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private boolean isRedisDrifted(Restaurant restaurant, List<String> fields, Double rankScore, Double countScore) {
+        if (fields == null || fields.size() < 3 || rankScore == null || countScore == null
+                || fields.get(0) == null || fields.get(1) == null) {
+            return true;
+        }
+        double storedTotal = Double.parseDouble(fields.get(0));
+        int storedCount = Integer.parseInt(fields.get(1));
+        return storedCount != restaurant.getReviewCount()
+                || Math.abs(storedTotal - restaurant.getTotalScore()) > SCORE_TOLERANCE
+                || Math.abs(rankScore - restaurant.getAverageScore()) > SCORE_TOLERANCE
+                || countScore.intValue() != restaurant.getReviewCount()
+                || !Objects.equals(fields.get(2), leaderboardService.cuisineKey(restaurant.getCuisineType()));
+    }
+
+    // Rewrites every restaurant hash whose entry is not in the configured format yet. Score updates and the
+    // warm-up rebuild rewrite entries as well; this covers restaurants nobody touches, without a database read.
+    public MigrationReport migrateEntries() {
+        if (!migrationRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A leaderboard entry migration is already running");
+        }
+        try {
+            return doMigrateEntries();
+        } finally {
+            migrationRunning.set(false);
+        }
+    }
+
+    private MigrationReport doMigrateEntries() {
+        long start = System.nanoTime();
+        int[] counts = new int[4]; // scanned, migrated, already current, unreadable
+
+        logger.info("Migrating leaderboard entries to the {} format", entryCodec.getFormat());
+
+        ScanOptions options = ScanOptions.scanOptions().match(RESTAURANT_HASH_PATTERN).count(1000).build();
+        List<String> batch = new ArrayList<>(warmupBatchSize);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == warmupBatchSize || !cursor.hasNext()) {
+                    migrateBatch(batch, counts);
+                    batch.clear();
+                }
+            }
+        }
+
+        MigrationReport report = new MigrationReport(entryCodec.getFormat().name(), counts[0], counts[1], counts[2],
+                counts[3], (System.nanoTime() - start) / 1_000_000);
+        lastMigration = report;
+        logger.info("Leaderboard entry migration scanned {} hashes, rewrote {}, {} already current, {} unreadable in {} ms",
+                report.getScanned(), report.getMigrated(), report.getAlreadyCurrent(), report.getUnreadable(),
+                report.getDurationMs());
+        return report;
+    }
+
+    private void migrateBatch(List<String> keys, int[] counts) {
+        // One pipelined round trip to read the batch, one to rewrite what needs it
+        List<Object> stored = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.hashCommands().hGet(key.getBytes(StandardCharsets.UTF_8), LeaderboardService.DATA_FIELD);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        List<byte[][]> rewrites = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] data = (byte[]) stored.get(i);
+            if (data == null) {
+                continue;
+            }
+            counts[0]++;
+            if (entryCodec.isCurrentFormat(data)) {
+                counts[2]++;
+                continue;
+            }
+            LeaderboardService.RestaurantLeaderboardEntry entry = entryCodec.decode(data);
+            if (entry == null) {
+                // Left for the next score update or rebuild of that restaurant, which writes it from the database
+                counts[3]++;
+                continue;
+            }
+            rewrites.add(new byte[][]{keys.get(i).getBytes(StandardCharsets.UTF_8), data, entryCodec.encode(entry)});
+        }
+        if (rewrites.isEmpty()) {
+            return;
+        }
+
+        byte[] script = MIGRATE_ENTRY_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (byte[][] rewrite : rewrites) {
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, rewrite);
+            }
+            return null;
+        });
+        for (Object result : results) {
+            // 0 means a concurrent write got there first, in the current format
+            if (result instanceof Long rewritten && rewritten == 1) {
+                counts[1]++;
+            } else {
+                counts[2]++;
+            }
+        }
+    }
+
+    public RebuildReport getLastRebuild() {
+        return lastRebuild;
+    }
+
+    public ReconcileReport getLastReconcile() {
+        return lastReconcile;
+    }
+
+    public MigrationReport getLastMigration() {
+        return lastMigration;
+    }
+
+    private static class ChunkResult {
+        private int checked;
+        private int databaseCorrected;
+        private int redisCorrected;
+    }
+
+    // Inner class for rebuild results
+    public static class RebuildReport {
+        private final int restaurants;
+        private final int cuisines;
+        private final int staleCuisinesRemoved;
+        private final long durationMs;
+
+        public RebuildReport(int restaurants, int cuisines, int staleCuisinesRemoved, long durationMs) {
+            this.restaurants = restaurants;
+            this.cuisines = cuisines;
+            this.staleCuisinesRemoved = staleCuisinesRemoved;
+            this.durationMs = durationMs;
+        }
+
+        // Getters
+        public int getRestaurants() { return restaurants; }
+        public int getCuisines() { return cuisines; }
+        public int getStaleCuisinesRemoved() { return staleCuisinesRemoved; }
+        public long getDurationMs() { return durationMs; }
+    }
+
+    // Inner class for reconcile results
+    public static class ReconcileReport {
+        private final int restaurantsChecked;
+        private final int databaseRowsCorrected;
+        private final int redisEntriesCorrected;
+        private final int chunks;
+        private final int failedChunks;
+        private final long durationMs;
+
+        public ReconcileReport(int restaurantsChecked, int databaseRowsCorrected, int redisEntriesCorrected,
+                               int chunks, int failedChunks, long durationMs) {
+            this.restaurantsChecked = restaurantsChecked;
+            this.databaseRowsCorrected = databaseRowsCorrected;
+            this.redisEntriesCorrected = redisEntriesCorrected;
+            this.chunks = chunks;
+            this.failedChunks = failedChunks;
+            this.durationMs = durationMs;
+        }
+
+        // Getters
+        public int getRestaurantsChecked() { return restaurantsChecked; }
+        public int getDatabaseRowsCorrected() { return databaseRowsCorrected; }
+        public int getRedisEntriesCorrected() { return redisEntriesCorrected; }
+        public int getChunks() { return chunks; }
+        public int getFailedChunks() { return failedChunks; }
+        public long getDurationMs() { return durationMs; }
+    }
+
+    // Inner class for entry migration results
+    public static class MigrationReport {
+        private final String format;
+        private final int scanned;
+        private final int migrated;
+        private final int alreadyCurrent;
+        private final int unreadable;
+        private final long durationMs;
+
+        public MigrationReport(String format, int scanned, int migrated, int alreadyCurrent, int unreadable,
+                               long durationMs) {
+            this.format = format;
+            this.scanned = scanned;
+            this.migrated = migrated;
+            this.alreadyCurrent = alreadyCurrent;
+            this.unreadable = unreadable;
+            this.durationMs = durationMs;
+        }
+
+        // Getters
+        public String getFormat() { return format; }
+        public int getScanned() { return scanned; }
+        public int getMigrated() { return migrated; }
+        public int getAlreadyCurrent() { return alreadyCurrent; }
+        public int getUnreadable() { return unreadable; }
+        public long getDurationMs() { return durationMs; }
+    }
+}
@@ -0,0 +1,398 @@
+package com.example.restaurantreview.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// In-process snapshots of the leaderboard top list and of per-restaurant ranks. Every snapshot is stamped
+// with the invalidation version it was loaded under. A snapshot that is older than the TTL or was loaded
+// before the latest invalidation is still served, while a single background refresh replaces it, so readers
+// do not wait on Redis once the cache is warm. Past max-staleness a snapshot is never served: readers load
+// synchronously, one load per key, and see the error if Redis is down. Writers on any node publish on a
+// Redis channel to invalidate.
+@Component
+public class LeaderboardNearCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardNearCache.class);
+    private static final String TOP_KEY = "top";
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Value("${app.leaderboard.near-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.leaderboard.near-cache.ttl:2s}")
+    private Duration ttl;
+
+    @Value("${app.leaderboard.near-cache.max-staleness:10s}")
+    private Duration maxStaleness;
+
+    @Value("${app.leaderboard.near-cache.max-rank-entries:10000}")
+    private int maxRankEntries;
+
+    @Value("${app.leaderboard.near-cache.invalidation-channel:restaurant:leaderboard:invalidations}")
+    private String invalidationChannel;
+
+    // Lets a node recognise its own invalidations coming back from the channel
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot<List<LeaderboardService.RestaurantLeaderboardEntry>> topSnapshot;
+    private RankSnapshots rankSnapshots;
+    private final ReentrantLock rankLock = new ReentrantLock();
+
+    private final AtomicBoolean topRefreshing = new AtomicBoolean();
+    private final Map<Long, Boolean> rankRefreshing = new ConcurrentHashMap<>();
+    // Synchronous loads in progress, keyed by TOP_KEY or restaurant id, so concurrent misses share one
+    private final Map<Object, CompletableFuture<Snapshot<?>>> loading = new ConcurrentHashMap<>();
+    private ExecutorService refreshExecutor;
+
+    // Counters
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expiredLoads = new LongAdder();
+    private final LongAdder rankEvictions = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshErrors = new LongAdder();
+    private final LongAdder localInvalidations = new LongAdder();
+    private final LongAdder remoteInvalidations = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        rankSnapshots = new RankSnapshots(maxRankEntries);
+        refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "leaderboard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listenerContainer.addMessageListener(this::onInvalidation, new ChannelTopic(invalidationChannel));
+    }
+
+    @PreDestroy
+    public void stop() {
+        refreshExecutor.shutdownNow();
+    }
+
+    // The snapshot always holds the longest list (maxLimit), smaller limits are served from its prefix
+    public List<LeaderboardService.RestaurantLeaderboardEntry> getTop(
+            int limit, int maxLimit, IntFunction<List<LeaderboardService.RestaurantLeaderboardEntry>> loader) {
+        if (!enabled) {
+            return loader.apply(limit);
+        }
+
+        Snapshot<List<LeaderboardService.RestaurantLeaderboardEntry>> snapshot = topSnapshot;
+        if (snapshot == null || isExpired(snapshot)) {
+            // Nothing servable: this caller loads, concurrent callers wait for the same load
+            countLoad(snapshot);
+            snapshot = loadOnce(TOP_KEY, () -> List.copyOf(loader.apply(maxLimit)), loaded -> topSnapshot = loaded);
+        } else if (isFresh(snapshot)) {
+            hits.increment();
+        } else {
+            staleHits.increment();
+            refreshTopAsync(maxLimit, loader);
+        }
+
+        List<LeaderboardService.RestaurantLeaderboardEntry> entries = snapshot.value;
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    public Long getRank(Long restaurantId, Function<Long, Long> loader) {
+        if (!enabled) {
+            return loader.apply(restaurantId);
+        }
+
+        Snapshot<Long> snapshot = getRankSnapshot(restaurantId);
+        if (snapshot == null || isExpired(snapshot)) {
+            countLoad(snapshot);
+            snapshot = loadOnce(restaurantId, () -> loader.apply(restaurantId),
+                    loaded -> putRankSnapshot(restaurantId, loaded));
+        } else if (isFresh(snapshot)) {
+            hits.increment();
+        } else {
+            staleHits.increment();
+            refreshRankAsync(restaurantId, loader);
+        }
+        return snapshot.value;
+    }
+
+    // Called by the writer: invalidate here right away and tell every other node
+    public void invalidate() {
+        if (!enabled) {
+            return;
+        }
+        version.incrementAndGet();
+        localInvalidations.increment();
+        try {
+            stringRedisTemplate.convertAndSend(invalidationChannel, nodeId);
+        } catch (Exception e) {
+            // Other nodes still converge within the TTL
+            logger.warn("Could not publish leaderboard invalidation: {}", e.getMessage());
+        }
+    }
+
+    private void onInvalidation(Message message, byte[] pattern) {
+        String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (nodeId.equals(sender)) {
+            return;
+        }
+        version.incrementAndGet();
+        remoteInvalidations.increment();
+    }
+
+    private boolean isFresh(Snapshot<?> snapshot) {
+        return snapshot.version == version.get() && System.nanoTime() - snapshot.loadedAt < ttl.toNanos();
+    }
+
+    // Too old to serve even while a refresh runs: refreshes kept failing, or the node was idle
+    private boolean isExpired(Snapshot<?> snapshot) {
+        return System.nanoTime() - snapshot.loadedAt >= maxStaleness.toNanos();
+    }
+
+    private void countLoad(Snapshot<?> snapshot) {
+        if (snapshot == null) {
+            misses.increment();
+        } else {
+            expiredLoads.increment();
+        }
+    }
+
+    // Single-flight load: the first caller for a key loads and stores the snapshot, callers arriving meanwhile
+    // get its result or its exception
+    @SuppressWarnings("unchecked")
+    private <T> Snapshot<T> loadOnce(Object key, Supplier<T> loader, Consumer<Snapshot<T>> store) {
+        CompletableFuture<Snapshot<?>> own = new CompletableFuture<>();
+        CompletableFuture<Snapshot<?>> inFlight = loading.putIfAbsent(key, own);
+        if (inFlight != null) {
+            try {
+                return (Snapshot<T>) inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            Snapshot<T> snapshot = load(loader);
+            store.accept(snapshot);
+            own.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, own);
+        }
+    }
+
+    private <T> Snapshot<T> load(Supplier<T> loader) {
+        // Stamp with the version seen before reading, so an invalidation during the load leaves it stale
+        long loadVersion = version.get();
+        T value = loader.get();
+        return new Snapshot<>(value, loadVersion, System.nanoTime());
+    }
+
+    private void refreshTopAsync(int maxLimit, IntFunction<List<LeaderboardService.RestaurantLeaderboardEntry>> loader) {
+        if (!topRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        submitRefresh(() -> {
+            try {
+                topSnapshot = load(() -> List.copyOf(loader.apply(maxLimit)));
+                refreshes.increment();
+            } finally {
+                topRefreshing.set(false);
+            }
+        }, () -> topRefreshing.set(false));
+    }
+
+    private void refreshRankAsync(Long restaurantId, Function<Long, Long> loader) {
+        if (rankRefreshing.putIfAbsent(restaurantId, Boolean.TRUE) != null) {
+            return;
+        }
+        submitRefresh(() -> {
+            try {
+                putRankSnapshot(restaurantId, load(() -> loader.apply(restaurantId)));
+                refreshes.increment();
+            } finally {
+                rankRefreshing.remove(restaurantId);
+            }
+        }, () -> rankRefreshing.remove(restaurantId));
+    }
+
+    private Snapshot<Long> getRankSnapshot(Long restaurantId) {
+        rankLock.lock();
+        try {
+            return rankSnapshots.get(restaurantId);
+        } finally {
+            rankLock.unlock();
+        }
+    }
+
+    private void putRankSnapshot(Long restaurantId, Snapshot<Long> snapshot) {
+        rankLock.lock();
+        try {
+            rankSnapshots.put(restaurantId, snapshot);
+        } finally {
+            rankLock.unlock();
+        }
+    }
+
+    private int rankEntries() {
+        rankLock.lock();
+        try {
+            return rankSnapshots.size();
+        } finally {
+            rankLock.unlock();
+        }
+    }
+
+    private void submitRefresh(Runnable refresh, Runnable onRejected) {
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (Exception e) {
+                    // Keep serving the previous snapshot until max-staleness, the next stale read retries
+                    refreshErrors.increment();
+                    logger.warn("Leaderboard near cache refresh failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            onRejected.run();
+        }
+    }
+
+    public NearCacheStats getStats() {
+        Snapshot<List<LeaderboardService.RestaurantLeaderboardEntry>> snapshot = topSnapshot;
+        return new NearCacheStats(
+                enabled,
+                version.get(),
+                snapshot != null ? (System.nanoTime() - snapshot.loadedAt) / 1_000_000 : -1,
+                rankEntries(),
+                rankEvictions.sum(),
+                hits.sum(),
+                staleHits.sum(),
+                misses.sum(),
+                expiredLoads.sum(),
+                refreshes.sum(),
+                refreshErrors.sum(),
+                localInvalidations.sum(),
+                remoteInvalidations.sum()
+        );
+    }
+
+    // Access-ordered map that evicts the least recently read rank once full
+    private class RankSnapshots extends LinkedHashMap<Long, Snapshot<Long>> {
+        private final int maxEntries;
+
+        RankSnapshots(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Snapshot<Long>> eldest) {
+            if (size() > maxEntries) {
+                rankEvictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Snapshot<T> {
+        private final T value;
+        private final long version;
+        private final long loadedAt;
+
+        Snapshot(T value, long version, long loadedAt) {
+            this.value = value;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    // Inner class for near cache metrics
+    public static class NearCacheStats {
+        private final boolean enabled;
+        private final long version;
+        private final long topSnapshotAgeMs;
+        private final int rankEntries;
+        private final long rankEvictions;
+        private final long hits;
+        private final long staleHits;
+        private final long misses;
+        private final long expiredLoads;
+        private final long refreshes;
+        private final long refreshErrors;
+        private final long localInvalidations;
+        private final long remoteInvalidations;
+
+        public NearCacheStats(boolean enabled, long version, long topSnapshotAgeMs, int rankEntries,
+                              long rankEvictions, long hits, long staleHits, long misses, long expiredLoads,
+                              long refreshes, long refreshErrors, long localInvalidations,
+                              long remoteInvalidations) {
+            this.enabled = enabled;
+            this.version = version;
+            this.topSnapshotAgeMs = topSnapshotAgeMs;
+            this.rankEntries = rankEntries;
+            this.rankEvictions = rankEvictions;
+            this.hits = hits;
+            this.staleHits = staleHits;
+            this.misses = misses;
+            this.expiredLoads = expiredLoads;
+            this.refreshes = refreshes;
+            this.refreshErrors = refreshErrors;
+            this.localInvalidations = localInvalidations;
+            this.remoteInvalidations = remoteInvalidations;
+        }
+
+        // Getters
+        public boolean isEnabled() { return enabled; }
+        public long getVersion() { return version; }
+        public long getTopSnapshotAgeMs() { return topSnapshotAgeMs; }
+        public int getRankEntries() { return rankEntries; }
+        public long getRankEvictions() { return rankEvictions; }
+        public long getHits() { return hits; }
+        public long getStaleHits() { return staleHits; }
+        public long getMisses() { return misses; }
+        public long getExpiredLoads() { return expiredLoads; }
+        public long getRefreshes() { return refreshes; }
+        public long getRefreshErrors() { return refreshErrors; }
+        public long getLocalInvalidations() { return localInvalidations; }
+        public long getRemoteInvalidations() { return remoteInvalidations; }
+    }
+}
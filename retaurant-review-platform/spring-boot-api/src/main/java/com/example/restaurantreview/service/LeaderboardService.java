@@ -5,110 +5,532 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.stereotype.Service;
-
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 @Service
 public class LeaderboardService {
 
     private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
 
+    private static final RedisScript<String> UPSERT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-upsert.lua"), String.class);
+
+    private static final RedisScript<String> APPLY_DELTA_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-apply-delta.lua"), String.class);
+
+    private static final RedisScript<Long> REMOVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-remove.lua"), Long.class);
+
+    private static final RedisScript<Long> REBUILD_ENTRY_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-rebuild-entry.lua"), Long.class);
+
+    private static final RedisScript<Long> MERGE_WINDOW_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-merge-window.lua"), Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOP_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/leaderboard-top.lua"), List.class);
+
+    private static final GenericToStringSerializer<Long> LONG_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    // Hash field of the encoded entry, see LeaderboardEntryCodec
+    static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.UTF_8);
+
+    // Trending buckets are keyed in UTC so every node agrees on bucket boundaries
+    private static final DateTimeFormatter HOUR_BUCKET = DateTimeFormatter.ofPattern("yyyyMMddHH").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DAY_BUCKET = DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    // Sorted set members are plain "restaurant:{id}" strings (written by the scripts), not JSON values
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+
+    @Autowired
+    private LeaderboardNearCache nearCache;
+
+    @Autowired
+    private ReviewPipelineMetrics metrics;
+
+    @Autowired
+    private LeaderboardEntryCodec entryCodec;
+
     @Value("${app.leaderboard.cache-key}")
     private String leaderboardKey;
 
     @Value("${app.leaderboard.top-limit:50}")
     private int topLimit;
 
+    @Value("${app.leaderboard.trending.merge-ttl:60s}")
+    private Duration trendingMergeTtl;
+
     public void updateRestaurantScore(Restaurant restaurant) {
         try {
             String restaurantKey = "restaurant:" + restaurant.getId();
-            Double score = restaurant.getAverageScore();
 
-            logger.info("Updating leaderboard for restaurant {} with score {}", restaurant.getName(), score);
+            logger.debug("Updating leaderboard for restaurant {} with score {}",
+                    restaurant.getName(), restaurant.getAverageScore());
+
+            // Entry data and ranking are written by one script, so readers never see one without the other
+            long start = System.nanoTime();
+            String score;
+            try {
+                score = redisTemplate.execute(UPSERT_SCRIPT, RedisSerializer.byteArray(), StringRedisSerializer.UTF_8,
+                        Arrays.asList(restaurantKey, leaderboardKey, cuisineKey(restaurant.getCuisineType()), reviewCountKey(),
+                                changeLogKey()),
+                        scriptArg(restaurantKey),
+                        serializeEntry(restaurant),
+                        scriptArg(restaurant.getTotalScore()),
+                        scriptArg(restaurant.getReviewCount()));
+            } finally {
+                metrics.recordLeaderboard(ReviewPipelineMetrics.LeaderboardOperation.UPSERT, start);
+            }
 
-            // Create restaurant data for leaderboard
-            RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry(
-                    restaurant.getId(),
-                    restaurant.getName(),
-                    restaurant.getAverageScore(),
-                    restaurant.getReviewCount(),
-                    restaurant.getCuisineType()
-            );
+            nearCache.invalidate();
 
-            // Store detailed restaurant info
-            redisTemplate.opsForHash().put(restaurantKey, "data", entry);
+            logger.debug("Successfully updated leaderboard for restaurant {}, score {}", restaurant.getName(), score);
 
-            // Update sorted set for leaderboard
-            redisTemplate.opsForZSet().add(leaderboardKey, restaurantKey, score);
+        } catch (Exception e) {
+            logger.error("Error updating restaurant score in leaderboard: {}", e.getMessage());
+        }
+    }
+
+    // Applies a review score delta to the Redis aggregates and rankings in one atomic script, so concurrent
+    // reviews cannot overwrite each other's leaderboard score with a stale average. The review's time picks
+    // the trending buckets it counts towards.
+    public void applyScoreDelta(Restaurant restaurant, double scoreDelta, int countDelta, LocalDateTime reviewedAt) {
+        try {
+            String restaurantKey = "restaurant:" + restaurant.getId();
+            Instant reviewInstant = reviewedAt.atZone(ZoneId.systemDefault()).toInstant();
+            Instant hourStart = reviewInstant.truncatedTo(ChronoUnit.HOURS);
+            Instant dayStart = reviewInstant.truncatedTo(ChronoUnit.DAYS);
+
+            // A bucket lives exactly as long as some window can still include it
+            long hourExpiry = hourStart.plus(TrendingWindow.LAST_24_HOURS.span()).plus(1, ChronoUnit.HOURS).getEpochSecond();
+            long dayExpiry = dayStart.plus(TrendingWindow.LAST_7_DAYS.span()).plus(1, ChronoUnit.DAYS).getEpochSecond();
+
+            long start = System.nanoTime();
+            String average;
+            try {
+                average = redisTemplate.execute(APPLY_DELTA_SCRIPT, RedisSerializer.byteArray(), StringRedisSerializer.UTF_8,
+                        Arrays.asList(restaurantKey, leaderboardKey, cuisineKey(restaurant.getCuisineType()),
+                                hourBucketKey(hourStart), dayBucketKey(dayStart), reviewCountKey(), changeLogKey()),
+                        scriptArg(restaurantKey),
+                        scriptArg(scoreDelta),
+                        scriptArg(countDelta),
+                        scriptArg(restaurant.getTotalScore()),
+                        scriptArg(restaurant.getReviewCount()),
+                        serializeEntry(restaurant),
+                        scriptArg(hourExpiry),
+                        scriptArg(dayExpiry));
+            } finally {
+                metrics.recordLeaderboard(ReviewPipelineMetrics.LeaderboardOperation.APPLY_DELTA, start);
+            }
+
+            nearCache.invalidate();
 
-            logger.info("Successfully updated leaderboard for restaurant {}", restaurant.getName());
+            logger.debug("Applied score delta {} to leaderboard for restaurant {}, new score {}",
+                    scoreDelta, restaurant.getName(), average);
 
         } catch (Exception e) {
-            logger.error("Error updating restaurant score in leaderboard: {}", e.getMessage());
+            logger.error("Error applying score delta to leaderboard: {}", e.getMessage());
         }
     }
 
     public List<RestaurantLeaderboardEntry> getTopRestaurants(int limit) {
         try {
             limit = Math.min(limit, topLimit);
+            if (limit <= 0) {
+                return new ArrayList<>();
+            }
 
-            Set<ZSetOperations.TypedTuple<Object>> rankings = redisTemplate.opsForZSet()
-                    .reverseRangeWithScores(leaderboardKey, 0, limit - 1);
+            List<RestaurantLeaderboardEntry> leaderboard = nearCache.getTop(limit, topLimit,
+                    maxLimit -> loadTop(leaderboardKey, maxLimit, RestaurantLeaderboardEntry::setAverageScore));
 
-            List<RestaurantLeaderboardEntry> leaderboard = new ArrayList<>();
+            logger.debug("Retrieved {} restaurants from leaderboard", leaderboard.size());
+            return leaderboard;
 
-            if (rankings != null) {
-                for (ZSetOperations.TypedTuple<Object> tuple : rankings) {
-                    String restaurantKey = (String) tuple.getValue();
-                    Object data = redisTemplate.opsForHash().get(restaurantKey, "data");
+        } catch (Exception e) {
+            logger.error("Error retrieving leaderboard: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 
-                    if (data instanceof RestaurantLeaderboardEntry) {
-                        RestaurantLeaderboardEntry entry = (RestaurantLeaderboardEntry) data;
-                        entry.setRank(leaderboard.size() + 1);
-                        leaderboard.add(entry);
-                    }
-                }
+    public List<RestaurantLeaderboardEntry> getTopRestaurantsByCuisine(String cuisineType, int limit) {
+        try {
+            limit = Math.min(limit, topLimit);
+            if (limit <= 0) {
+                return new ArrayList<>();
             }
+            return loadTop(cuisineKey(cuisineType), limit, RestaurantLeaderboardEntry::setAverageScore);
+        } catch (Exception e) {
+            logger.error("Error retrieving cuisine leaderboard: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
 
-            logger.info("Retrieved {} restaurants from leaderboard", leaderboard.size());
-            return leaderboard;
+    public Long getRestaurantRankInCuisine(String cuisineType, Long restaurantId) {
+        try {
+            return reverseRank(cuisineKey(cuisineType), restaurantId);
+        } catch (Exception e) {
+            logger.error("Error getting restaurant cuisine rank: {}", e.getMessage());
+            return null;
+        }
+    }
 
+    // Trending score is the sum of the sentiment scores of reviews written in the window
+    public List<RestaurantLeaderboardEntry> getTrendingRestaurants(TrendingWindow window, int limit) {
+        try {
+            limit = Math.min(limit, topLimit);
+            if (limit <= 0) {
+                return new ArrayList<>();
+            }
+            return loadTop(mergeWindow(window), limit, RestaurantLeaderboardEntry::setTrendingScore);
         } catch (Exception e) {
-            logger.error("Error retrieving leaderboard: {}", e.getMessage());
+            logger.error("Error retrieving trending leaderboard: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    public Long getTrendingRank(TrendingWindow window, Long restaurantId) {
+        try {
+            return reverseRank(mergeWindow(window), restaurantId);
+        } catch (Exception e) {
+            logger.error("Error getting restaurant trending rank: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String mergeWindow(TrendingWindow window) {
+        String windowKey = leaderboardKey + ":trending:" + window.getParameter();
+        List<String> keys = new ArrayList<>();
+        keys.add(windowKey);
+        keys.addAll(bucketKeys(window, Instant.now()));
+
+        long start = System.nanoTime();
+        try {
+            redisTemplate.execute(MERGE_WINDOW_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                    keys, scriptArg(Math.max(1, trendingMergeTtl.toSeconds())));
+        } finally {
+            metrics.recordLeaderboard(ReviewPipelineMetrics.LeaderboardOperation.MERGE_WINDOW, start);
+        }
+        return windowKey;
+    }
+
+    private List<String> bucketKeys(TrendingWindow window, Instant now) {
+        List<String> keys = new ArrayList<>();
+        Instant bucket = now.truncatedTo(window.getBucketUnit());
+        for (int i = 0; i < window.getBuckets(); i++) {
+            keys.add(window.getBucketUnit() == ChronoUnit.HOURS ? hourBucketKey(bucket) : dayBucketKey(bucket));
+            bucket = bucket.minus(1, window.getBucketUnit());
+        }
+        return keys;
+    }
+
+    private String hourBucketKey(Instant hourStart) {
+        return leaderboardKey + ":trending:hour:" + HOUR_BUCKET.format(hourStart);
+    }
+
+    private String dayBucketKey(Instant dayStart) {
+        return leaderboardKey + ":trending:day:" + DAY_BUCKET.format(dayStart);
+    }
+
+    String cuisineKey(String cuisineType) {
+        String cuisine = cuisineType == null || cuisineType.isBlank()
+                ? "uncategorized"
+                : cuisineType.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", "-");
+        return leaderboardKey + ":cuisine:" + cuisine;
+    }
+
+    private Long reverseRank(String key, Long restaurantId) {
+        long start = System.nanoTime();
+        Long rank;
+        try {
+            rank = stringRedisTemplate.opsForZSet().reverseRank(key, "restaurant:" + restaurantId);
+        } finally {
+            metrics.recordLeaderboard(ReviewPipelineMetrics.LeaderboardOperation.RANK, start);
+        }
+        return rank != null ? rank + 1 : null; // Convert to 1-based ranking
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<RestaurantLeaderboardEntry> loadTop(String key, int limit,
+                                                     BiConsumer<RestaurantLeaderboardEntry, Double> scoreSetter) {
+        // One round trip: ranking and entry data come back together from the script
+        long start = System.nanoTime();
+        List<Object> reply;
+        try {
+            reply = redisTemplate.execute(TOP_SCRIPT, RedisSerializer.byteArray(),
+                    (RedisSerializer) RedisSerializer.byteArray(),
+                    Collections.singletonList(key),
+                    scriptArg(limit));
+        } finally {
+            metrics.recordLeaderboard(ReviewPipelineMetrics.LeaderboardOperation.TOP, start);
+        }
+
+        List<RestaurantLeaderboardEntry> leaderboard = toEntries(reply, scoreSetter);
+        logger.debug("Loaded {} restaurants from leaderboard", leaderboard.size());
+        return leaderboard;
+    }
+
+    // Decodes the member, score, data triples of TOP_SCRIPT. The rank is the member's position in the sorted
+    // set, so a member whose hash is missing leaves a gap instead of shifting everyone below it.
+    private List<RestaurantLeaderboardEntry> toEntries(List<Object> reply,
+                                                       BiConsumer<RestaurantLeaderboardEntry, Double> scoreSetter) {
+        List<RestaurantLeaderboardEntry> leaderboard = new ArrayList<>();
+        if (reply == null) {
+            return leaderboard;
+        }
+        for (int i = 0; i + 2 < reply.size(); i += 3) {
+            byte[] score = (byte[]) reply.get(i + 1);
+            RestaurantLeaderboardEntry entry = entryCodec.decode((byte[]) reply.get(i + 2));
+
+            if (entry != null) {
+                scoreSetter.accept(entry, Double.parseDouble(new String(score, StandardCharsets.UTF_8)));
+                entry.setRank(i / 3 + 1);
+                leaderboard.add(entry);
+            }
+        }
+        return leaderboard;
+    }
+
     public Long getRestaurantRank(Long restaurantId) {
         try {
-            String restaurantKey = "restaurant:" + restaurantId;
-            Long rank = redisTemplate.opsForZSet().reverseRank(leaderboardKey, restaurantKey);
-            return rank != null ? rank + 1 : null; // Convert to 1-based ranking
+            return nearCache.getRank(restaurantId, id -> reverseRank(leaderboardKey, id));
         } catch (Exception e) {
             logger.error("Error getting restaurant rank: {}", e.getMessage());
             return null;
         }
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Mono<List<RestaurantLeaderboardEntry>> getTopRestaurantsReactive(int limit) {
+        int boundedLimit = Math.min(limit, topLimit);
+        // A limit of 0 would make the script run ZREVRANGE 0 -1, the whole leaderboard
+        if (boundedLimit <= 0) {
+            return Mono.just(new ArrayList<>());
+        }
+
+        // Same single round trip as the blocking read, raw bytes past the template's JSON serializer
+        Flux<List<Object>> reply = (Flux) reactiveRedisTemplate.execute(TOP_SCRIPT,
+                Collections.singletonList(leaderboardKey),
+                Collections.singletonList(scriptArg(boundedLimit)),
+                RedisElementWriter.from(RedisSerializer.byteArray()),
+                (RedisElementReader) RedisElementReader.from(RedisSerializer.byteArray()));
+
+        return reply.next()
+                .map(triples -> {
+                    List<RestaurantLeaderboardEntry> leaderboard =
+                            toEntries(triples, RestaurantLeaderboardEntry::setAverageScore);
+                    logger.debug("Retrieved {} restaurants from leaderboard", leaderboard.size());
+                    return leaderboard;
+                })
+                .defaultIfEmpty(new ArrayList<>())
+                .onErrorResume(e -> {
+                    logger.error("Error retrieving leaderboard: {}", e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                });
+    }
+
+    public Mono<Long> getRestaurantRankReactive(Long restaurantId) {
+        String restaurantKey = "restaurant:" + restaurantId;
+        return reactiveStringRedisTemplate.opsForZSet().reverseRank(leaderboardKey, restaurantKey)
+                .map(rank -> rank + 1) // Convert to 1-based ranking
+                .onErrorResume(e -> {
+                    logger.error("Error getting restaurant rank: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     public void removeRestaurantFromLeaderboard(Long restaurantId) {
         try {
             String restaurantKey = "restaurant:" + restaurantId;
-            redisTemplate.opsForZSet().remove(leaderboardKey, restaurantKey);
-            redisTemplate.delete(restaurantKey);
+
+            // Global, cuisine and live trending rankings go together with the hash
+            List<String> keys = new ArrayList<>();
+            keys.add(restaurantKey);
+            keys.add(changeLogKey());
+            keys.add(leaderboardKey);
+            keys.add(reviewCountKey());
+            Instant now = Instant.now();
+            for (TrendingWindow window : TrendingWindow.values()) {
+                keys.addAll(bucketKeys(window, now));
+                keys.add(leaderboardKey + ":trending:" + window.getParameter());
+            }
+            long start = System.nanoTime();
+            try {
+                redisTemplate.execute(REMOVE_SCRIPT, RedisSerializer.byteArray(), LONG_RESULT,
+                        keys, scriptArg(restaurantKey));
+            } finally {
+                metrics.recordLeaderboard(ReviewPipelineMetrics.LeaderboardOperation.REMOVE, start);
+            }
+
+            nearCache.invalidate();
             logger.info("Removed restaurant {} from leaderboard", restaurantId);
         } catch (Exception e) {
             logger.error("Error removing restaurant from leaderboard: {}", e.getMessage());
         }
     }
 
+    // Restaurant ids by rank, for paging through the full ranking rather than the capped top-N.
+    // Errors propagate so callers can fall back to the database.
+    public List<Long> getRankedRestaurantIds(Ranking ranking, int offset, int limit) {
+        String key = ranking == Ranking.REVIEW_COUNT ? reviewCountKey() : leaderboardKey;
+        Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(key, offset, (long) offset + limit - 1);
+
+        List<Long> ids = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                ids.add(Long.parseLong(member.substring("restaurant:".length())));
+            }
+        }
+        return ids;
+    }
+
+    String getLeaderboardKey() {
+        return leaderboardKey;
+    }
+
+    String reviewCountKey() {
+        return leaderboardKey + ":review-count";
+    }
+
+    // Restaurants by the Redis time of their last leaderboard write, replayed by a rebuild before its swap
+    String changeLogKey() {
+        return leaderboardKey + ":changes";
+    }
+
+    // Queues the ranking of a restaurant in the sets of a running rebuild on an open pipeline, which must have
+    // loaded the script first (loadRebuildEntryScript). Aggregates already in Redis are kept, see the script.
+    void writeRebuildEntry(RedisConnection connection, Restaurant restaurant, String globalSetKey,
+                           String cuisineSetKey, String reviewCountSetKey, long rebuildStartMillis) {
+        byte[] restaurantKey = scriptArg("restaurant:" + restaurant.getId());
+        connection.scriptingCommands().evalSha(REBUILD_ENTRY_SCRIPT.getSha1(), ReturnType.INTEGER, 5,
+                restaurantKey, scriptArg(globalSetKey), scriptArg(cuisineSetKey), scriptArg(reviewCountSetKey),
+                scriptArg(changeLogKey()),
+                restaurantKey,
+                serializeEntry(restaurant),
+                scriptArg(restaurant.getTotalScore()),
+                scriptArg(restaurant.getReviewCount()),
+                scriptArg(cuisineKey(restaurant.getCuisineType())),
+                scriptArg(rebuildStartMillis));
+    }
+
+    void loadRebuildEntryScript(RedisConnection connection) {
+        connection.scriptingCommands().scriptLoad(scriptArg(REBUILD_ENTRY_SCRIPT.getScriptAsString()));
+    }
+
+    // Queues a restaurant's hash and its global and cuisine rankings on an open pipeline. Unlike the scripts
+    // this overwrites the Redis aggregates, the database values are taken as the truth; only the reconcile
+    // uses it, under the row locks of the restaurants it repairs.
+    void writeEntry(RedisConnection connection, Restaurant restaurant, String globalSetKey, String cuisineSetKey,
+                    String reviewCountSetKey) {
+        byte[] restaurantKey = scriptArg("restaurant:" + restaurant.getId());
+
+        Map<byte[], byte[]> fields = new HashMap<>();
+        fields.put(DATA_FIELD, serializeEntry(restaurant));
+        fields.put(scriptArg("totalScore"), scriptArg(restaurant.getTotalScore()));
+        fields.put(scriptArg("reviewCount"), scriptArg(restaurant.getReviewCount()));
+        fields.put(scriptArg("cuisineKey"), scriptArg(cuisineKey(restaurant.getCuisineType())));
+
+        connection.hashCommands().hMSet(restaurantKey, fields);
+        connection.zSetCommands().zAdd(scriptArg(globalSetKey), restaurant.getAverageScore(), restaurantKey);
+        connection.zSetCommands().zAdd(scriptArg(cuisineSetKey), restaurant.getAverageScore(), restaurantKey);
+        connection.zSetCommands().zAdd(scriptArg(reviewCountSetKey), restaurant.getReviewCount(), restaurantKey);
+    }
+
+    void invalidateNearCache() {
+        nearCache.invalidate();
+    }
+
+    private byte[] serializeEntry(Restaurant restaurant) {
+        RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry(
+                restaurant.getId(),
+                restaurant.getName(),
+                restaurant.getAverageScore(),
+                restaurant.getReviewCount(),
+                restaurant.getCuisineType()
+        );
+        return entryCodec.encode(entry);
+    }
+
+    private static byte[] scriptArg(Object value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public enum Ranking { AVERAGE_SCORE, REVIEW_COUNT }
+
+    // Rolling windows for trending leaderboards, each merged from its own time buckets
+    public enum TrendingWindow {
+        LAST_24_HOURS("24h", 24, ChronoUnit.HOURS),
+        LAST_7_DAYS("7d", 7, ChronoUnit.DAYS);
+
+        private final String parameter;
+        private final int buckets;
+        private final ChronoUnit bucketUnit;
+
+        TrendingWindow(String parameter, int buckets, ChronoUnit bucketUnit) {
+            this.parameter = parameter;
+            this.buckets = buckets;
+            this.bucketUnit = bucketUnit;
+        }
+
+        public static TrendingWindow fromParameter(String parameter) {
+            for (TrendingWindow window : values()) {
+                if (window.parameter.equalsIgnoreCase(parameter)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown trending window '" + parameter + "', use 24h or 7d");
+        }
+
+        public Duration span() { return bucketUnit.getDuration().multipliedBy(buckets); }
+
+        public String getParameter() { return parameter; }
+        public int getBuckets() { return buckets; }
+        public ChronoUnit getBucketUnit() { return bucketUnit; }
+    }
+
     // Inner class for leaderboard entries
     public static class RestaurantLeaderboardEntry {
         private Long id;
@@ -116,6 +538,7 @@ public class LeaderboardService {
         private Double averageScore;
         private Integer reviewCount;
         private String cuisineType;
+        private Double trendingScore;
         private Integer rank;
 
         public RestaurantLeaderboardEntry() {}
@@ -145,6 +568,9 @@ public class LeaderboardService {
         public String getCuisineType() { return cuisineType; }
         public void setCuisineType(String cuisineType) { this.cuisineType = cuisineType; }
 
+        public Double getTrendingScore() { return trendingScore; }
+        public void setTrendingScore(Double trendingScore) { this.trendingScore = trendingScore; }
+
         public Integer getRank() { return rank; }
         public void setRank(Integer rank) { this.rank = rank; }
     }
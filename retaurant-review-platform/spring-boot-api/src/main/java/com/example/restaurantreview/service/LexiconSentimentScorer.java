@@ -0,0 +1,273 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// In-process sentiment scoring from a word lexicon, with negation, intensifiers and "but" contrast. Used when
+// the NLP service cannot answer, and optionally as a fast path for short or clear-cut texts. One pass over the
+// characters, tokens are matched against an open-addressing table without creating a String per word.
+@Component
+public class LexiconSentimentScorer {
+
+    private static final String LEXICON_RESOURCE = "sentiment/lexicon.tsv";
+
+    private static final byte KIND_VALENCE = 0;
+    private static final byte KIND_NEGATOR = 1;
+    private static final byte KIND_INTENSIFIER = 2;
+    private static final byte KIND_CONTRAST = 3;
+
+    // Same constants as VADER: a negated word keeps about three quarters of its weight with the sign flipped,
+    // and the raw sum is squashed into (-1, 1) with x / sqrt(x^2 + 15)
+    private static final float NEGATION_SCALAR = -0.74f;
+    private static final float NORMALIZATION_ALPHA = 15f;
+    private static final int NEGATION_SCOPE = 3;
+    private static final float BEFORE_CONTRAST_WEIGHT = 0.5f;
+    private static final float AFTER_CONTRAST_WEIGHT = 1.5f;
+    private static final float EXCLAMATION_BOOST = 0.1f;
+    private static final int MAX_EXCLAMATIONS = 3;
+    private static final double NEUTRAL_THRESHOLD = 0.05;
+    // Texts with both positive and negative words never reach a fast-path confidence
+    private static final double MIXED_CONFIDENCE_CAP = 0.75;
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private static final String[] NEGATORS = {
+            "not", "no", "never", "none", "nothing", "nobody", "nowhere", "neither", "nor", "without",
+            "hardly", "barely", "cannot", "dont", "didnt", "doesnt", "isnt", "wasnt", "werent", "arent",
+            "cant", "couldnt", "wont", "wouldnt", "shouldnt", "havent", "hasnt", "hadnt", "aint"
+    };
+
+    private static final Map<String, Float> INTENSIFIERS = new LinkedHashMap<>();
+    static {
+        INTENSIFIERS.put("very", 1.3f);
+        INTENSIFIERS.put("really", 1.3f);
+        INTENSIFIERS.put("so", 1.25f);
+        INTENSIFIERS.put("too", 1.2f);
+        INTENSIFIERS.put("super", 1.4f);
+        INTENSIFIERS.put("extremely", 1.5f);
+        INTENSIFIERS.put("incredibly", 1.5f);
+        INTENSIFIERS.put("absolutely", 1.5f);
+        INTENSIFIERS.put("totally", 1.4f);
+        INTENSIFIERS.put("truly", 1.3f);
+        INTENSIFIERS.put("most", 1.3f);
+        INTENSIFIERS.put("quite", 1.1f);
+        INTENSIFIERS.put("pretty", 1.1f);
+        INTENSIFIERS.put("slightly", 0.6f);
+        INTENSIFIERS.put("somewhat", 0.7f);
+        INTENSIFIERS.put("fairly", 0.8f);
+        INTENSIFIERS.put("little", 0.7f);
+    }
+
+    private static final String[] CONTRASTS = {"but", "however", "although", "though", "yet"};
+
+    private final char[][] keys;
+    private final byte[] kinds;
+    private final float[] values;
+    private final int mask;
+
+    public LexiconSentimentScorer() {
+        Map<String, Float> valences = loadValences();
+
+        int entries = valences.size() + NEGATORS.length + INTENSIFIERS.size() + CONTRASTS.length;
+        int capacity = Integer.highestOneBit(entries * 4 - 1) << 1;
+        keys = new char[capacity][];
+        kinds = new byte[capacity];
+        values = new float[capacity];
+        mask = capacity - 1;
+
+        valences.forEach((word, valence) -> put(word, KIND_VALENCE, valence));
+        for (String negator : NEGATORS) {
+            put(negator, KIND_NEGATOR, 0f);
+        }
+        INTENSIFIERS.forEach((word, factor) -> put(word, KIND_INTENSIFIER, factor));
+        for (String contrast : CONTRASTS) {
+            put(contrast, KIND_CONTRAST, 0f);
+        }
+    }
+
+    public SentimentAnalysisResponse score(String text) {
+        char[] token = new char[MAX_TOKEN_LENGTH];
+        int length = 0;
+        boolean overlong = false;
+
+        float sum = 0f;
+        float weight = 1f;
+        float boost = 1f;
+        int negationLeft = 0;
+        int exclamations = 0;
+        boolean sawPositive = false;
+        boolean sawNegative = false;
+
+        int end = text != null ? text.length() : 0;
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? text.charAt(i) : ' ';
+            if (c == '\u2019') {
+                c = '\'';
+            }
+
+            if (Character.isLetterOrDigit(c) || (c == '\'' && length > 0)) {
+                if (length < MAX_TOKEN_LENGTH) {
+                    token[length++] = Character.toLowerCase(c);
+                } else {
+                    overlong = true;
+                }
+                continue;
+            }
+
+            if (length > 0 && !overlong) {
+                int slot = lookup(token, length);
+                if (slot < 0) {
+                    if (isContractedNegation(token, length)) {
+                        negationLeft = NEGATION_SCOPE;
+                    } else {
+                        boost = 1f;
+                        negationLeft = Math.max(0, negationLeft - 1);
+                    }
+                } else {
+                    switch (kinds[slot]) {
+                        case KIND_NEGATOR -> negationLeft = NEGATION_SCOPE;
+                        case KIND_INTENSIFIER -> boost *= values[slot];
+                        case KIND_CONTRAST -> {
+                            // What follows "but" outweighs what came before it
+                            sum *= BEFORE_CONTRAST_WEIGHT;
+                            weight = AFTER_CONTRAST_WEIGHT;
+                            boost = 1f;
+                            negationLeft = 0;
+                        }
+                        default -> {
+                            float valence = values[slot] * boost;
+                            if (negationLeft > 0) {
+                                valence *= NEGATION_SCALAR;
+                                negationLeft--;
+                            }
+                            sum += valence * weight;
+                            sawPositive |= valence > 0;
+                            sawNegative |= valence < 0;
+                            boost = 1f;
+                        }
+                    }
+                }
+            }
+            length = 0;
+            overlong = false;
+
+            // Clause punctuation ends negation and intensifier scope
+            if (c == '.' || c == ',' || c == ';' || c == ':' || c == '?' || c == '!') {
+                negationLeft = 0;
+                boost = 1f;
+                if (c == '!' && exclamations < MAX_EXCLAMATIONS) {
+                    exclamations++;
+                }
+            }
+        }
+
+        if (sum != 0f) {
+            sum *= 1f + EXCLAMATION_BOOST * exclamations;
+        }
+        double normalized = sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+        return toResponse(normalized, sawPositive && sawNegative);
+    }
+
+    // Same shape as the transformer output: the score is +confidence or -confidence, 0.0 when neutral
+    private SentimentAnalysisResponse toResponse(double normalized, boolean mixed) {
+        SentimentAnalysisResponse response = new SentimentAnalysisResponse();
+        response.setEngine(Review.SENTIMENT_ENGINE_LEXICON);
+
+        if (Math.abs(normalized) < NEUTRAL_THRESHOLD) {
+            response.setSentiment("NEUTRAL");
+            response.setConfidence(0.5);
+            response.setScore(0.0);
+            response.setIsPositive(null);
+            return response;
+        }
+
+        double confidence = 0.5 + 0.5 * Math.abs(normalized);
+        if (mixed) {
+            confidence = Math.min(confidence, MIXED_CONFIDENCE_CAP);
+        }
+        boolean positive = normalized > 0;
+        response.setSentiment(positive ? "POSITIVE" : "NEGATIVE");
+        response.setConfidence(confidence);
+        response.setScore(positive ? confidence : -confidence);
+        response.setIsPositive(positive);
+        return response;
+    }
+
+    // didn't, isn't, won't and friends, whatever verb they are attached to
+    private boolean isContractedNegation(char[] token, int length) {
+        return length > 3 && token[length - 3] == 'n' && token[length - 2] == '\'' && token[length - 1] == 't';
+    }
+
+    private int lookup(char[] token, int length) {
+        int slot = hash(token, length) & mask;
+        while (keys[slot] != null) {
+            char[] key = keys[slot];
+            if (key.length == length && matches(key, token, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static boolean matches(char[] key, char[] token, int length) {
+        for (int i = 0; i < length; i++) {
+            if (key[i] != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void put(String word, byte kind, float value) {
+        char[] key = word.toCharArray();
+        int slot = hash(key, key.length) & mask;
+        while (keys[slot] != null && !word.equals(new String(keys[slot]))) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        kinds[slot] = kind;
+        values[slot] = value;
+    }
+
+    private static Map<String, Float> loadValences() {
+        Map<String, Float> valences = new LinkedHashMap<>();
+        ClassPathResource resource = new ClassPathResource(LEXICON_RESOURCE);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    throw new IllegalStateException("Malformed lexicon line: " + line);
+                }
+                valences.put(line.substring(0, tab).toLowerCase(Locale.ROOT), Float.parseFloat(line.substring(tab + 1).trim()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read sentiment lexicon " + LEXICON_RESOURCE, e);
+        }
+        return valences;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.BatchSentimentAnalysisResponse;
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// The /batch-analyze call used by both SentimentBatcher and bulk scoring in NLPService. Results are mapped
+// back to input positions; an item the service rejected keeps its error and fails on its own.
+@Component
+public class NLPBatchClient {
+
+    // Hard limit enforced by the Python service
+    public static final int SERVICE_MAX_BATCH_SIZE = 100;
+
+    @Autowired
+    private WebClient nlpWebClient;
+
+    @Autowired
+    private ReviewPipelineMetrics metrics;
+
+    @Value("${app.nlp.resilience.not-ready-retries:1}")
+    private int notReadyRetries;
+
+    @Value("${app.nlp.resilience.not-ready-backoff:500ms}")
+    private Duration notReadyBackoff;
+
+    @Value("${app.nlp.timeout:30s}")
+    private Duration timeout;
+
+    public Mono<BatchResults> analyze(List<String> texts) {
+        if (texts.size() > SERVICE_MAX_BATCH_SIZE) {
+            return Mono.error(new IllegalArgumentException(
+                    "At most " + SERVICE_MAX_BATCH_SIZE + " texts per batch, got " + texts.size()));
+        }
+        return nlpWebClient
+                .post()
+                .uri("/batch-analyze")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("texts", texts))
+                .retrieve()
+                .onStatus(HttpStatus.SERVICE_UNAVAILABLE::equals,
+                        clientResponse -> Mono.error(new NLPService.ServiceNotReadyException("NLP model still loading")))
+                .bodyToMono(BatchSentimentAnalysisResponse.class)
+                .retryWhen(Retry.backoff(notReadyRetries, notReadyBackoff)
+                        .filter(throwable -> throwable instanceof NLPService.ServiceNotReadyException)
+                        .doBeforeRetry(signal -> metrics.recordNlpRetry()))
+                .timeout(timeout)
+                .map(response -> toResultsByIndex(response, texts.size()));
+    }
+
+    // Package-private for the response parsing benchmark and NLPBatchClientTest
+    static BatchResults toResultsByIndex(BatchSentimentAnalysisResponse response, int size) {
+        SentimentAnalysisResponse[] sentiments = new SentimentAnalysisResponse[size];
+        String[] errors = new String[size];
+        if (response.getResults() != null) {
+            for (BatchSentimentAnalysisResponse.Result result : response.getResults()) {
+                Integer index = result.getIndex();
+                if (index == null || index < 0 || index >= size) {
+                    continue;
+                }
+                if (result.getError() != null) {
+                    errors[index] = result.getError();
+                    continue;
+                }
+                SentimentAnalysisResponse sentiment = new SentimentAnalysisResponse(
+                        result.getSentiment(), result.getConfidence(), result.getScore(), result.getIsPositive());
+                sentiment.setProcessedAt(response.getProcessedAt());
+                sentiment.setEngine(Review.SENTIMENT_ENGINE_TRANSFORMER);
+                sentiments[index] = sentiment;
+            }
+        }
+        return new BatchResults(sentiments, errors);
+    }
+
+    // Results by input position: a sentiment, or null with the reason in getError
+    public static class BatchResults {
+        private final SentimentAnalysisResponse[] sentiments;
+        private final String[] errors;
+
+        public BatchResults(SentimentAnalysisResponse[] sentiments, String[] errors) {
+            this.sentiments = sentiments;
+            this.errors = errors;
+        }
+
+        public int size() { return sentiments.length; }
+        public SentimentAnalysisResponse getSentiment(int index) { return sentiments[index]; }
+        public List<SentimentAnalysisResponse> getSentiments() { return Arrays.asList(sentiments); }
+
+        public String getError(int index) {
+            if (sentiments[index] != null) {
+                return null;
+            }
+            return errors[index] != null ? errors[index] : "Missing result in NLP batch response";
+        }
+    }
+}
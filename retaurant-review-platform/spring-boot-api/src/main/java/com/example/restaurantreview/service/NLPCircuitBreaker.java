@@ -0,0 +1,112 @@
+package com.example.restaurantreview.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opens after a run of consecutive failures, short-circuits calls while open, and after the open
+// duration lets a single probe call through to decide whether to close again. Only the probe's outcome
+// moves a half-open breaker: calls admitted before it opened may still finish, and must not close it.
+public class NLPCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(NLPCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // What acquirePermit() let through; the caller hands it back with the outcome
+    public enum Permit { REJECTED, CALL, PROBE }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private final LongAdder shortCircuited = new LongAdder();
+    private volatile long openedAt;
+
+    public NLPCircuitBreaker(int failureThreshold, long openDurationNanos) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDurationNanos;
+    }
+
+    public Permit acquirePermit() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return Permit.CALL;
+        }
+
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                shortCircuited.increment();
+                return Permit.REJECTED;
+            }
+            state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        }
+
+        // HALF_OPEN: one probe call at a time
+        if (probeInFlight.compareAndSet(false, true)) {
+            return Permit.PROBE;
+        }
+        shortCircuited.increment();
+        return Permit.REJECTED;
+    }
+
+    public void onSuccess(Permit permit) {
+        if (permit != Permit.PROBE) {
+            if (state.get() == State.CLOSED) {
+                consecutiveFailures.set(0);
+            }
+            return;
+        }
+        consecutiveFailures.set(0);
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            logger.info("NLP circuit breaker closed");
+        }
+        probeInFlight.set(false);
+    }
+
+    public void onFailure(Permit permit) {
+        if (permit == Permit.PROBE) {
+            trip();
+            probeInFlight.set(false);
+            return;
+        }
+        // Late failures of calls admitted before the breaker opened are already accounted for
+        if (state.get() == State.CLOSED && consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            trip();
+        }
+    }
+
+    // The call ended without telling anything about the service (cancelled, rejected, bad input)
+    public void onIgnore(Permit permit) {
+        if (permit == Permit.PROBE) {
+            probeInFlight.set(false);
+        }
+    }
+
+    private void trip() {
+        openedAt = System.nanoTime();
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            logger.warn("NLP circuit breaker opened, short-circuiting to fallback for {} ms",
+                    openDurationNanos / 1_000_000);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.sum();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.restaurantreview.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Wraps every NLP inference call with a circuit breaker and an adaptive concurrency limit.
+// An open circuit fails with CircuitOpenException (callers fall back), a full limit fails with
+// ServiceOverloadedException (callers shed the request instead of queueing it).
+@Component
+public class NLPResilienceGuard {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.nlp.resilience.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${app.nlp.resilience.circuit.open-duration:30s}")
+    private Duration openDuration;
+
+    @Value("${app.nlp.resilience.limit.initial:20}")
+    private int initialLimit;
+
+    @Value("${app.nlp.resilience.limit.min:2}")
+    private int minLimit;
+
+    @Value("${app.nlp.resilience.limit.max:200}")
+    private int maxLimit;
+
+    @Value("${app.nlp.resilience.limit.min-rtt-window:60s}")
+    private Duration minRttWindow;
+
+    private NLPCircuitBreaker circuitBreaker;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = new NLPCircuitBreaker(failureThreshold, openDuration.toNanos());
+        limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, minRttWindow.toNanos());
+
+        Gauge.builder("nlp.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("NLP inference calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("nlp.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on in-flight NLP calls")
+                .register(meterRegistry);
+        FunctionCounter.builder("nlp.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("NLP calls shed because the concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("nlp.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the NLP circuit breaker: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            NLPCircuitBreaker.Permit permit = circuitBreaker.acquirePermit();
+            if (permit == NLPCircuitBreaker.Permit.REJECTED) {
+                return Mono.error(new NLPService.CircuitOpenException("NLP circuit breaker is open"));
+            }
+            if (!limiter.tryAcquire()) {
+                circuitBreaker.onIgnore(permit);
+                return Mono.error(new NLPService.ServiceOverloadedException(
+                        "Too many sentiment analyses in flight (limit " + limiter.getLimit() + ")"));
+            }
+
+            long start = System.nanoTime();
+            AtomicReference<Throwable> error = new AtomicReference<>();
+
+            return call
+                    .doOnError(error::set)
+                    .doFinally(signal -> release(permit, signal, error.get(), System.nanoTime() - start));
+        });
+    }
+
+    private void release(NLPCircuitBreaker.Permit permit, SignalType signal, Throwable error, long elapsedNanos) {
+        if (signal == SignalType.ON_COMPLETE) {
+            limiter.onSuccess(elapsedNanos);
+            circuitBreaker.onSuccess(permit);
+        } else if (signal == SignalType.ON_ERROR && isServiceFailure(error)) {
+            limiter.onDropped();
+            circuitBreaker.onFailure(permit);
+        } else {
+            limiter.onIgnore();
+            circuitBreaker.onIgnore(permit);
+        }
+    }
+
+    private boolean isServiceFailure(Throwable error) {
+        // A full local queue or a 4xx says nothing about the health of the service
+        if (error instanceof NLPService.ServiceOverloadedException) {
+            return false;
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+
+    public ResilienceStats getStats() {
+        return new ResilienceStats(
+                circuitBreaker.getState().name(),
+                circuitBreaker.getConsecutiveFailures(),
+                circuitBreaker.getShortCircuited(),
+                limiter.getLimit(),
+                limiter.getInFlight(),
+                limiter.getRejected(),
+                limiter.getMinRttMs()
+        );
+    }
+
+    // Inner class for resilience metrics
+    public static class ResilienceStats {
+        private final String circuitState;
+        private final int consecutiveFailures;
+        private final long shortCircuited;
+        private final int concurrencyLimit;
+        private final int inFlight;
+        private final long rejected;
+        private final double minRttMs;
+
+        public ResilienceStats(String circuitState, int consecutiveFailures, long shortCircuited,
+                               int concurrencyLimit, int inFlight, long rejected, double minRttMs) {
+            this.circuitState = circuitState;
+            this.consecutiveFailures = consecutiveFailures;
+            this.shortCircuited = shortCircuited;
+            this.concurrencyLimit = concurrencyLimit;
+            this.inFlight = inFlight;
+            this.rejected = rejected;
+            this.minRttMs = minRttMs;
+        }
+
+        // Getters
+        public String getCircuitState() { return circuitState; }
+        public int getConsecutiveFailures() { return consecutiveFailures; }
+        public long getShortCircuited() { return shortCircuited; }
+        public int getConcurrencyLimit() { return concurrencyLimit; }
+        public int getInFlight() { return inFlight; }
+        public long getRejected() { return rejected; }
+        public double getMinRttMs() { return minRttMs; }
+    }
+}
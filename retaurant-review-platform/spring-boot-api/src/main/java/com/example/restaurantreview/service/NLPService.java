@@ -1,19 +1,25 @@
 package com.example.restaurantreview.service;
 
 import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -24,42 +30,164 @@ public class NLPService {
     @Autowired
     private WebClient nlpWebClient;
 
+    @Autowired
+    private SentimentBatcher sentimentBatcher;
+
+    @Autowired
+    private NLPBatchClient batchClient;
+
+    @Autowired
+    private SentimentCache sentimentCache;
+
+    @Autowired
+    private NLPResilienceGuard resilienceGuard;
+
+    @Autowired
+    private LexiconSentimentScorer lexiconScorer;
+
+    @Autowired
+    private ReviewPipelineMetrics metrics;
+
+    @Value("${app.nlp.resilience.not-ready-retries:1}")
+    private int notReadyRetries;
+
+    @Value("${app.nlp.resilience.not-ready-backoff:500ms}")
+    private Duration notReadyBackoff;
+
+    @Value("${app.nlp.batching.enabled:true}")
+    private boolean batchingEnabled;
+
+    @Value("${app.nlp.timeout:30s}")
+    private Duration timeout;
+
+    @Value("${app.nlp.lexicon.fast-path.enabled:false}")
+    private boolean fastPathEnabled;
+
+    @Value("${app.nlp.lexicon.fast-path.max-length:40}")
+    private int fastPathMaxLength;
+
+    @Value("${app.nlp.lexicon.fast-path.min-confidence:0.9}")
+    private double fastPathMinConfidence;
+
     public SentimentAnalysisResponse analyzeSentiment(String text) {
-        try {
-            logger.info("Analyzing sentiment for text: {}", text.substring(0, Math.min(text.length(), 50)) + "...");
+        return analyzeSentimentReactive(text).block();
+    }
 
-            Map<String, String> requestBody = new HashMap<>();
-            requestBody.put("text", text);
+    // Non-blocking variant: no thread is held while the inference is in flight
+    public Mono<SentimentAnalysisResponse> analyzeSentimentReactive(String text) {
+        long start = System.nanoTime();
+        SentimentAnalysisResponse fastPath = scoreOnFastPath(text);
+        if (fastPath != null) {
+            metrics.recordSentiment(ReviewPipelineMetrics.SentimentOutcome.FAST_PATH, start);
+            return Mono.just(fastPath);
+        }
+        return sentimentCache.get(text)
+                .doOnNext(cached -> {
+                    metrics.recordSentiment(ReviewPipelineMetrics.SentimentOutcome.CACHE, start);
+                    logger.debug("Sentiment cache hit: {} (confidence: {})", cached.getSentiment(), cached.getConfidence());
+                })
+                .switchIfEmpty(Mono.defer(() -> requestSentiment(text, start)));
+    }
 
-            SentimentAnalysisResponse response = nlpWebClient
-                    .post()
-                    .uri("/analyze")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .onStatus(HttpStatus.SERVICE_UNAVAILABLE::equals,
-                            clientResponse -> {
-                                logger.warn("NLP service not ready, will retry...");
-                                return Mono.error(new ServiceNotReadyException("NLP model still loading"));
-                            })
-                    .bodyToMono(SentimentAnalysisResponse.class)
-                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(5))
-                            .filter(throwable -> throwable instanceof ServiceNotReadyException))
-                    .timeout(Duration.ofSeconds(6000)) // Increased timeout
-                    .block();
+    private Mono<SentimentAnalysisResponse> requestSentiment(String text, long start) {
+        // Only the length: review text is user content and stays out of the logs
+        logger.debug("Analyzing sentiment for a text of {} characters", text.length());
 
-            logger.info("Sentiment analysis completed: {} (confidence: {})",
-                    response.getSentiment(), response.getConfidence());
+        // Batched texts are guarded per /batch-analyze call inside the batcher
+        Mono<SentimentAnalysisResponse> request = batchingEnabled
+                ? requestBatched(text)
+                : resilienceGuard.protect(requestSingle(text));
 
-            return response;
+        return request
+                .doOnNext(response -> {
+                    response.setEngine(Review.SENTIMENT_ENGINE_TRANSFORMER);
+                    metrics.recordSentiment(ReviewPipelineMetrics.SentimentOutcome.MODEL, start);
+                    logger.debug("Sentiment analysis completed: {} (confidence: {})",
+                            response.getSentiment(), response.getConfidence());
+                })
+                // Only model output is cached, never the fallback
+                .flatMap(response -> sentimentCache.put(text, response).thenReturn(response))
+                .onErrorResume(CircuitOpenException.class, e -> {
+                    logger.debug("NLP circuit breaker open, using fallback");
+                    return Mono.fromSupplier(() ->
+                            createFallbackResponse(text, ReviewPipelineMetrics.FallbackReason.CIRCUIT_OPEN, start));
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    logger.error("HTTP error calling NLP service: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.fromSupplier(() ->
+                            createFallbackResponse(text, ReviewPipelineMetrics.FallbackReason.HTTP_ERROR, start));
+                })
+                // Shed load is reported to the caller instead of being scored as neutral
+                .onErrorResume(e -> !(e instanceof ServiceOverloadedException), e -> {
+                    logger.error("Unexpected error during sentiment analysis: {}", e.getMessage());
+                    return Mono.fromSupplier(() ->
+                            createFallbackResponse(text, ReviewPipelineMetrics.FallbackReason.ERROR, start));
+                })
+                .doOnError(ServiceOverloadedException.class,
+                        e -> metrics.recordSentiment(ReviewPipelineMetrics.SentimentOutcome.SHED, start));
+    }
 
-        } catch (WebClientResponseException e) {
-            logger.error("HTTP error calling NLP service: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return createFallbackResponse();
-        } catch (Exception e) {
-            logger.error("Unexpected error during sentiment analysis: {}", e.getMessage());
-            return createFallbackResponse();
+    // Lexicon result for texts the model adds little to: very short ones, or ones the lexicon is already sure
+    // about. Null when the fast path is off or the text needs the model.
+    public SentimentAnalysisResponse scoreOnFastPath(String text) {
+        if (!fastPathEnabled) {
+            return null;
+        }
+        SentimentAnalysisResponse lexicon = lexiconScorer.score(text);
+        if (text.length() <= fastPathMaxLength || lexicon.getConfidence() >= fastPathMinConfidence) {
+            logger.debug("Lexicon fast path: {} (confidence: {})", lexicon.getSentiment(), lexicon.getConfidence());
+            return lexicon;
+        }
+        return null;
+    }
+
+    // Bulk scoring for imports: texts go out in /batch-analyze calls of up to 100, several in flight at once.
+    // Results are in input order, null where the service rejected a text. There is no neutral fallback here,
+    // a failed call fails the whole list so the importer can stop at its last checkpoint.
+    public List<SentimentAnalysisResponse> analyzeSentimentBatch(List<String> texts, int concurrency) {
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < texts.size(); from += NLPBatchClient.SERVICE_MAX_BATCH_SIZE) {
+            batches.add(texts.subList(from, Math.min(from + NLPBatchClient.SERVICE_MAX_BATCH_SIZE, texts.size())));
         }
+
+        List<SentimentAnalysisResponse> results = new ArrayList<>(texts.size());
+        Flux.fromIterable(batches)
+                .flatMapSequential(batch -> resilienceGuard.protect(batchClient.analyze(batch)), Math.max(1, concurrency))
+                .doOnNext(batchResults -> results.addAll(batchResults.getSentiments()))
+                .blockLast();
+        return results;
+    }
+
+    private Mono<SentimentAnalysisResponse> requestSingle(String text) {
+        Map<String, String> requestBody = new HashMap<>();
+        requestBody.put("text", text);
+
+        return nlpWebClient
+                .post()
+                .uri("/analyze")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .onStatus(HttpStatus.SERVICE_UNAVAILABLE::equals,
+                        clientResponse -> {
+                            logger.warn("NLP service not ready, will retry...");
+                            return Mono.error(new ServiceNotReadyException("NLP model still loading"));
+                        })
+                .bodyToMono(SentimentAnalysisResponse.class)
+                .retryWhen(Retry.backoff(notReadyRetries, notReadyBackoff)
+                        .filter(throwable -> throwable instanceof ServiceNotReadyException)
+                        .doBeforeRetry(signal -> metrics.recordNlpRetry()))
+                .timeout(timeout);
+    }
+
+    private Mono<SentimentAnalysisResponse> requestBatched(String text) {
+        return Mono.fromFuture(() -> sentimentBatcher.submit(text))
+                .timeout(timeout);
+    }
+
+    @Scheduled(fixedDelayString = "${app.nlp.cache.version-check-interval-ms:60000}")
+    public void refreshModelVersion() {
+        isNLPServiceReady();
     }
 
     public boolean isNLPServiceReady() {
@@ -73,6 +201,13 @@ public class NLPService {
                     .block();
 
             Boolean modelReady = (Boolean) healthStatus.get("model_ready");
+
+            // Results cached for another model must not be served
+            Object modelVersion = healthStatus.get("model_version");
+            if (modelVersion != null) {
+                sentimentCache.onModelVersion(modelVersion.toString());
+            }
+
             return Boolean.TRUE.equals(modelReady);
 
         } catch (Exception e) {
@@ -98,14 +233,14 @@ public class NLPService {
         }
     }
 
-    private SentimentAnalysisResponse createFallbackResponse() {
-        logger.warn("Using fallback sentiment analysis response");
-        SentimentAnalysisResponse fallback = new SentimentAnalysisResponse();
-        fallback.setSentiment("NEUTRAL");
-        fallback.setConfidence(0.5);
-        fallback.setScore(0.0);
-        fallback.setIsPositive(null);
-        return fallback;
+    // Scored in process rather than stamped neutral, and tagged LEXICON so the re-score job revisits it
+    private SentimentAnalysisResponse createFallbackResponse(String text, ReviewPipelineMetrics.FallbackReason reason,
+                                                             long start) {
+        logger.warn("NLP service unavailable, scoring with the lexicon");
+        SentimentAnalysisResponse response = lexiconScorer.score(text);
+        metrics.recordFallback(reason);
+        metrics.recordSentiment(ReviewPipelineMetrics.SentimentOutcome.FALLBACK, start);
+        return response;
     }
 
     // Custom exception for service not ready scenarios
@@ -114,4 +249,17 @@ public class NLPService {
             super(message);
         }
     }
+
+    // Thrown when the concurrency limit is reached; callers should answer 503 instead of waiting
+    public static class ServiceOverloadedException extends RuntimeException {
+        public ServiceOverloadedException(String message) {
+            super(message);
+        }
+    }
+
+    public static class CircuitOpenException extends RuntimeException {
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.ReviewRequest;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+// Reactive write path: the inference waits without a thread, and blocking JPA work runs on the bounded
+// jpaScheduler. Transactions stay in ReviewService, which is called from that scheduler.
+@Service
+public class ReactiveReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveReviewService.class);
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private NLPService nlpService;
+
+    @Autowired
+    private ReviewPipelineMetrics metrics;
+
+    @Autowired
+    @Qualifier("jpaScheduler")
+    private Scheduler jpaScheduler;
+
+    public Mono<Review> createReview(ReviewRequest request) {
+        logger.debug("Creating new review (reactive) for restaurant ID: {}", request.getRestaurantId());
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.fromCallable(() -> restaurantRepository.existsById(request.getRestaurantId()))
+                    .subscribeOn(jpaScheduler)
+                    .flatMap(exists -> exists
+                            ? nlpService.analyzeSentimentReactive(request.getReviewText())
+                            : Mono.error(new RuntimeException("Restaurant not found with ID: " + request.getRestaurantId())))
+                    .publishOn(jpaScheduler)
+                    .map(sentimentResult -> reviewService.saveAnalyzedReview(request, sentimentResult))
+                    .doOnSuccess(review -> metrics.recordCreateReview(true, start))
+                    .doOnError(e -> metrics.recordCreateReview(false, start));
+        });
+    }
+}
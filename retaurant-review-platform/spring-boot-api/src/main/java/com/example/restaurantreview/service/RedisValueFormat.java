@@ -0,0 +1,18 @@
+package com.example.restaurantreview.service;
+
+// How objects cached in Redis are encoded. JSON is what GenericJackson2JsonRedisSerializer writes, with the
+// class name in every value; BINARY is the versioned layout of CompactBinary. Leaderboard entries are read in
+// either format, so switching only changes what is written. The sentiment cache keeps each format under its own
+// key namespace instead, so switching its format starts with a cold Redis cache.
+public enum RedisValueFormat {
+    BINARY, JSON;
+
+    public static RedisValueFormat fromParameter(String value) {
+        for (RedisValueFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown Redis value format: " + value + " (expected binary or json)");
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.restaurantreview.service;
 
 import com.example.restaurantreview.dto.RestaurantRequest;
+import com.example.restaurantreview.dto.RestaurantSummary;
 import com.example.restaurantreview.entity.Restaurant;
 import com.example.restaurantreview.repository.RestaurantRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +14,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,12 +27,17 @@ public class RestaurantService {
 
     private static final Logger logger = LoggerFactory.getLogger(RestaurantService.class);
 
+    private static final int MIN_TRIGRAM_TERM_LENGTH = 3;
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
     @Autowired
     private LeaderboardService leaderboardService;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Restaurant createRestaurant(RestaurantRequest request) {
         logger.info("Creating new restaurant: {}", request.getName());
 
@@ -55,19 +67,34 @@ public class RestaurantService {
         return restaurantRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<RestaurantSummary> getRestaurantSummary(Long id) {
+        return restaurantRepository.findSummaryById(id);
+    }
+
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
     }
 
-    public Page<Restaurant> searchRestaurants(String name, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Page<RestaurantSummary> searchRestaurants(String name, Pageable pageable) {
         if (name == null || name.trim().isEmpty()) {
-            return restaurantRepository.findAll(pageable);
+            return restaurantRepository.findAllSummaries(pageable);
         }
-        return restaurantRepository.findByNameContainingIgnoreCase(name.trim(), pageable);
+        String term = name.trim();
+        String escaped = escapeLikePattern(term);
+        // pg_trgm cannot extract a trigram from one or two characters, so short terms match as a prefix
+        String pattern = term.length() < MIN_TRIGRAM_TERM_LENGTH ? escaped + "%" : "%" + escaped + "%";
+        return restaurantRepository.searchByNamePattern(pattern, pageable);
+    }
+
+    private String escapeLikePattern(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
-    public List<Restaurant> getRestaurantsByCuisine(String cuisineType) {
-        return restaurantRepository.findByCuisineTypeIgnoreCase(cuisineType);
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> getRestaurantsByCuisine(String cuisineType) {
+        return restaurantRepository.findSummariesByCuisineType(cuisineType);
     }
 
     public Restaurant updateRestaurant(Long id, RestaurantRequest request) {
@@ -102,31 +129,91 @@ public class RestaurantService {
     }
 
     public void updateRestaurantScores(Restaurant restaurant, double newSentimentScore) {
-        logger.info("Updating scores for restaurant: {}", restaurant.getName());
+        updateRestaurantScores(restaurant, newSentimentScore, LocalDateTime.now());
+    }
 
-        // Update total score and count
-        restaurant.setTotalScore(restaurant.getTotalScore() + newSentimentScore);
-        restaurant.setReviewCount(restaurant.getReviewCount() + 1);
+    public void updateRestaurantScores(Restaurant restaurant, double newSentimentScore, LocalDateTime reviewedAt) {
+        applyScoreDelta(restaurant, newSentimentScore, 1, reviewedAt);
+    }
 
-        // Recalculate average score
-        double averageScore = restaurant.getTotalScore() / restaurant.getReviewCount();
-        restaurant.setAverageScore(averageScore);
+    public void removeReviewScore(Restaurant restaurant, double sentimentScore, LocalDateTime reviewedAt) {
+        applyScoreDelta(restaurant, -sentimentScore, -1, reviewedAt);
+    }
 
-        // Save to database
-        Restaurant updated = restaurantRepository.save(restaurant);
+    // Bulk import: one aggregate update for all reviews of a restaurant in a chunk. The trending delta lands in
+    // the bucket of the newest of those reviews.
+    public void addReviewScores(Restaurant restaurant, double scoreSum, int reviewCount, LocalDateTime latestReviewedAt) {
+        applyScoreDelta(restaurant, scoreSum, reviewCount, latestReviewedAt);
+    }
 
-        // Update leaderboard (cache-first strategy)
-        leaderboardService.updateRestaurantScore(updated);
+    // A review scored again: the count stays, the total moves by the difference
+    public void adjustReviewScore(Restaurant restaurant, double scoreDelta, LocalDateTime reviewedAt) {
+        applyScoreDelta(restaurant, scoreDelta, 0, reviewedAt);
+    }
+
+    private void applyScoreDelta(Restaurant restaurant, double scoreDelta, int countDelta, LocalDateTime reviewedAt) {
+        logger.debug("Updating scores for restaurant: {}", restaurant.getName());
+
+        // Increment in the database instead of read-modify-write on the entity, so concurrent
+        // reviews of the same restaurant are never lost
+        int updated = restaurantRepository.applyScoreDelta(restaurant.getId(), scoreDelta, countDelta, LocalDateTime.now());
+        if (updated == 0) {
+            throw new RuntimeException("Restaurant not found with ID: " + restaurant.getId());
+        }
+
+        // Reload the aggregates the update just wrote (the entity in hand is stale)
+        if (entityManager.contains(restaurant)) {
+            entityManager.refresh(restaurant);
+        } else {
+            restaurant = restaurantRepository.findById(restaurant.getId()).orElse(restaurant);
+        }
 
-        logger.info("Updated restaurant {} - Average Score: {}, Review Count: {}",
-                restaurant.getName(), averageScore, restaurant.getReviewCount());
+        // Apply the same delta atomically in Redis (cache-first strategy)
+        leaderboardService.applyScoreDelta(restaurant, scoreDelta, countDelta, reviewedAt);
+
+        logger.debug("Updated restaurant {} - Average Score: {}, Review Count: {}",
+                restaurant.getName(), restaurant.getAverageScore(), restaurant.getReviewCount());
+    }
+
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> getTopRatedRestaurants(int offset, int limit) {
+        return getRankedRestaurants(LeaderboardService.Ranking.AVERAGE_SCORE, offset, limit,
+                RestaurantRepository.SUMMARY_SELECT + "ORDER BY r.averageScore DESC, r.id DESC");
     }
 
-    public List<Restaurant> getTopRatedRestaurants() {
-        return restaurantRepository.findAllOrderByAverageScoreDesc();
+    @Transactional(readOnly = true)
+    public List<RestaurantSummary> getMostReviewedRestaurants(int offset, int limit) {
+        return getRankedRestaurants(LeaderboardService.Ranking.REVIEW_COUNT, offset, limit,
+                RestaurantRepository.SUMMARY_SELECT + "ORDER BY r.reviewCount DESC, r.id DESC");
     }
 
-    public List<Restaurant> getMostReviewedRestaurants() {
-        return restaurantRepository.findAllOrderByReviewCountDesc();
+    private List<RestaurantSummary> getRankedRestaurants(LeaderboardService.Ranking ranking, int offset, int limit,
+                                                         String fallbackQuery) {
+        try {
+            // Ranking from the sorted set, rows by primary key
+            List<Long> ids = leaderboardService.getRankedRestaurantIds(ranking, offset, limit);
+            if (!ids.isEmpty() || offset > 0) {
+                Map<Long, RestaurantSummary> byId = new HashMap<>();
+                restaurantRepository.findSummariesByIdIn(ids).forEach(restaurant -> byId.put(restaurant.getId(), restaurant));
+
+                List<RestaurantSummary> restaurants = new ArrayList<>(ids.size());
+                for (Long id : ids) {
+                    RestaurantSummary restaurant = byId.get(id);
+                    if (restaurant != null) {
+                        restaurants.add(restaurant);
+                    }
+                }
+                return restaurants;
+            }
+            // An empty first page may just mean the sorted set has not been built yet
+        } catch (Exception e) {
+            logger.warn("Ranking unavailable from Redis, falling back to the database: {}", e.getMessage());
+        }
+
+        // Bounded query served by the ranking indexes
+        return entityManager.createQuery(fallbackQuery, RestaurantSummary.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
     }
 }
@@ -0,0 +1,113 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.ReviewExportRow;
+import com.example.restaurantreview.entity.Review;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Writes reviews as NDJSON straight from a server-side cursor. Memory stays flat: rows arrive fetch-size at a
+// time, each is written and dropped, and the persistence context is cleared after every fetch-size rows.
+@Service
+public class ReviewExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewExportService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public long exportReviews(Long restaurantId, String sentiment, LocalDateTime from, LocalDateTime to,
+                              OutputStream output) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        // Only the filters that are set end up in the query, so each shape can use its index
+        StringBuilder jpql = new StringBuilder("SELECT r FROM Review r WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (restaurantId != null) {
+            jpql.append(" AND r.restaurant.id = :restaurantId");
+            parameters.put("restaurantId", restaurantId);
+        }
+        if (sentiment != null && !sentiment.isBlank()) {
+            jpql.append(" AND r.sentimentLabel = :sentiment");
+            parameters.put("sentiment", sentiment.toUpperCase());
+        }
+        if (from != null) {
+            jpql.append(" AND r.createdAt >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND r.createdAt < :to");
+            parameters.put("to", to);
+        }
+        jpql.append(" ORDER BY r.createdAt, r.id");
+
+        long start = System.nanoTime();
+
+        // Postgres only streams with a cursor inside a transaction, otherwise the driver reads the whole result
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Long exported = readOnly.execute(status -> {
+            TypedQuery<Review> query = entityManager.createQuery(jpql.toString(), Review.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true);
+            parameters.forEach(query::setParameter);
+
+            long rows = 0;
+            try (Stream<Review> stream = query.getResultStream();
+                 SequenceWriter writer = objectMapper.writerFor(ReviewExportRow.class)
+                         .withRootValueSeparator("\n")
+                         .writeValues(output)) {
+                Iterator<Review> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(new ReviewExportRow(iterator.next()));
+                    if (++rows % fetchSize == 0) {
+                        // Push what is written so far to the client and let the streamed entities go
+                        writer.flush();
+                        entityManager.clear();
+                    }
+                }
+                if (rows > 0) {
+                    // Trailing newline, so every line of the file is a complete record
+                    writer.flush();
+                    output.write('\n');
+                }
+            } catch (IOException e) {
+                // Usually the client went away mid-download
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        });
+
+        logger.info("Exported {} reviews in {} ms", exported, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.ReviewImportJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+// Command mode: java -jar app.jar --app.import.file=reviews.ndjson[.gz] [--app.import.format=csv]
+// [--app.import.resume-job-id=3] imports the file and exits with 0 when the job completed, 1 otherwise
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+public class ReviewImportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewImportRunner.class);
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${app.import.file}")
+    private String file;
+
+    @Value("${app.import.format:ndjson}")
+    private String format;
+
+    @Value("${app.import.resume-job-id:#{null}}")
+    private Long resumeJobId;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path path = Path.of(file);
+        ReviewImportJob job;
+
+        try (InputStream input = open(path)) {
+            job = reviewImportService.importReviews(input, ReviewImportService.Format.fromParameter(format),
+                    path.getFileName().toString(), resumeJobId);
+        }
+
+        logger.info("Import of {} finished as job {} with status {}: {} records read, {} imported, {} failed",
+                path, job.getId(), job.getStatus(), job.getRecordsRead(), job.getImportedCount(), job.getFailedCount());
+
+        int exitCode = ReviewImportJob.STATUS_COMPLETED.equals(job.getStatus()) ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private InputStream open(Path path) throws Exception {
+        InputStream input = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+        return path.toString().endsWith(".gz") ? new GZIPInputStream(input, 1 << 16) : input;
+    }
+}
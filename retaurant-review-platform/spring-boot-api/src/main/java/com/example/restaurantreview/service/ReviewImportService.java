@@ -0,0 +1,448 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.ReviewImportRecord;
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.entity.ReviewImportJob;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import com.example.restaurantreview.repository.ReviewImportJobRepository;
+import com.example.restaurantreview.repository.ReviewRepository;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Streams NDJSON or CSV review dumps in chunks. Per chunk: one round of /batch-analyze calls outside any
+// transaction, then a single transaction with JDBC-batched inserts, one aggregate update per restaurant and
+// the job checkpoint, so a failed import resumes after the last committed chunk. Malformed records are
+// counted as failed and skipped, they never stop a job.
+@Service
+public class ReviewImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewImportService.class);
+
+    private static final int MAX_REVIEW_TEXT_LENGTH = 2000;
+    private static final int MAX_REVIEWER_NAME_LENGTH = 100;
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format fromParameter(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown import format: " + value + " (expected ndjson or csv)");
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewImportJobRepository jobRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewStatisticsService statisticsService;
+
+    @Autowired
+    private NLPService nlpService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.import.nlp-concurrency:4}")
+    private int nlpConcurrency;
+
+    // Jobs running on this node
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public Optional<ReviewImportJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    // With resumeJobId the same input must be sent again: records up to the checkpoint are parsed and skipped
+    public ReviewImportJob importReviews(InputStream input, Format format, String source, Long resumeJobId) {
+        ReviewImportJob job = openJob(format, source, resumeJobId);
+        try {
+            return runImport(job, input, format);
+        } finally {
+            activeJobs.remove(job.getId());
+        }
+    }
+
+    private ReviewImportJob openJob(Format format, String source, Long resumeJobId) {
+        if (resumeJobId == null) {
+            ReviewImportJob job = jobRepository.save(new ReviewImportJob(source, format.name()));
+            activeJobs.add(job.getId());
+            return job;
+        }
+        // Two runs of one job would both advance its checkpoint
+        if (!activeJobs.add(resumeJobId)) {
+            throw new IllegalStateException("Import job " + resumeJobId + " is still running");
+        }
+        try {
+            return resumeJob(resumeJobId, format);
+        } catch (RuntimeException e) {
+            activeJobs.remove(resumeJobId);
+            throw e;
+        }
+    }
+
+    private ReviewImportJob runImport(ReviewImportJob job, InputStream input, Format format) {
+        Long jobId = job.getId();
+        long checkpoint = job.getRecordsRead();
+
+        logger.info("Starting review import job {} ({}, {}), resuming after record {}",
+                jobId, format, job.getSource(), checkpoint);
+
+        long start = System.nanoTime();
+        long importedAtStart = job.getImportedCount();
+
+        try (RecordReader records = openReader(format, input)) {
+            List<ReviewImportRecord> chunk = new ArrayList<>(chunkSize);
+            String chunkError = null;
+            long position = 0;
+
+            while (records.hasNext()) {
+                ReviewImportRecord record = records.next();
+                if (position++ < checkpoint) {
+                    continue;
+                }
+                // A malformed record stays in the chunk as null, so it is counted as read and failed
+                if (record == null) {
+                    chunkError = records.getError();
+                    logger.warn("Import job {}: skipping malformed record, {}", jobId, chunkError);
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    job = importChunk(jobId, chunk, chunkError);
+                    logProgress(job, importedAtStart, start);
+                    chunk.clear();
+                    chunkError = null;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                job = importChunk(jobId, chunk, chunkError);
+                logProgress(job, importedAtStart, start);
+            }
+
+            job = finishJob(jobId, ReviewImportJob.STATUS_COMPLETED, job.getLastError());
+            logger.info("Review import job {} completed: {} imported, {} failed",
+                    jobId, job.getImportedCount(), job.getFailedCount());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Review import job {} failed, resumable from record {}: {}",
+                    jobId, job.getRecordsRead(), e.getMessage());
+            job = finishJob(jobId, ReviewImportJob.STATUS_FAILED, e.getMessage());
+        }
+        return job;
+    }
+
+    private RecordReader openReader(Format format, InputStream input) throws IOException {
+        if (format == Format.CSV) {
+            return new CsvRecordReader(csvMapper.readerFor(ReviewImportRecord.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input));
+        }
+        return new NdjsonRecordReader(input, objectMapper.readerFor(ReviewImportRecord.class)
+                .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS));
+    }
+
+    private ReviewImportJob resumeJob(Long jobId, Format format) {
+        ReviewImportJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found with ID: " + jobId));
+        if (ReviewImportJob.STATUS_COMPLETED.equals(job.getStatus())) {
+            throw new IllegalStateException("Import job " + jobId + " has already completed");
+        }
+        if (!format.name().equals(job.getFormat())) {
+            throw new IllegalArgumentException("Import job " + jobId + " was started with format " + job.getFormat());
+        }
+        job.setStatus(ReviewImportJob.STATUS_RUNNING);
+        job.setLastError(null);
+        return jobRepository.save(job);
+    }
+
+    private ReviewImportJob importChunk(Long jobId, List<ReviewImportRecord> chunk, String chunkError) {
+        // Records that can never be stored are rejected before they cost an inference
+        List<ReviewImportRecord> candidates = new ArrayList<>(chunk.size());
+        for (ReviewImportRecord record : chunk) {
+            if (isValid(record)) {
+                candidates.add(record);
+            }
+        }
+
+        List<SentimentAnalysisResponse> sentiments = scoreCandidates(candidates);
+
+        return transactionTemplate.execute(status -> {
+            Set<Long> restaurantIds = new HashSet<>();
+            candidates.forEach(record -> restaurantIds.add(record.getRestaurantId()));
+            Map<Long, Restaurant> restaurants = new HashMap<>();
+            restaurantRepository.findAllById(restaurantIds).forEach(restaurant -> restaurants.put(restaurant.getId(), restaurant));
+
+            List<Review> reviews = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                ReviewImportRecord record = candidates.get(i);
+                Restaurant restaurant = restaurants.get(record.getRestaurantId());
+                SentimentAnalysisResponse sentiment = sentiments.get(i);
+                if (restaurant == null || sentiment == null || sentiment.getScore() == null) {
+                    continue;
+                }
+                Review review = new Review(restaurant, record.getReviewText(), record.getReviewerName());
+                review.setCreatedAt(record.getCreatedAt());
+                reviewService.applySentimentResult(review, sentiment);
+                reviews.add(review);
+            }
+
+            // Sequence ids, so these go out as JDBC batches
+            reviewRepository.saveAll(reviews);
+
+            applyAggregateDeltas(reviews);
+            statisticsService.recordAnalyzedReviews(reviews);
+
+            ReviewImportJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found with ID: " + jobId));
+            job.setRecordsRead(job.getRecordsRead() + chunk.size());
+            job.setImportedCount(job.getImportedCount() + reviews.size());
+            job.setFailedCount(job.getFailedCount() + chunk.size() - reviews.size());
+            if (chunkError != null) {
+                job.setLastError(truncateError(chunkError));
+            }
+            jobRepository.save(job);
+
+            // The persistence context would otherwise hold every imported review until the request ends
+            entityManager.flush();
+            entityManager.clear();
+            return job;
+        });
+    }
+
+    // Texts the lexicon fast path accepts are scored in process, only the rest go to /batch-analyze
+    private List<SentimentAnalysisResponse> scoreCandidates(List<ReviewImportRecord> candidates) {
+        SentimentAnalysisResponse[] sentiments = new SentimentAnalysisResponse[candidates.size()];
+        List<Integer> modelIndexes = new ArrayList<>();
+        List<String> modelTexts = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            String text = candidates.get(i).getReviewText();
+            SentimentAnalysisResponse fastPath = nlpService.scoreOnFastPath(text);
+            if (fastPath != null) {
+                sentiments[i] = fastPath;
+            } else {
+                modelIndexes.add(i);
+                modelTexts.add(text);
+            }
+        }
+
+        if (!modelTexts.isEmpty()) {
+            List<SentimentAnalysisResponse> scored = nlpService.analyzeSentimentBatch(modelTexts, nlpConcurrency);
+            for (int i = 0; i < modelIndexes.size(); i++) {
+                sentiments[modelIndexes.get(i)] = scored.get(i);
+            }
+        }
+        return Arrays.asList(sentiments);
+    }
+
+    private boolean isValid(ReviewImportRecord record) {
+        if (record == null) {
+            return false;
+        }
+        String text = record.getReviewText();
+        String reviewerName = record.getReviewerName();
+        return record.getRestaurantId() != null
+                && text != null && !text.isBlank() && text.length() <= MAX_REVIEW_TEXT_LENGTH
+                && (reviewerName == null || reviewerName.length() <= MAX_REVIEWER_NAME_LENGTH);
+    }
+
+    private void applyAggregateDeltas(List<Review> reviews) {
+        Map<Long, List<Review>> byRestaurant = new HashMap<>();
+        for (Review review : reviews) {
+            byRestaurant.computeIfAbsent(review.getRestaurant().getId(), id -> new ArrayList<>()).add(review);
+        }
+
+        for (List<Review> restaurantReviews : byRestaurant.values()) {
+            double scoreSum = 0.0;
+            LocalDateTime latest = null;
+            for (Review review : restaurantReviews) {
+                scoreSum += review.getSentimentScore();
+                if (latest == null || review.getCreatedAt().isAfter(latest)) {
+                    latest = review.getCreatedAt();
+                }
+            }
+            restaurantService.addReviewScores(restaurantReviews.get(0).getRestaurant(), scoreSum,
+                    restaurantReviews.size(), latest);
+        }
+    }
+
+    private ReviewImportJob finishJob(Long jobId, String status, String error) {
+        return transactionTemplate.execute(transactionStatus -> {
+            ReviewImportJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Import job not found with ID: " + jobId));
+            job.setStatus(status);
+            job.setLastError(truncateError(error));
+            if (ReviewImportJob.STATUS_COMPLETED.equals(status)) {
+                job.setCompletedAt(LocalDateTime.now());
+            }
+            return jobRepository.save(job);
+        });
+    }
+
+    private static String truncateError(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private void logProgress(ReviewImportJob job, long importedAtStart, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        logger.info("Import job {}: {} records read, {} imported, {} failed ({} reviews/s)",
+                job.getId(), job.getRecordsRead(), job.getImportedCount(), job.getFailedCount(),
+                Math.round((job.getImportedCount() - importedAtStart) / Math.max(seconds, 0.001)));
+    }
+
+    // Records one at a time. A record that cannot be read comes back as null with getError() saying where
+    // and why, so one bad line costs one failed record instead of the whole job.
+    private interface RecordReader extends Closeable {
+        boolean hasNext() throws IOException;
+
+        ReviewImportRecord next() throws IOException;
+
+        String getError();
+    }
+
+    // One JSON value per line, each parsed on its own, so a syntax error cannot spill into the next record
+    private static class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private final ObjectReader recordReader;
+        private long lineNumber;
+        private String line;
+        private String error;
+
+        NdjsonRecordReader(InputStream input, ObjectReader recordReader) {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+            this.recordReader = recordReader;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            while (line == null) {
+                String next = reader.readLine();
+                if (next == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (!next.isBlank()) {
+                    line = next;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ReviewImportRecord next() throws IOException {
+            String current = line;
+            line = null;
+            try {
+                return recordReader.readValue(current);
+            } catch (JsonProcessingException e) {
+                error = "line " + lineNumber + ": " + e.getOriginalMessage();
+                return null;
+            }
+        }
+
+        @Override
+        public String getError() { return error; }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // Rows that do not map (a bad number or date, too many columns) are skipped; MappingIterator resumes at
+    // the next row
+    private static class CsvRecordReader implements RecordReader {
+        private final MappingIterator<ReviewImportRecord> records;
+        private String error;
+
+        CsvRecordReader(MappingIterator<ReviewImportRecord> records) {
+            this.records = records;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return records.hasNextValue();
+        }
+
+        @Override
+        public ReviewImportRecord next() throws IOException {
+            try {
+                return records.nextValue();
+            } catch (JsonMappingException e) {
+                JsonLocation location = e.getLocation();
+                error = (location != null ? "line " + location.getLineNr() : "unknown line") + ": " + e.getOriginalMessage();
+                return null;
+            }
+        }
+
+        @Override
+        public String getError() { return error; }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+        }
+    }
+}
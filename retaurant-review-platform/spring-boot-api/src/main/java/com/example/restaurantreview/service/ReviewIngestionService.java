@@ -0,0 +1,266 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.ReviewRequest;
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.entity.ReviewIngestionTask;
+import com.example.restaurantreview.repository.ReviewIngestionTaskRepository;
+import com.example.restaurantreview.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+// Reviews are stored with a PENDING sentiment plus an outbox task; scoring and the restaurant/leaderboard
+// updates run later on a bounded worker pool. Transactions are opened explicitly so that no connection
+// is held while the NLP call is in flight.
+@Service
+public class ReviewIngestionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewIngestionService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewIngestionTaskRepository taskRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewStatisticsService statisticsService;
+
+    @Autowired
+    private NLPService nlpService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("reviewIngestionExecutor")
+    private ThreadPoolTaskExecutor ingestionExecutor;
+
+    @Value("${app.ingestion.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.ingestion.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    @Value("${app.ingestion.stale-after:5m}")
+    private Duration staleAfter;
+
+    @Value("${app.ingestion.poll-batch-size:100}")
+    private int pollBatchSize;
+
+    // Task ids queued or running on this node, so the poller does not enqueue them twice
+    private final Set<Long> dispatchedTasks = ConcurrentHashMap.newKeySet();
+
+    public ReviewIngestionTask submitReview(ReviewRequest request) {
+        logger.info("Accepting review for asynchronous ingestion, restaurant ID: {}", request.getRestaurantId());
+
+        ReviewIngestionTask task = transactionTemplate.execute(status -> {
+            Restaurant restaurant = restaurantService.getRestaurantById(request.getRestaurantId())
+                    .orElseThrow(() -> new RuntimeException("Restaurant not found with ID: " + request.getRestaurantId()));
+
+            Review review = new Review(restaurant, request.getReviewText(), request.getReviewerName());
+            review.setSentimentStatus(Review.SENTIMENT_STATUS_PENDING);
+            Review savedReview = reviewRepository.save(review);
+
+            return taskRepository.save(new ReviewIngestionTask(savedReview.getId()));
+        });
+
+        // The task is committed at this point, so a worker can always see it
+        dispatch(task.getId());
+        return task;
+    }
+
+    public Optional<IngestionStatus> getIngestionStatus(Long reviewId) {
+        return reviewRepository.findById(reviewId).map(review -> {
+            ReviewIngestionTask task = taskRepository.findByReviewId(reviewId).orElse(null);
+            return new IngestionStatus(
+                    review.getId(),
+                    review.getSentimentStatus() != null ? review.getSentimentStatus() : Review.SENTIMENT_STATUS_COMPLETED,
+                    review.getSentimentLabel(),
+                    review.getSentimentScore(),
+                    task != null ? task.getAttempts() : null,
+                    task != null ? task.getLastError() : null
+            );
+        });
+    }
+
+    public void processTask(Long taskId) {
+        try {
+            int claimed = taskRepository.claim(taskId, LocalDateTime.now());
+            if (claimed == 0) {
+                logger.debug("Ingestion task {} already claimed, skipping", taskId);
+                return;
+            }
+
+            ReviewIngestionTask task = taskRepository.findById(taskId).orElse(null);
+            Review review = task != null ? reviewRepository.findById(task.getReviewId()).orElse(null) : null;
+            if (review == null) {
+                // Review deleted while it was waiting for its sentiment
+                transactionTemplate.executeWithoutResult(status -> markCompleted(taskId, null));
+                return;
+            }
+
+            // The claim is identified by its attempt number: a worker whose task went stale and was claimed
+            // again must not complete or fail the newer attempt
+            int attempt = task.getAttempts();
+            try {
+                // No transaction is open here: the inference can take seconds
+                SentimentAnalysisResponse sentimentResult = nlpService.analyzeSentiment(review.getReviewText());
+                transactionTemplate.executeWithoutResult(status -> applySentiment(taskId, attempt, review.getId(), sentimentResult));
+            } catch (RuntimeException e) {
+                logger.warn("Ingestion task {} for review {} failed: {}", taskId, review.getId(), e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> recordFailure(taskId, attempt, review.getId(), e));
+            }
+        } finally {
+            dispatchedTasks.remove(taskId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ingestion.poll-interval-ms:10000}",
+               initialDelayString = "${app.ingestion.poll-initial-delay-ms:10000}")
+    public void recoverPendingTasks() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            int released = taskRepository.releaseStaleTasks(now.minus(staleAfter), now);
+            if (released > 0) {
+                logger.warn("Released {} stale ingestion tasks back to PENDING", released);
+            }
+
+            List<Long> dueTaskIds = taskRepository.findDueTaskIds(now, PageRequest.of(0, pollBatchSize));
+            for (Long taskId : dueTaskIds) {
+                dispatch(taskId);
+            }
+        } catch (Exception e) {
+            logger.error("Error polling pending ingestion tasks: {}", e.getMessage());
+        }
+    }
+
+    private void dispatch(Long taskId) {
+        if (!dispatchedTasks.add(taskId)) {
+            return;
+        }
+        try {
+            ingestionExecutor.execute(() -> processTask(taskId));
+        } catch (RejectedExecutionException e) {
+            dispatchedTasks.remove(taskId);
+            logger.warn("Ingestion queue is full, task {} left for the recovery poller", taskId);
+        }
+    }
+
+    private void applySentiment(Long taskId, int attempt, Long reviewId, SentimentAnalysisResponse sentimentResult) {
+        if (currentClaim(taskId, attempt).isEmpty()) {
+            return;
+        }
+
+        // Locked so a concurrent delete or re-score cannot change the review between the check and the update
+        Review review = reviewRepository.findByIdForUpdate(reviewId).orElse(null);
+        if (review != null && Review.SENTIMENT_STATUS_PENDING.equals(review.getSentimentStatus())) {
+            reviewService.applySentimentResult(review, sentimentResult);
+            reviewRepository.save(review);
+
+            // Update restaurant scores (this will also update the leaderboard)
+            restaurantService.updateRestaurantScores(review.getRestaurant(), sentimentResult.getScore(), review.getCreatedAt());
+            statisticsService.recordAnalyzedReview(review);
+
+            logger.info("Ingested review {} - Sentiment: {} ({})",
+                    reviewId, sentimentResult.getSentiment(), sentimentResult.getScore());
+        }
+        markCompleted(taskId, attempt);
+    }
+
+    // attempt is null when no claim needs checking (the review is already gone)
+    private void markCompleted(Long taskId, Integer attempt) {
+        Optional<ReviewIngestionTask> task = attempt != null
+                ? currentClaim(taskId, attempt)
+                : taskRepository.findByIdForUpdate(taskId);
+        task.ifPresent(t -> {
+            t.setStatus(ReviewIngestionTask.STATUS_COMPLETED);
+            t.setLastError(null);
+            taskRepository.save(t);
+        });
+    }
+
+    private void recordFailure(Long taskId, int attempt, Long reviewId, RuntimeException error) {
+        currentClaim(taskId, attempt).ifPresent(task -> {
+            String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+            task.setLastError(message.substring(0, Math.min(message.length(), 500)));
+
+            if (task.getAttempts() >= maxAttempts) {
+                task.setStatus(ReviewIngestionTask.STATUS_FAILED);
+                reviewRepository.findByIdForUpdate(reviewId).ifPresent(review -> {
+                    review.setSentimentStatus(Review.SENTIMENT_STATUS_FAILED);
+                    reviewRepository.save(review);
+                });
+                logger.error("Ingestion task {} for review {} failed permanently after {} attempts",
+                        taskId, reviewId, task.getAttempts());
+            } else {
+                task.setStatus(ReviewIngestionTask.STATUS_PENDING);
+                task.setNextAttemptAt(LocalDateTime.now().plus(retryBackoff.multipliedBy(task.getAttempts())));
+            }
+            taskRepository.save(task);
+        });
+    }
+
+    // The task row, locked, if this worker's claim is still the current one
+    private Optional<ReviewIngestionTask> currentClaim(Long taskId, int attempt) {
+        Optional<ReviewIngestionTask> task = taskRepository.findByIdForUpdate(taskId)
+                .filter(t -> ReviewIngestionTask.STATUS_PROCESSING.equals(t.getStatus()) && t.getAttempts() == attempt);
+        if (task.isEmpty()) {
+            logger.warn("Ingestion task {} was released and claimed again, dropping the result of attempt {}",
+                    taskId, attempt);
+        }
+        return task;
+    }
+
+    // Inner class for ingestion status responses
+    public static class IngestionStatus {
+        private final Long reviewId;
+        private final String status;
+        private final String sentiment;
+        private final Double sentimentScore;
+        private final Integer attempts;
+        private final String lastError;
+
+        public IngestionStatus(Long reviewId, String status, String sentiment, Double sentimentScore,
+                               Integer attempts, String lastError) {
+            this.reviewId = reviewId;
+            this.status = status;
+            this.sentiment = sentiment;
+            this.sentimentScore = sentimentScore;
+            this.attempts = attempts;
+            this.lastError = lastError;
+        }
+
+        // Getters
+        public Long getReviewId() { return reviewId; }
+        public String getStatus() { return status; }
+        public String getSentiment() { return sentiment; }
+        public Double getSentimentScore() { return sentimentScore; }
+        public Integer getAttempts() { return attempts; }
+        public String getLastError() { return lastError; }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.CursorPage;
+import com.example.restaurantreview.dto.ReviewView;
+import com.example.restaurantreview.repository.ReviewRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Ranked full-text search over review text, backed by the generated search_vector column and its GIN index.
+// Pages are keyset on (rank, id), so a deep page costs the same as the first one.
+@Service
+public class ReviewSearchService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewView> searchReviews(String text, Long restaurantId, String sentiment, String cursor, int size) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+
+        // websearch_to_tsquery accepts what users type: quoted phrases, OR, -excluded words
+        StringBuilder sql = new StringBuilder(
+                "SELECT r.id, ts_rank(r.search_vector, q.query) AS rank " +
+                "FROM reviews r, websearch_to_tsquery('english', :text) AS q(query) " +
+                "WHERE r.search_vector @@ q.query");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text.trim());
+
+        // Only the filters that are set end up in the statement
+        if (restaurantId != null) {
+            sql.append(" AND r.restaurant_id = :restaurantId");
+            parameters.put("restaurantId", restaurantId);
+        }
+        if (sentiment != null && !sentiment.isBlank()) {
+            sql.append(" AND r.sentiment_label = :sentiment");
+            parameters.put("sentiment", sentiment.toUpperCase());
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            SearchPosition position = decodeCursor(cursor);
+            sql.append(" AND (ts_rank(r.search_vector, q.query), r.id) < (CAST(:afterRank AS real), :afterId)");
+            parameters.put("afterRank", position.rank);
+            parameters.put("afterId", position.id);
+        }
+        // One extra row tells whether another page exists
+        sql.append(" ORDER BY rank DESC, r.id DESC LIMIT :limit");
+        parameters.put("limit", size + 1);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        parameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> hits = query.getResultList();
+
+        boolean hasMore = hits.size() > size;
+        if (hasMore) {
+            hits = hits.subList(0, size);
+        }
+
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (Object[] hit : hits) {
+            ids.add(((Number) hit[0]).longValue());
+        }
+
+        // Rows by primary key with their restaurant names, returned in rank order
+        Map<Long, ReviewView> byId = new HashMap<>();
+        reviewRepository.findViewsByIdIn(ids).forEach(review -> byId.put(review.getId(), review));
+        List<ReviewView> reviews = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ReviewView review = byId.get(id);
+            if (review != null) {
+                reviews.add(review);
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Object[] last = hits.get(hits.size() - 1);
+            nextCursor = encodeCursor(((Number) last[1]).floatValue(), ((Number) last[0]).longValue());
+        }
+        return new CursorPage<>(reviews, nextCursor, hasMore);
+    }
+
+    private String encodeCursor(float rank, long id) {
+        // Float.toString round-trips exactly, so the boundary row compares equal on the next page
+        String position = rank + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SearchPosition decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new SearchPosition(
+                    Float.parseFloat(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+    private static class SearchPosition {
+        private final float rank;
+        private final long id;
+
+        SearchPosition(float rank, long id) {
+            this.rank = rank;
+            this.id = id;
+        }
+    }
+}
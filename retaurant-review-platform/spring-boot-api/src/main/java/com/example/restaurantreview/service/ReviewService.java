@@ -1,19 +1,29 @@
 package com.example.restaurantreview.service;
 
+import com.example.restaurantreview.dto.CursorPage;
 import com.example.restaurantreview.dto.ReviewRequest;
+import com.example.restaurantreview.dto.ReviewView;
 import com.example.restaurantreview.dto.SentimentAnalysisResponse;
 import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.RestaurantReviewStats;
 import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.repository.ReviewIngestionTaskRepository;
 import com.example.restaurantreview.repository.ReviewRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,97 +36,183 @@ public class ReviewService {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ReviewIngestionTaskRepository ingestionTaskRepository;
+
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private ReviewStatisticsService statisticsService;
+
     @Autowired
     private NLPService nlpService;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReviewPipelineMetrics metrics;
+
+    // No transaction around the NLP call: only the short write at the end takes a connection and row locks
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Review createReview(ReviewRequest request) {
-        logger.info("Creating new review for restaurant ID: {}", request.getRestaurantId());
+        logger.debug("Creating new review for restaurant ID: {}", request.getRestaurantId());
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            // Validate restaurant existence
+            if (restaurantService.getRestaurantById(request.getRestaurantId()).isEmpty()) {
+                throw new RuntimeException("Restaurant not found with ID: " + request.getRestaurantId());
+            }
+
+            // Perform sentiment analysis
+            SentimentAnalysisResponse sentimentResult = nlpService.analyzeSentiment(request.getReviewText());
+
+            Review review = transactionTemplate.execute(status -> saveAnalyzedReview(request, sentimentResult));
+            success = true;
+            return review;
+        } finally {
+            metrics.recordCreateReview(success, start);
+        }
+    }
 
-        // Validate restaurant existence
+    public Review saveAnalyzedReview(ReviewRequest request, SentimentAnalysisResponse sentimentResult) {
         Restaurant restaurant = restaurantService.getRestaurantById(request.getRestaurantId())
                 .orElseThrow(() -> new RuntimeException("Restaurant not found with ID: " + request.getRestaurantId()));
 
-        // Perform sentiment analysis
-        SentimentAnalysisResponse sentimentResult = nlpService.analyzeSentiment(request.getReviewText());
+        return saveAnalyzedReview(restaurant, request, sentimentResult);
+    }
 
+    private Review saveAnalyzedReview(Restaurant restaurant, ReviewRequest request,
+                                      SentimentAnalysisResponse sentimentResult) {
         // Create review entity
         Review review = new Review(restaurant, request.getReviewText(), request.getReviewerName());
-        review.setSentimentLabel(sentimentResult.getSentiment());
-        review.setSentimentScore(sentimentResult.getScore());
-        review.setSentimentConfidence(sentimentResult.getConfidence());
-        review.setIsPositive(sentimentResult.getIsPositive());
+        applySentimentResult(review, sentimentResult);
 
         // Save review
         Review savedReview = reviewRepository.save(review);
 
         // Update restaurant scores (this will also update the leaderboard)
-        restaurantService.updateRestaurantScores(restaurant, sentimentResult.getScore());
+        restaurantService.updateRestaurantScores(restaurant, sentimentResult.getScore(), savedReview.getCreatedAt());
+        statisticsService.recordAnalyzedReview(savedReview);
 
-        logger.info("Successfully created review with ID: {} - Sentiment: {} ({})",
+        logger.debug("Successfully created review with ID: {} - Sentiment: {} ({})",
                 savedReview.getId(), sentimentResult.getSentiment(), sentimentResult.getScore());
 
         return savedReview;
     }
 
-    public Optional<Review> getReviewById(Long id) {
-        return reviewRepository.findById(id);
+    public void applySentimentResult(Review review, SentimentAnalysisResponse sentimentResult) {
+        review.setSentimentLabel(sentimentResult.getSentiment());
+        review.setSentimentScore(sentimentResult.getScore());
+        review.setSentimentConfidence(sentimentResult.getConfidence());
+        review.setIsPositive(sentimentResult.getIsPositive());
+        // Results cached before engines were recorded came from the model
+        review.setSentimentEngine(sentimentResult.getEngine() != null
+                ? sentimentResult.getEngine() : Review.SENTIMENT_ENGINE_TRANSFORMER);
+        review.setSentimentStatus(Review.SENTIMENT_STATUS_COMPLETED);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<ReviewView> getReviewById(Long id) {
+        return reviewRepository.findViewById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReviewView> getReviewsByRestaurant(Long restaurantId, Pageable pageable) {
+        return reviewRepository.findViewsByRestaurantId(restaurantId, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewView> getReviewFeed(Long restaurantId, String cursor, int size) {
+        // One extra row tells whether another page exists
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<ReviewView> reviews;
+        if (cursor == null || cursor.isBlank()) {
+            reviews = reviewRepository.findFeedFirstPage(restaurantId, limit);
+        } else {
+            FeedPosition position = decodeFeedCursor(cursor);
+            reviews = reviewRepository.findFeedAfter(restaurantId, position.createdAt, position.id, limit);
+        }
+
+        boolean hasMore = reviews.size() > size;
+        if (hasMore) {
+            reviews = reviews.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            ReviewView last = reviews.get(reviews.size() - 1);
+            nextCursor = encodeFeedCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(reviews, nextCursor, hasMore);
+    }
+
+    private String encodeFeedCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
-    public List<Review> getReviewsByRestaurant(Long restaurantId) {
-        return reviewRepository.findByRestaurantId(restaurantId);
+    private FeedPosition decodeFeedCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new FeedPosition(
+                    LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid feed cursor");
+        }
     }
 
-    public Page<Review> getReviewsByRestaurant(Long restaurantId, Pageable pageable) {
-        return reviewRepository.findByRestaurantId(restaurantId, pageable);
+    private static class FeedPosition {
+        private final LocalDateTime createdAt;
+        private final Long id;
+
+        FeedPosition(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
     }
 
-    public List<Review> getReviewsBySentiment(Long restaurantId, String sentiment) {
-        return reviewRepository.findByRestaurantIdAndSentimentLabel(restaurantId, sentiment);
+    @Transactional(readOnly = true)
+    public List<ReviewView> getReviewsBySentiment(Long restaurantId, String sentiment) {
+        return reviewRepository.findViewsByRestaurantIdAndSentimentLabel(restaurantId, sentiment);
     }
 
-    public List<Review> getRecentReviews(Long restaurantId, int hours) {
+    @Transactional(readOnly = true)
+    public List<ReviewView> getRecentReviews(Long restaurantId, int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
         return reviewRepository.findRecentReviewsForRestaurant(restaurantId, since);
     }
 
+    @Transactional(readOnly = true)
     public ReviewStatistics getReviewStatistics(Long restaurantId) {
-        Long positiveCount = reviewRepository.countPositiveReviewsForRestaurant(restaurantId);
-        Long negativeCount = reviewRepository.countNegativeReviewsForRestaurant(restaurantId);
-        Double averageSentiment = reviewRepository.getAverageSentimentScoreForRestaurant(restaurantId);
-
-        return new ReviewStatistics(
-                positiveCount != null ? positiveCount : 0L,
-                negativeCount != null ? negativeCount : 0L,
-                averageSentiment != null ? averageSentiment : 0.0
-        );
+        // Maintained on every insert and delete, a single primary-key read
+        return ReviewStatistics.of(statisticsService.getStatistics(restaurantId));
     }
 
     public void deleteReview(Long id) {
-        Review review = reviewRepository.findById(id)
+        // Locked so an ingestion or re-score commit cannot change the score between this read and the decrement
+        Review review = reviewRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Review not found with ID: " + id));
 
         logger.info("Deleting review with ID: {}", id);
 
         Restaurant restaurant = review.getRestaurant();
 
-        // Adjust restaurant scores based on review deletion
-        if (restaurant.getReviewCount() > 1) {
-            double newTotalScore = restaurant.getTotalScore() - review.getSentimentScore();
-            restaurant.setTotalScore(newTotalScore);
-            restaurant.setReviewCount(restaurant.getReviewCount() - 1);
-            restaurant.setAverageScore(newTotalScore / restaurant.getReviewCount());
-        } else {
-            // Reset scores if this was the only review
-            restaurant.setTotalScore(0.0);
-            restaurant.setReviewCount(0);
-            restaurant.setAverageScore(0.0);
+        // Reviews still waiting for asynchronous ingestion have not been counted yet
+        ingestionTaskRepository.deleteByReviewId(id);
+        if (review.getSentimentScore() == null) {
+            reviewRepository.delete(review);
+            return;
         }
 
-        // Update restaurant and leaderboard
-        restaurantService.updateRestaurantScores(restaurant, 0.0); // This will recalculate properly
+        // Atomic decrement, safe against reviews created or deleted concurrently
+        restaurantService.removeReviewScore(restaurant, review.getSentimentScore(), review.getCreatedAt());
+        statisticsService.recordRemovedReview(review);
 
         reviewRepository.delete(review);
     }
@@ -125,22 +221,34 @@ public class ReviewService {
     public static class ReviewStatistics {
         private final Long positiveCount;
         private final Long negativeCount;
+        private final Long neutralCount;
         private final Double averageSentiment;
+        private final Double averageConfidence;
         private final Long totalCount;
         private final Double positivePercentage;
 
-        public ReviewStatistics(Long positiveCount, Long negativeCount, Double averageSentiment) {
+        public ReviewStatistics(Long positiveCount, Long negativeCount, Long neutralCount,
+                                Double sentimentSum, Double confidenceSum) {
             this.positiveCount = positiveCount;
             this.negativeCount = negativeCount;
-            this.averageSentiment = averageSentiment;
-            this.totalCount = positiveCount + negativeCount;
+            this.neutralCount = neutralCount;
+            this.totalCount = positiveCount + negativeCount + neutralCount;
+            this.averageSentiment = totalCount > 0 ? sentimentSum / totalCount : 0.0;
+            this.averageConfidence = totalCount > 0 ? confidenceSum / totalCount : 0.0;
             this.positivePercentage = totalCount > 0 ? (positiveCount.doubleValue() / totalCount) * 100 : 0.0;
         }
 
+        public static ReviewStatistics of(RestaurantReviewStats stats) {
+            return new ReviewStatistics(stats.getPositiveCount(), stats.getNegativeCount(), stats.getNeutralCount(),
+                    stats.getSentimentSum(), stats.getConfidenceSum());
+        }
+
         // Getters
         public Long getPositiveCount() { return positiveCount; }
         public Long getNegativeCount() { return negativeCount; }
+        public Long getNeutralCount() { return neutralCount; }
         public Double getAverageSentiment() { return averageSentiment; }
+        public Double getAverageConfidence() { return averageConfidence; }
         public Long getTotalCount() { return totalCount; }
         public Double getPositivePercentage() { return positivePercentage; }
     }
@@ -0,0 +1,166 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.RestaurantReviewStats;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import com.example.restaurantreview.repository.RestaurantReviewStatsRepository;
+import com.example.restaurantreview.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps restaurant_review_stats in step with the analyzed reviews of each restaurant, so the statistics
+// endpoint is a primary-key read instead of aggregates over the reviews table
+@Service
+public class ReviewStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewStatisticsService.class);
+
+    private static final double SUM_TOLERANCE = 1e-6;
+
+    @Autowired
+    private RestaurantReviewStatsRepository statsRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    // Must join the transaction that saves or analyzes the review, so both commit or neither does
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAnalyzedReview(Review review) {
+        applyDelta(review, 1);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemovedReview(Review review) {
+        applyDelta(review, -1);
+    }
+
+    // Bulk import: one upsert per restaurant instead of one per review
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAnalyzedReviews(List<Review> reviews) {
+        Map<Long, RestaurantReviewStats> deltas = new HashMap<>();
+        for (Review review : reviews) {
+            if (review.getSentimentScore() == null) {
+                continue;
+            }
+            RestaurantReviewStats delta = deltas.computeIfAbsent(review.getRestaurant().getId(), RestaurantReviewStats::new);
+            Boolean positive = review.getIsPositive();
+            if (Boolean.TRUE.equals(positive)) {
+                delta.setPositiveCount(delta.getPositiveCount() + 1);
+            } else if (Boolean.FALSE.equals(positive)) {
+                delta.setNegativeCount(delta.getNegativeCount() + 1);
+            } else {
+                delta.setNeutralCount(delta.getNeutralCount() + 1);
+            }
+            delta.setSentimentSum(delta.getSentimentSum() + review.getSentimentScore());
+            if (review.getSentimentConfidence() != null) {
+                delta.setConfidenceSum(delta.getConfidenceSum() + review.getSentimentConfidence());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (RestaurantReviewStats delta : deltas.values()) {
+            statsRepository.applyDelta(delta.getRestaurantId(), delta.getPositiveCount(), delta.getNegativeCount(),
+                    delta.getNeutralCount(), delta.getSentimentSum(), delta.getConfidenceSum(), now);
+        }
+    }
+
+    private void applyDelta(Review review, int direction) {
+        if (review.getSentimentScore() == null) {
+            // Not analyzed yet, never counted
+            return;
+        }
+        Boolean positive = review.getIsPositive();
+        double confidence = review.getSentimentConfidence() != null ? review.getSentimentConfidence() : 0.0;
+
+        statsRepository.applyDelta(
+                review.getRestaurant().getId(),
+                Boolean.TRUE.equals(positive) ? direction : 0,
+                Boolean.FALSE.equals(positive) ? direction : 0,
+                positive == null ? direction : 0,
+                direction * review.getSentimentScore(),
+                direction * confidence,
+                LocalDateTime.now());
+    }
+
+    @Transactional(readOnly = true)
+    public RestaurantReviewStats getStatistics(Long restaurantId) {
+        return statsRepository.findById(restaurantId).orElseGet(() -> new RestaurantReviewStats(restaurantId));
+    }
+
+    // Rebuilds the row from the reviews in one query and reports whether the stored row had drifted
+    @Transactional
+    public RecomputeReport recompute(Long restaurantId) {
+        // The restaurant row lock keeps new reviews from committing between the aggregate and the overwrite
+        if (restaurantRepository.findAllByIdForUpdate(List.of(restaurantId)).isEmpty()) {
+            throw new RuntimeException("Restaurant not found with ID: " + restaurantId);
+        }
+
+        RestaurantReviewStats stored = getStatistics(restaurantId);
+
+        Object[] row = reviewRepository.aggregateStatisticsForRestaurant(restaurantId).get(0);
+        RestaurantReviewStats recomputed = new RestaurantReviewStats(restaurantId);
+        recomputed.setPositiveCount(((Number) row[0]).longValue());
+        recomputed.setNegativeCount(((Number) row[1]).longValue());
+        recomputed.setNeutralCount(((Number) row[2]).longValue());
+        recomputed.setSentimentSum(((Number) row[3]).doubleValue());
+        recomputed.setConfidenceSum(((Number) row[4]).doubleValue());
+
+        boolean drifted = isDrifted(stored, recomputed);
+        if (drifted) {
+            logger.warn("Review statistics for restaurant {} had drifted, rewriting from reviews", restaurantId);
+            statsRepository.overwrite(
+                    restaurantId,
+                    recomputed.getPositiveCount(),
+                    recomputed.getNegativeCount(),
+                    recomputed.getNeutralCount(),
+                    recomputed.getSentimentSum(),
+                    recomputed.getConfidenceSum(),
+                    LocalDateTime.now());
+        }
+
+        return new RecomputeReport(restaurantId, drifted,
+                ReviewService.ReviewStatistics.of(stored), ReviewService.ReviewStatistics.of(recomputed));
+    }
+
+    private boolean isDrifted(RestaurantReviewStats stored, RestaurantReviewStats recomputed) {
+        return !stored.getPositiveCount().equals(recomputed.getPositiveCount())
+                || !stored.getNegativeCount().equals(recomputed.getNegativeCount())
+                || !stored.getNeutralCount().equals(recomputed.getNeutralCount())
+                || Math.abs(stored.getSentimentSum() - recomputed.getSentimentSum()) > SUM_TOLERANCE
+                || Math.abs(stored.getConfidenceSum() - recomputed.getConfidenceSum()) > SUM_TOLERANCE;
+    }
+
+    // Inner class for recompute results
+    public static class RecomputeReport {
+        private final Long restaurantId;
+        private final boolean drifted;
+        private final ReviewService.ReviewStatistics stored;
+        private final ReviewService.ReviewStatistics recomputed;
+
+        public RecomputeReport(Long restaurantId, boolean drifted,
+                               ReviewService.ReviewStatistics stored, ReviewService.ReviewStatistics recomputed) {
+            this.restaurantId = restaurantId;
+            this.drifted = drifted;
+            this.stored = stored;
+            this.recomputed = recomputed;
+        }
+
+        // Getters
+        public Long getRestaurantId() { return restaurantId; }
+        public boolean isDrifted() { return drifted; }
+        public ReviewService.ReviewStatistics getStored() { return stored; }
+        public ReviewService.ReviewStatistics getRecomputed() { return recomputed; }
+    }
+}
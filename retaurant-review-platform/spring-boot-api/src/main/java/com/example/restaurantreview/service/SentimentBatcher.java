@@ -0,0 +1,253 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Coalesces concurrent single-text requests into /batch-analyze calls. A batch is sent when it reaches
+// max-batch-size or when the oldest request has waited max-linger, whichever comes first. The resilience
+// guard sees one call per batch; callers are shed individually when the queue is full.
+@Component
+public class SentimentBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentBatcher.class);
+
+    @Autowired
+    private NLPBatchClient batchClient;
+
+    @Autowired
+    private NLPResilienceGuard resilienceGuard;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.nlp.batching.max-batch-size:16}")
+    private int maxBatchSize;
+
+    @Value("${app.nlp.batching.max-linger:10ms}")
+    private Duration maxLinger;
+
+    @Value("${app.nlp.batching.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingRequest> queue;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    // Metrics
+    private final LongAdder batchesSent = new LongAdder();
+    private final LongAdder itemsSent = new LongAdder();
+    private final LongAdder itemsFailed = new LongAdder();
+    private final LongAdder itemsRejected = new LongAdder();
+    private final LongAdder totalQueueDelayNanos = new LongAdder();
+    private final AtomicLong maxQueueDelayNanos = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        maxBatchSize = Math.max(1, Math.min(maxBatchSize, NLPBatchClient.SERVICE_MAX_BATCH_SIZE));
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+
+        dispatcher = new Thread(this::runDispatcher, "nlp-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+
+        // Read from the existing counters at scrape time, nothing extra is recorded per request
+        Gauge.builder("nlp.batcher.queue.depth", queue, BlockingQueue::size)
+                .description("Texts waiting to be coalesced into a /batch-analyze call")
+                .register(meterRegistry);
+        FunctionCounter.builder("nlp.batcher.batches", batchesSent, LongAdder::sum)
+                .description("/batch-analyze calls sent by the batcher")
+                .register(meterRegistry);
+        FunctionCounter.builder("nlp.batcher.items", itemsSent, LongAdder::sum)
+                .description("Texts sent in batches")
+                .register(meterRegistry);
+        FunctionCounter.builder("nlp.batcher.rejected", itemsRejected, LongAdder::sum)
+                .description("Texts rejected because the batch queue was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+
+        List<PendingRequest> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(request -> request.future.completeExceptionally(
+                new IllegalStateException("NLP batcher is shutting down")));
+    }
+
+    public CompletableFuture<SentimentAnalysisResponse> submit(String text) {
+        PendingRequest request = new PendingRequest(text, System.nanoTime());
+        if (!queue.offer(request)) {
+            itemsRejected.increment();
+            return CompletableFuture.failedFuture(new NLPService.ServiceOverloadedException("NLP batch queue is full"));
+        }
+        return request.future;
+    }
+
+    public BatchStats getStats() {
+        long batches = batchesSent.sum();
+        long items = itemsSent.sum();
+        return new BatchStats(
+                batches,
+                items,
+                itemsFailed.sum(),
+                itemsRejected.sum(),
+                queue.size(),
+                maxBatchSize,
+                batches > 0 ? (double) items / batches : 0.0,
+                batches > 0 ? (double) items / (batches * (long) maxBatchSize) : 0.0,
+                items > 0 ? totalQueueDelayNanos.sum() / (double) items / 1_000_000.0 : 0.0,
+                maxQueueDelayNanos.get() / 1_000_000.0
+        );
+    }
+
+    private void runDispatcher() {
+        long lingerNanos = maxLinger.toNanos();
+        List<PendingRequest> batch = new ArrayList<>(maxBatchSize);
+
+        while (running) {
+            try {
+                batch.add(queue.take());
+
+                // The linger window opens with the first request of the batch
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingRequest next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                send(new ArrayList<>(batch));
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(request -> request.future.completeExceptionally(e));
+                return;
+            } catch (Exception e) {
+                logger.error("Unexpected error in NLP batch dispatcher: {}", e.getMessage());
+                batch.forEach(request -> request.future.completeExceptionally(e));
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<PendingRequest> batch) {
+        long now = System.nanoTime();
+        List<String> texts = new ArrayList<>(batch.size());
+        for (PendingRequest request : batch) {
+            long delay = now - request.enqueuedAt;
+            totalQueueDelayNanos.add(delay);
+            maxQueueDelayNanos.accumulateAndGet(delay, Math::max);
+            texts.add(request.text);
+        }
+        batchesSent.increment();
+        itemsSent.add(batch.size());
+
+        logger.debug("Sending NLP batch of {} texts", batch.size());
+
+        // One circuit breaker outcome and one limiter slot per HTTP call, timed without the linger
+        resilienceGuard.protect(batchClient.analyze(texts))
+                .subscribe(
+                        response -> complete(batch, response),
+                        error -> {
+                            logger.error("NLP batch call failed for {} texts: {}", batch.size(), error.getMessage());
+                            itemsFailed.add(batch.size());
+                            batch.forEach(request -> request.future.completeExceptionally(error));
+                        });
+    }
+
+    private void complete(List<PendingRequest> batch, NLPBatchClient.BatchResults results) {
+        // A failed item only fails its own caller
+        for (int i = 0; i < batch.size(); i++) {
+            SentimentAnalysisResponse sentiment = results.getSentiment(i);
+            if (sentiment != null) {
+                batch.get(i).future.complete(sentiment);
+            } else {
+                itemsFailed.increment();
+                batch.get(i).future.completeExceptionally(new BatchItemException(results.getError(i)));
+            }
+        }
+    }
+
+    private static class PendingRequest {
+        private final String text;
+        private final long enqueuedAt;
+        private final CompletableFuture<SentimentAnalysisResponse> future = new CompletableFuture<>();
+
+        PendingRequest(String text, long enqueuedAt) {
+            this.text = text;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    public static class BatchItemException extends RuntimeException {
+        public BatchItemException(String message) {
+            super(message);
+        }
+    }
+
+    // Inner class for batching metrics
+    public static class BatchStats {
+        private final long batchesSent;
+        private final long itemsSent;
+        private final long itemsFailed;
+        private final long itemsRejected;
+        private final int queueDepth;
+        private final int maxBatchSize;
+        private final double averageBatchSize;
+        private final double averageFillRatio;
+        private final double averageQueueDelayMs;
+        private final double maxQueueDelayMs;
+
+        public BatchStats(long batchesSent, long itemsSent, long itemsFailed, long itemsRejected, int queueDepth,
+                          int maxBatchSize, double averageBatchSize, double averageFillRatio,
+                          double averageQueueDelayMs, double maxQueueDelayMs) {
+            this.batchesSent = batchesSent;
+            this.itemsSent = itemsSent;
+            this.itemsFailed = itemsFailed;
+            this.itemsRejected = itemsRejected;
+            this.queueDepth = queueDepth;
+            this.maxBatchSize = maxBatchSize;
+            this.averageBatchSize = averageBatchSize;
+            this.averageFillRatio = averageFillRatio;
+            this.averageQueueDelayMs = averageQueueDelayMs;
+            this.maxQueueDelayMs = maxQueueDelayMs;
+        }
+
+        // Getters
+        public long getBatchesSent() { return batchesSent; }
+        public long getItemsSent() { return itemsSent; }
+        public long getItemsFailed() { return itemsFailed; }
+        public long getItemsRejected() { return itemsRejected; }
+        public int getQueueDepth() { return queueDepth; }
+        public int getMaxBatchSize() { return maxBatchSize; }
+        public double getAverageBatchSize() { return averageBatchSize; }
+        public double getAverageFillRatio() { return averageFillRatio; }
+        public double getAverageQueueDelayMs() { return averageQueueDelayMs; }
+        public double getMaxQueueDelayMs() { return maxQueueDelayMs; }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+// Content-addressed cache of sentiment results. Level 1 is a bounded in-process LRU map, level 2 lives in
+// Redis with a TTL. Keys are namespaced by model version, so a model change never serves old results, and
+// binary values by layout version, so switching app.nlp.cache.format starts a fresh namespace and the
+// entries of the other format run out through their TTL.
+@Component
+public class SentimentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentCache.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    @Value("${app.nlp.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.nlp.cache.key-prefix:sentiment}")
+    private String keyPrefix;
+
+    @Value("${app.nlp.cache.redis-ttl:7d}")
+    private Duration redisTtl;
+
+    @Value("${app.nlp.model-version:default}")
+    private volatile String modelVersion;
+
+    private final RedisValueFormat format;
+    private final ReentrantLock localLock = new ReentrantLock();
+    private final LocalCache localCache;
+
+    // Counters
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder localEvictions = new LongAdder();
+    private final LongAdder redisErrors = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public SentimentCache(@Value("${app.nlp.cache.local-max-entries:10000}") int localMaxEntries,
+                          @Value("${app.nlp.cache.format:binary}") String format) {
+        this.localCache = new LocalCache(localMaxEntries);
+        this.format = RedisValueFormat.fromParameter(format);
+    }
+
+    public Mono<SentimentAnalysisResponse> get(String text) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        String key = cacheKey(text);
+
+        SentimentAnalysisResponse local = getLocal(key);
+        if (local != null) {
+            localHits.increment();
+            return Mono.just(local);
+        }
+
+        return readRemote(key)
+                .doOnNext(remote -> {
+                    redisHits.increment();
+                    putLocal(key, remote);
+                })
+                .onErrorResume(e -> {
+                    redisErrors.increment();
+                    logger.warn("Error reading sentiment cache from Redis: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.fromRunnable(misses::increment));
+    }
+
+    public Mono<Void> put(String text, SentimentAnalysisResponse response) {
+        if (!enabled || response == null) {
+            return Mono.empty();
+        }
+
+        String key = cacheKey(text);
+        putLocal(key, response);
+
+        return writeRemote(key, response)
+                .onErrorResume(e -> {
+                    redisErrors.increment();
+                    logger.warn("Error writing sentiment cache to Redis: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<SentimentAnalysisResponse> readRemote(String key) {
+        if (format == RedisValueFormat.JSON) {
+            return reactiveRedisTemplate.opsForValue().get(key)
+                    .filter(SentimentAnalysisResponse.class::isInstance)
+                    .cast(SentimentAnalysisResponse.class);
+        }
+        // Raw bytes past the template's JSON serializer
+        return reactiveRedisTemplate.execute(connection -> connection.stringCommands().get(toBuffer(key)))
+                .next()
+                .mapNotNull(value -> SentimentResponseCodec.decode(toBytes(value)));
+    }
+
+    private Mono<Void> writeRemote(String key, SentimentAnalysisResponse response) {
+        if (format == RedisValueFormat.JSON) {
+            return reactiveRedisTemplate.opsForValue().set(key, response, redisTtl).then();
+        }
+        ByteBuffer value = ByteBuffer.wrap(SentimentResponseCodec.encode(response));
+        return reactiveRedisTemplate.execute(connection -> connection.stringCommands()
+                        .set(toBuffer(key), value, Expiration.from(redisTtl), RedisStringCommands.SetOption.upsert()))
+                .then();
+    }
+
+    private static ByteBuffer toBuffer(String key) {
+        return ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    public void onModelVersion(String version) {
+        if (version == null || version.equals(modelVersion)) {
+            return;
+        }
+
+        logger.info("NLP model version changed from {} to {}, invalidating sentiment cache", modelVersion, version);
+        modelVersion = version;
+        invalidations.increment();
+
+        // Redis entries of the old version are no longer addressed and expire through their TTL
+        localLock.lock();
+        try {
+            localCache.clear();
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    public CacheStats getStats() {
+        int localSize;
+        localLock.lock();
+        try {
+            localSize = localCache.size();
+        } finally {
+            localLock.unlock();
+        }
+
+        return new CacheStats(modelVersion, localSize, localCache.maxEntries, localHits.sum(), redisHits.sum(),
+                misses.sum(), localEvictions.sum(), redisErrors.sum(), invalidations.sum());
+    }
+
+    static String normalize(String text) {
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private String cacheKey(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalize(text).getBytes(StandardCharsets.UTF_8));
+            String namespace = format == RedisValueFormat.JSON ? "" : "b" + SentimentResponseCodec.BINARY_V1 + ":";
+            return keyPrefix + ":" + namespace + modelVersion + ":" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private SentimentAnalysisResponse getLocal(String key) {
+        localLock.lock();
+        try {
+            return localCache.get(key);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private void putLocal(String key, SentimentAnalysisResponse response) {
+        localLock.lock();
+        try {
+            localCache.put(key, response);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    // Access-ordered map that evicts the least recently used entry once full
+    private class LocalCache extends LinkedHashMap<String, SentimentAnalysisResponse> {
+        private final int maxEntries;
+
+        LocalCache(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SentimentAnalysisResponse> eldest) {
+            if (size() > maxEntries) {
+                localEvictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // Inner class for cache metrics
+    public static class CacheStats {
+        private final String modelVersion;
+        private final int localSize;
+        private final int localMaxEntries;
+        private final long localHits;
+        private final long redisHits;
+        private final long misses;
+        private final long localEvictions;
+        private final long redisErrors;
+        private final long invalidations;
+
+        public CacheStats(String modelVersion, int localSize, int localMaxEntries, long localHits, long redisHits,
+                          long misses, long localEvictions, long redisErrors, long invalidations) {
+            this.modelVersion = modelVersion;
+            this.localSize = localSize;
+            this.localMaxEntries = localMaxEntries;
+            this.localHits = localHits;
+            this.redisHits = redisHits;
+            this.misses = misses;
+            this.localEvictions = localEvictions;
+            this.redisErrors = redisErrors;
+            this.invalidations = invalidations;
+        }
+
+        // Getters
+        public String getModelVersion() { return modelVersion; }
+        public int getLocalSize() { return localSize; }
+        public int getLocalMaxEntries() { return localMaxEntries; }
+        public long getLocalHits() { return localHits; }
+        public long getRedisHits() { return redisHits; }
+        public long getMisses() { return misses; }
+        public long getLocalEvictions() { return localEvictions; }
+        public long getRedisErrors() { return redisErrors; }
+        public long getInvalidations() { return invalidations; }
+
+        public double getHitRatio() {
+            long total = localHits + redisHits + misses;
+            return total > 0 ? (double) (localHits + redisHits) / total : 0.0;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.repository.ReviewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sends reviews scored by the lexicon (or by the old neutral fallback) through the transformer once the NLP
+// service is back, and moves the restaurant aggregates, leaderboard and statistics by the difference
+@Service
+public class SentimentRescoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SentimentRescoreService.class);
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private ReviewStatisticsService statisticsService;
+
+    @Autowired
+    private NLPService nlpService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.nlp.rescore.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.nlp.rescore.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.nlp.rescore.max-per-run:5000}")
+    private int maxPerRun;
+
+    @Value("${app.nlp.rescore.concurrency:2}")
+    private int concurrency;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile RescoreReport lastRun;
+
+    @Scheduled(initialDelayString = "${app.nlp.rescore.initial-delay-ms:120000}",
+               fixedDelayString = "${app.nlp.rescore.interval-ms:600000}")
+    public void scheduledRescore() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!nlpService.isNLPServiceReady()) {
+                logger.debug("Skipping sentiment re-score, NLP service not ready");
+                return;
+            }
+            rescore(maxPerRun);
+        } catch (IllegalStateException e) {
+            logger.info("Skipping scheduled sentiment re-score: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("Sentiment re-score failed: {}", e.getMessage());
+        }
+    }
+
+    public RescoreReport rescore(int maxReviews) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A sentiment re-score is already running");
+        }
+        try {
+            RescoreReport report = doRescore(maxReviews);
+            lastRun = report;
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RescoreReport doRescore(int maxReviews) {
+        long start = System.nanoTime();
+        int examined = 0;
+        int rescored = 0;
+        Long afterId = 0L;
+
+        while (examined < maxReviews) {
+            // Keyset over the partial index of non-transformer reviews
+            List<Object[]> candidates = reviewRepository.findRescoreCandidates(afterId,
+                    PageRequest.of(0, Math.min(batchSize, maxReviews - examined)));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            afterId = (Long) candidates.get(candidates.size() - 1)[0];
+            examined += candidates.size();
+
+            List<Long> ids = new ArrayList<>(candidates.size());
+            List<String> texts = new ArrayList<>(candidates.size());
+            for (Object[] candidate : candidates) {
+                ids.add((Long) candidate[0]);
+                texts.add((String) candidate[1]);
+            }
+
+            // Model only, a failed call ends the run and the rest waits for the next one
+            List<SentimentAnalysisResponse> results = nlpService.analyzeSentimentBatch(texts, concurrency);
+
+            Integer applied = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (int i = 0; i < ids.size(); i++) {
+                    if (results.get(i) != null && applyTransformerResult(ids.get(i), results.get(i))) {
+                        count++;
+                    }
+                }
+                return count;
+            });
+            rescored += applied != null ? applied : 0;
+        }
+
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        if (examined > 0) {
+            logger.info("Sentiment re-score: {} reviews examined, {} re-scored by the transformer in {} ms",
+                    examined, rescored, durationMs);
+        }
+        return new RescoreReport(examined, rescored, durationMs);
+    }
+
+    private boolean applyTransformerResult(Long reviewId, SentimentAnalysisResponse result) {
+        // Locked until the batch commits, so two nodes never both move the aggregates for the same review
+        Review review = reviewRepository.findByIdForUpdate(reviewId).orElse(null);
+        // Deleted, or already re-scored by a concurrent run on another node
+        if (review == null || review.getSentimentScore() == null
+                || Review.SENTIMENT_ENGINE_TRANSFORMER.equals(review.getSentimentEngine())
+                || result.getScore() == null) {
+            return false;
+        }
+
+        double previousScore = review.getSentimentScore();
+        statisticsService.recordRemovedReview(review);
+        reviewService.applySentimentResult(review, result);
+        reviewRepository.save(review);
+        statisticsService.recordAnalyzedReview(review);
+
+        double scoreDelta = review.getSentimentScore() - previousScore;
+        if (scoreDelta != 0.0) {
+            restaurantService.adjustReviewScore(review.getRestaurant(), scoreDelta, review.getCreatedAt());
+        }
+        return true;
+    }
+
+    public RescoreReport getLastRun() {
+        return lastRun;
+    }
+
+    // Inner class for re-score results
+    public static class RescoreReport {
+        private final int examined;
+        private final int rescored;
+        private final long durationMs;
+
+        public RescoreReport(int examined, int rescored, long durationMs) {
+            this.examined = examined;
+            this.rescored = rescored;
+            this.durationMs = durationMs;
+        }
+
+        // Getters
+        public int getExamined() { return examined; }
+        public int getRescored() { return rescored; }
+        public long getDurationMs() { return durationMs; }
+    }
+}
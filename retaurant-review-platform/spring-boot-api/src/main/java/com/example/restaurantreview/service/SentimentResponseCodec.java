@@ -0,0 +1,110 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.example.restaurantreview.service.CompactBinary.bytesSize;
+import static com.example.restaurantreview.service.CompactBinary.getString;
+import static com.example.restaurantreview.service.CompactBinary.has;
+import static com.example.restaurantreview.service.CompactBinary.putBytes;
+import static com.example.restaurantreview.service.CompactBinary.utf8;
+
+// Binary layout of sentiment results in the Redis level of SentimentCache. Binary entries live under their
+// own key namespace, so the cache never meets a JSON value here.
+final class SentimentResponseCodec {
+
+    // Layout v1: version, flags, then only the fields present: confidence and score as 8-byte doubles,
+    // sentiment, processed_at and engine as length-prefixed UTF-8. isPositive lives in the flags.
+    static final byte BINARY_V1 = 1;
+
+    private static final int HAS_CONFIDENCE = 1;
+    private static final int HAS_SCORE = 1 << 1;
+    private static final int HAS_IS_POSITIVE = 1 << 2;
+    private static final int IS_POSITIVE = 1 << 3;
+    private static final int HAS_SENTIMENT = 1 << 4;
+    private static final int HAS_PROCESSED_AT = 1 << 5;
+    private static final int HAS_ENGINE = 1 << 6;
+
+    private SentimentResponseCodec() {}
+
+    static byte[] encode(SentimentAnalysisResponse response) {
+        byte[] sentiment = utf8(response.getSentiment());
+        byte[] processedAt = utf8(response.getProcessedAt());
+        byte[] engine = utf8(response.getEngine());
+
+        int flags = 0;
+        int size = 2;
+        if (response.getConfidence() != null) {
+            flags |= HAS_CONFIDENCE;
+            size += Double.BYTES;
+        }
+        if (response.getScore() != null) {
+            flags |= HAS_SCORE;
+            size += Double.BYTES;
+        }
+        if (response.getIsPositive() != null) {
+            flags |= HAS_IS_POSITIVE | (response.getIsPositive() ? IS_POSITIVE : 0);
+        }
+        if (sentiment != null) {
+            flags |= HAS_SENTIMENT;
+            size += bytesSize(sentiment);
+        }
+        if (processedAt != null) {
+            flags |= HAS_PROCESSED_AT;
+            size += bytesSize(processedAt);
+        }
+        if (engine != null) {
+            flags |= HAS_ENGINE;
+            size += bytesSize(engine);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(BINARY_V1).put((byte) flags);
+        if (response.getConfidence() != null) {
+            buffer.putDouble(response.getConfidence());
+        }
+        if (response.getScore() != null) {
+            buffer.putDouble(response.getScore());
+        }
+        putBytes(buffer, sentiment);
+        putBytes(buffer, processedAt);
+        putBytes(buffer, engine);
+        return buffer.array();
+    }
+
+    // Null for a layout this version cannot read, which the cache treats as a miss
+    static SentimentAnalysisResponse decode(byte[] data) {
+        if (data == null || data.length < 2 || data[0] != BINARY_V1) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1).slice();
+            int flags = buffer.get();
+
+            SentimentAnalysisResponse response = new SentimentAnalysisResponse();
+            if (has(flags, HAS_CONFIDENCE)) {
+                response.setConfidence(buffer.getDouble());
+            }
+            if (has(flags, HAS_SCORE)) {
+                response.setScore(buffer.getDouble());
+            }
+            if (has(flags, HAS_IS_POSITIVE)) {
+                response.setIsPositive(has(flags, IS_POSITIVE));
+            }
+            if (has(flags, HAS_SENTIMENT)) {
+                response.setSentiment(getString(buffer));
+            }
+            if (has(flags, HAS_PROCESSED_AT)) {
+                response.setProcessedAt(getString(buffer));
+            }
+            if (has(flags, HAS_ENGINE)) {
+                response.setEngine(getString(buffer));
+            }
+            return response;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
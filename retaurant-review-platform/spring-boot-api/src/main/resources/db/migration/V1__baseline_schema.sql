@@ -0,0 +1,43 @@
+-- Schema as previously created by hibernate ddl-auto=update. Every statement is idempotent so this also
+-- runs cleanly against databases that were created before migrations took over (baseline-version 0).
+
+CREATE TABLE IF NOT EXISTS restaurants (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255)     NOT NULL,
+    description   VARCHAR(500),
+    address       VARCHAR(255),
+    cuisine_type  VARCHAR(100),
+    total_score   DOUBLE PRECISION,
+    review_count  INTEGER,
+    average_score DOUBLE PRECISION,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    restaurant_id        BIGINT NOT NULL REFERENCES restaurants (id),
+    review_text          TEXT   NOT NULL,
+    reviewer_name        VARCHAR(100),
+    sentiment_label      VARCHAR(255),
+    sentiment_score      DOUBLE PRECISION,
+    sentiment_confidence DOUBLE PRECISION,
+    is_positive          BOOLEAN,
+    sentiment_status     VARCHAR(20),
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6)
+);
+
+-- Added after the first deployments
+ALTER TABLE reviews ADD COLUMN IF NOT EXISTS sentiment_status VARCHAR(20);
+
+CREATE TABLE IF NOT EXISTS review_ingestion_tasks (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    review_id       BIGINT      NOT NULL UNIQUE,
+    status          VARCHAR(20) NOT NULL,
+    attempts        INTEGER     NOT NULL,
+    last_error      VARCHAR(500),
+    next_attempt_at TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)
+);
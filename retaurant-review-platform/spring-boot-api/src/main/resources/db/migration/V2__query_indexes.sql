@@ -0,0 +1,44 @@
+-- One index per repository query shape, checked by RepositoryQueryPlanTest.
+-- IF NOT EXISTS: the two ranking indexes and the feed index may already exist from ddl-auto.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- RestaurantRepository
+
+-- findByNameIgnoreCase: Spring Data compares upper(name) = upper(?)
+CREATE INDEX IF NOT EXISTS idx_restaurants_upper_name ON restaurants (upper(name));
+
+-- findByCuisineTypeIgnoreCase
+CREATE INDEX IF NOT EXISTS idx_restaurants_upper_cuisine_type ON restaurants (upper(cuisine_type));
+
+-- findByNameContainingIgnoreCase: upper(name) LIKE '%...%' needs trigrams, a btree cannot serve a leading wildcard
+CREATE INDEX IF NOT EXISTS idx_restaurants_upper_name_trgm ON restaurants USING gin (upper(name) gin_trgm_ops);
+
+-- findByMinimumScore and the top-rated list
+CREATE INDEX IF NOT EXISTS idx_restaurants_average_score ON restaurants (average_score, id);
+
+-- Most-reviewed list
+CREATE INDEX IF NOT EXISTS idx_restaurants_review_count ON restaurants (review_count, id);
+
+-- ReviewRepository
+
+-- findByRestaurantId, the keyset feed, findRecentReviewsForRestaurant and the restaurant_id foreign key
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_created_id ON reviews (restaurant_id, created_at, id);
+
+-- findByRestaurantIdAndSentimentLabel
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_sentiment_label ON reviews (restaurant_id, sentiment_label);
+
+-- sumScoresByRestaurant: partial, so only a query that also filters on sentiment_score IS NOT NULL can use it;
+-- the INCLUDE column lets that sum come from an index-only scan
+CREATE INDEX IF NOT EXISTS idx_reviews_restaurant_score ON reviews (restaurant_id) INCLUDE (sentiment_score)
+    WHERE sentiment_score IS NOT NULL;
+
+-- ReviewIngestionTaskRepository
+
+-- findDueTaskIds
+CREATE INDEX IF NOT EXISTS idx_ingestion_tasks_pending_due ON review_ingestion_tasks (next_attempt_at, id)
+    WHERE status = 'PENDING';
+
+-- releaseStaleTasks
+CREATE INDEX IF NOT EXISTS idx_ingestion_tasks_processing_updated ON review_ingestion_tasks (updated_at)
+    WHERE status = 'PROCESSING';
@@ -0,0 +1,27 @@
+-- Per-restaurant review statistics, maintained by upsert in the transaction that adds, analyzes or deletes a
+-- review. Only analyzed reviews (sentiment_score set) are counted, like the restaurant score aggregates.
+
+CREATE TABLE IF NOT EXISTS restaurant_review_stats (
+    restaurant_id  BIGINT           PRIMARY KEY REFERENCES restaurants (id) ON DELETE CASCADE,
+    positive_count BIGINT           NOT NULL DEFAULT 0,
+    negative_count BIGINT           NOT NULL DEFAULT 0,
+    neutral_count  BIGINT           NOT NULL DEFAULT 0,
+    sentiment_sum  DOUBLE PRECISION NOT NULL DEFAULT 0,
+    confidence_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    updated_at     TIMESTAMP(6)
+);
+
+-- Backfill from the reviews already stored
+INSERT INTO restaurant_review_stats (restaurant_id, positive_count, negative_count, neutral_count,
+                                     sentiment_sum, confidence_sum, updated_at)
+SELECT restaurant_id,
+       count(*) FILTER (WHERE is_positive = true),
+       count(*) FILTER (WHERE is_positive = false),
+       count(*) FILTER (WHERE is_positive IS NULL),
+       coalesce(sum(sentiment_score), 0),
+       coalesce(sum(sentiment_confidence), 0),
+       now()
+FROM reviews
+WHERE sentiment_score IS NOT NULL
+GROUP BY restaurant_id
+ON CONFLICT (restaurant_id) DO NOTHING;
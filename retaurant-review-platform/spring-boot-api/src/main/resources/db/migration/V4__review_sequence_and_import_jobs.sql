@@ -0,0 +1,23 @@
+-- Review ids come from a sequence so Hibernate can batch inserts (IDENTITY forces one round trip per row).
+-- INCREMENT BY must match allocationSize on Review: each nextval reserves a block of 50 ids.
+ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE reviews ALTER COLUMN id DROP DEFAULT;
+
+CREATE SEQUENCE IF NOT EXISTS reviews_seq INCREMENT BY 50;
+-- The pooled optimizer hands out (value - 49 .. value), so the first block starts right after the current max
+SELECT setval('reviews_seq', (SELECT coalesce(max(id), 0) + 50 FROM reviews));
+
+-- Progress and resume checkpoint of bulk review imports
+CREATE TABLE IF NOT EXISTS review_import_jobs (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    source         VARCHAR(255),
+    format         VARCHAR(10) NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    records_read   BIGINT      NOT NULL,
+    imported_count BIGINT      NOT NULL,
+    failed_count   BIGINT      NOT NULL,
+    last_error     VARCHAR(500),
+    started_at     TIMESTAMP(6),
+    updated_at     TIMESTAMP(6),
+    completed_at   TIMESTAMP(6)
+);
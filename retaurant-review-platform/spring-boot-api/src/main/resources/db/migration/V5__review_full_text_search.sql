@@ -0,0 +1,9 @@
+-- Full-text search over review text. A stored generated column is maintained by Postgres on every insert and
+-- update, so no application code has to keep it in sync. Adding it rewrites the reviews table once.
+ALTER TABLE reviews ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (to_tsvector('english'::regconfig, review_text)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_reviews_search_vector ON reviews USING gin (search_vector);
+
+-- Restaurant name search: terms shorter than a trigram are matched as a prefix, which needs a pattern_ops btree
+CREATE INDEX IF NOT EXISTS idx_restaurants_upper_name_pattern ON restaurants (upper(name) text_pattern_ops);
@@ -0,0 +1,18 @@
+-- Which engine scored each review, so reviews scored without the transformer can be re-scored later
+ALTER TABLE reviews ADD COLUMN IF NOT EXISTS sentiment_engine VARCHAR(20);
+
+-- Before this column existed an unavailable NLP service produced exactly NEUTRAL / 0.0 / 0.5 with no polarity.
+-- Those rows are tagged as fallback results so the re-score job picks them up; everything else analyzed so far
+-- came from the model.
+UPDATE reviews
+SET sentiment_engine = CASE
+        WHEN sentiment_label = 'NEUTRAL' AND sentiment_score = 0.0 AND sentiment_confidence = 0.5
+             AND is_positive IS NULL THEN 'FALLBACK'
+        ELSE 'TRANSFORMER'
+    END
+WHERE sentiment_engine IS NULL
+  AND sentiment_score IS NOT NULL;
+
+-- Re-score job: walks the few non-transformer reviews in id order
+CREATE INDEX IF NOT EXISTS idx_reviews_rescore_candidates ON reviews (id)
+    WHERE sentiment_engine <> 'TRANSFORMER';
@@ -0,0 +1,52 @@
+-- Atomically applies a review score delta to a restaurant's leaderboard aggregates, its global and cuisine
+-- rankings, and the trending buckets of the hour and day the review was written in.
+-- KEYS[1] restaurant hash, KEYS[2] leaderboard sorted set, KEYS[3] cuisine leaderboard sorted set,
+-- KEYS[4] hourly trending bucket, KEYS[5] daily trending bucket, KEYS[6] review count sorted set,
+-- KEYS[7] change log read by leaderboard-swap.lua
+-- ARGV[1] sorted set member, ARGV[2] score delta, ARGV[3] count delta,
+-- ARGV[4] total score and ARGV[5] review count from the database, used to seed a hash without aggregates,
+-- ARGV[6] serialized entry, ARGV[7] and ARGV[8] expiry of the hourly and daily bucket (unix seconds)
+local previousCuisine = redis.call('HGET', KEYS[1], 'cuisineKey')
+if previousCuisine and previousCuisine ~= KEYS[3] then
+    redis.call('ZREM', previousCuisine, ARGV[1])
+end
+redis.call('HSET', KEYS[1], 'data', ARGV[6], 'cuisineKey', KEYS[3])
+
+local total
+local count
+
+if redis.call('HEXISTS', KEYS[1], 'totalScore') == 1 then
+    total = tonumber(redis.call('HINCRBYFLOAT', KEYS[1], 'totalScore', ARGV[2]))
+    count = redis.call('HINCRBY', KEYS[1], 'reviewCount', ARGV[3])
+else
+    total = tonumber(ARGV[4])
+    count = tonumber(ARGV[5])
+    redis.call('HSET', KEYS[1], 'totalScore', ARGV[4], 'reviewCount', ARGV[5])
+end
+
+local average = 0
+if count > 0 then
+    average = total / count
+else
+    count = 0
+    redis.call('HSET', KEYS[1], 'totalScore', '0', 'reviewCount', '0')
+end
+
+redis.call('ZADD', KEYS[2], average, ARGV[1])
+redis.call('ZADD', KEYS[3], average, ARGV[1])
+redis.call('ZADD', KEYS[6], count, ARGV[1])
+
+-- A rebuild running now re-ranks this restaurant from its hash before it swaps its sets in
+local now = redis.call('TIME')
+redis.call('ZADD', KEYS[7], tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000), ARGV[1])
+
+-- Removing a review from a bucket that has already expired has nothing left to undo
+local adding = tonumber(ARGV[3]) > 0
+for i = 4, 5 do
+    if adding or redis.call('EXISTS', KEYS[i]) == 1 then
+        redis.call('ZINCRBY', KEYS[i], ARGV[2], ARGV[1])
+        redis.call('EXPIREAT', KEYS[i], ARGV[i + 3])
+    end
+end
+
+return tostring(average)
@@ -0,0 +1,13 @@
+-- Builds a rolling window leaderboard by merging its time buckets, unless a recent merge is still cached.
+-- KEYS[1] merged window sorted set, KEYS[2..] bucket sorted sets
+-- ARGV[1] seconds to keep the merged result
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    local buckets = {}
+    for i = 2, #KEYS do
+        buckets[#buckets + 1] = KEYS[i]
+    end
+    redis.call('ZUNIONSTORE', KEYS[1], #buckets, unpack(buckets))
+    redis.call('EXPIRE', KEYS[1], ARGV[1])
+end
+
+return redis.call('ZCARD', KEYS[1])
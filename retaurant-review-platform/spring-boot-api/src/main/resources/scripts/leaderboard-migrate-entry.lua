@@ -0,0 +1,9 @@
+-- Replaces a restaurant's encoded leaderboard entry with the same entry in the current format, unless a writer
+-- changed it since it was read; that writer already used the current format.
+-- KEYS[1] restaurant hash
+-- ARGV[1] entry as read, ARGV[2] the same entry re-encoded
+if redis.call('HGET', KEYS[1], 'data') == ARGV[1] then
+    redis.call('HSET', KEYS[1], 'data', ARGV[2])
+    return 1
+end
+return 0
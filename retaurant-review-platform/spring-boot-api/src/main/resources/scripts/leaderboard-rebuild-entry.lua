@@ -0,0 +1,31 @@
+-- Ranks one restaurant in the sets of a running rebuild. Aggregates already in the hash are kept: they are
+-- maintained by leaderboard-apply-delta.lua and may include reviews newer than the rebuild's database snapshot.
+-- KEYS[1] restaurant hash, KEYS[2] rebuilt leaderboard, KEYS[3] rebuilt cuisine leaderboard,
+-- KEYS[4] rebuilt review count sorted set, KEYS[5] change log
+-- ARGV[1] sorted set member, ARGV[2] serialized entry, ARGV[3] total score and ARGV[4] review count from the
+-- database, used to seed a hash without aggregates, ARGV[5] live cuisine leaderboard key,
+-- ARGV[6] rebuild start in milliseconds of the Redis clock
+
+-- Written since the rebuild started, so the snapshot may be older than the hash; the swap ranks it instead
+local changedAt = redis.call('ZSCORE', KEYS[5], ARGV[1])
+if changedAt and tonumber(changedAt) >= tonumber(ARGV[6]) then
+    return 0
+end
+
+redis.call('HSET', KEYS[1], 'data', ARGV[2], 'cuisineKey', ARGV[5])
+if redis.call('HEXISTS', KEYS[1], 'totalScore') == 0 then
+    redis.call('HSET', KEYS[1], 'totalScore', ARGV[3], 'reviewCount', ARGV[4])
+end
+
+local total = tonumber(redis.call('HGET', KEYS[1], 'totalScore'))
+local count = tonumber(redis.call('HGET', KEYS[1], 'reviewCount'))
+
+local average = 0
+if count > 0 then
+    average = total / count
+end
+
+redis.call('ZADD', KEYS[2], average, ARGV[1])
+redis.call('ZADD', KEYS[3], average, ARGV[1])
+redis.call('ZADD', KEYS[4], count, ARGV[1])
+return 1
@@ -0,0 +1,19 @@
+-- Atomically removes a restaurant from every leaderboard and drops its hash.
+-- KEYS[1] restaurant hash, KEYS[2] change log read by leaderboard-swap.lua,
+-- KEYS[3..] leaderboard, review count and live trending sorted sets
+-- ARGV[1] sorted set member
+local cuisineKey = redis.call('HGET', KEYS[1], 'cuisineKey')
+if cuisineKey then
+    redis.call('ZREM', cuisineKey, ARGV[1])
+end
+
+for i = 3, #KEYS do
+    redis.call('ZREM', KEYS[i], ARGV[1])
+end
+
+redis.call('DEL', KEYS[1])
+
+-- A rebuild running now may have read the restaurant before it was deleted, its swap drops it again
+local now = redis.call('TIME')
+redis.call('ZADD', KEYS[2], tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000), ARGV[1])
+return 1
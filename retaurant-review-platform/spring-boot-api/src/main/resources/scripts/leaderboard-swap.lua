@@ -0,0 +1,60 @@
+-- Atomically replaces live leaderboard sorted sets with freshly rebuilt ones, so readers see either the old
+-- rankings or the new ones and never a half-built set. Restaurants written while the rebuild ran are ranked
+-- again from their live hash, so no review that arrived in between is lost.
+-- KEYS[1..n] rebuilt sets, KEYS[n+1..2n] live sets they replace: leaderboard, review count, then cuisine
+-- leaderboards, KEYS[2n+1..2n+s] live sets with no replacement, KEYS[2n+s+1] change log
+-- ARGV[1] n, ARGV[2] s, ARGV[3] rebuild start and ARGV[4] change log retention, in milliseconds
+local n = tonumber(ARGV[1])
+local s = tonumber(ARGV[2])
+local changeLog = KEYS[2 * n + s + 1]
+
+for i = 1, n do
+    if redis.call('EXISTS', KEYS[i]) == 1 then
+        redis.call('RENAME', KEYS[i], KEYS[n + i])
+        -- Rebuilt sets carry a safety TTL in case a rebuild dies half way, the live set must not
+        redis.call('PERSIST', KEYS[n + i])
+    else
+        redis.call('DEL', KEYS[n + i])
+    end
+end
+
+for i = 2 * n + 1, 2 * n + s do
+    redis.call('DEL', KEYS[i])
+end
+
+local leaderboard = KEYS[n + 1]
+local reviewCount = KEYS[n + 2]
+for _, member in ipairs(redis.call('ZRANGEBYSCORE', changeLog, ARGV[3], '+inf')) do
+    local fields = redis.call('HMGET', member, 'totalScore', 'reviewCount', 'cuisineKey')
+    -- The snapshot may have put the restaurant under a cuisine it has left since
+    for i = n + 3, 2 * n do
+        if KEYS[i] ~= fields[3] then
+            redis.call('ZREM', KEYS[i], member)
+        end
+    end
+
+    if fields[1] and fields[2] then
+        local total = tonumber(fields[1])
+        local count = tonumber(fields[2])
+        local average = 0
+        if count > 0 then
+            average = total / count
+        end
+        redis.call('ZADD', leaderboard, average, member)
+        redis.call('ZADD', reviewCount, count, member)
+        if fields[3] then
+            redis.call('ZADD', fields[3], average, member)
+        end
+    else
+        -- Deleted while the rebuild ran
+        redis.call('ZREM', leaderboard, member)
+        redis.call('ZREM', reviewCount, member)
+    end
+end
+
+-- Entries older than any rebuild still able to swap are not needed any more
+local now = redis.call('TIME')
+local nowMillis = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000)
+redis.call('ZREMRANGEBYSCORE', changeLog, '-inf', '(' .. (nowMillis - tonumber(ARGV[4])))
+
+return n
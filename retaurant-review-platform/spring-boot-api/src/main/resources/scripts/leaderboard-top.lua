@@ -0,0 +1,14 @@
+-- Returns the top N leaderboard members together with their cached entry in one round trip.
+-- KEYS[1] leaderboard sorted set
+-- ARGV[1] number of entries
+-- Reply: flat list of member, score, data triples (data is nil for a member without a hash)
+local ranked = redis.call('ZREVRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1, 'WITHSCORES')
+local reply = {}
+
+for i = 1, #ranked, 2 do
+    reply[#reply + 1] = ranked[i]
+    reply[#reply + 1] = ranked[i + 1]
+    reply[#reply + 1] = redis.call('HGET', ranked[i], 'data')
+end
+
+return reply
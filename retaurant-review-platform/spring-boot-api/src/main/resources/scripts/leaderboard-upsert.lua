@@ -0,0 +1,35 @@
+-- Atomically stores a restaurant's leaderboard entry and ranks it by its aggregates, globally, in its cuisine and
+-- by review count.
+-- KEYS[1] restaurant hash, KEYS[2] leaderboard sorted set, KEYS[3] cuisine leaderboard sorted set,
+-- KEYS[4] review count sorted set, KEYS[5] change log read by leaderboard-swap.lua
+-- ARGV[1] sorted set member, ARGV[2] serialized entry,
+-- ARGV[3] total score and ARGV[4] review count from the database, used to seed a hash without aggregates
+
+-- A restaurant that changed cuisine leaves its previous cuisine leaderboard
+local previousCuisine = redis.call('HGET', KEYS[1], 'cuisineKey')
+if previousCuisine and previousCuisine ~= KEYS[3] then
+    redis.call('ZREM', previousCuisine, ARGV[1])
+end
+redis.call('HSET', KEYS[1], 'data', ARGV[2], 'cuisineKey', KEYS[3])
+
+-- Aggregates already in Redis are maintained by leaderboard-apply-delta.lua and are never overwritten here
+if redis.call('HEXISTS', KEYS[1], 'totalScore') == 0 then
+    redis.call('HSET', KEYS[1], 'totalScore', ARGV[3], 'reviewCount', ARGV[4])
+end
+
+local total = tonumber(redis.call('HGET', KEYS[1], 'totalScore'))
+local count = tonumber(redis.call('HGET', KEYS[1], 'reviewCount'))
+
+local average = 0
+if count > 0 then
+    average = total / count
+end
+
+redis.call('ZADD', KEYS[2], average, ARGV[1])
+redis.call('ZADD', KEYS[3], average, ARGV[1])
+redis.call('ZADD', KEYS[4], count, ARGV[1])
+
+-- A rebuild running now re-ranks this restaurant from its hash before it swaps its sets in
+local now = redis.call('TIME')
+redis.call('ZADD', KEYS[5], tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000), ARGV[1])
+return tostring(average)
@@ -0,0 +1,8 @@
+-- Releases a lock taken with SET NX PX, but only for the holder: a lock whose lease expired and was taken by
+-- another node keeps running under that node's token.
+-- KEYS[1] lock key
+-- ARGV[1] token stored by the holder
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
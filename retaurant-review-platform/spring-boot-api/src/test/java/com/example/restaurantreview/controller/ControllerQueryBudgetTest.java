@@ -0,0 +1,144 @@
+package com.example.restaurantreview.controller;
+
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import com.example.restaurantreview.repository.ReviewRepository;
+import com.example.restaurantreview.service.RestaurantService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.example.restaurantreview.diagnostics.QueryCountMatchers.queryCountAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// SQL statement budgets of the read endpoints against the local stack. Reviews are spread over several
+// restaurants, so a lazy load per row (N+1) pushes a list endpoint well past its budget.
+@SpringBootTest(properties = "app.diagnostics.query-count.response-header=true")
+@AutoConfigureMockMvc
+class ControllerQueryBudgetTest {
+
+    private static final int RESTAURANTS = 10;
+    private static final int REVIEWS_PER_RESTAURANT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> restaurantIds = new ArrayList<>();
+    private Long reviewId;
+    // A made-up word, so search and name filters only match the rows of this test
+    private String marker;
+    private String cuisine;
+
+    @BeforeEach
+    void setUp() {
+        marker = randomWord();
+        cuisine = "Budget" + marker;
+
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = restaurantRepository.save(new Restaurant(
+                    "Query Budget " + marker + " " + i, "query budget test", "test", cuisine));
+            restaurantIds.add(restaurant.getId());
+
+            for (int j = 0; j < REVIEWS_PER_RESTAURANT; j++) {
+                Review review = new Review(restaurant, "The " + marker + " pasta was lovely, visit " + j, "Tester " + j);
+                review.setSentimentLabel("POSITIVE");
+                review.setSentimentScore(0.9);
+                review.setSentimentConfidence(0.9);
+                review.setIsPositive(true);
+                review.setSentimentEngine(Review.SENTIMENT_ENGINE_TRANSFORMER);
+                review.setSentimentStatus(Review.SENTIMENT_STATUS_COMPLETED);
+                reviews.add(review);
+            }
+        }
+        reviewId = reviewRepository.saveAll(reviews).get(0).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Long restaurantId : restaurantIds) {
+            jdbcTemplate.update("DELETE FROM reviews WHERE restaurant_id = ?", restaurantId);
+            restaurantService.deleteRestaurant(restaurantId);
+        }
+    }
+
+    @Test
+    void reviewEndpointsStayWithinQueryBudget() throws Exception {
+        Long restaurantId = restaurantIds.get(0);
+
+        mockMvc.perform(get("/api/reviews/{id}", reviewId))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1))
+                .andExpect(jsonPath("$.restaurantName").exists())
+                .andExpect(jsonPath("$.restaurant").doesNotExist());
+        // Page and count
+        mockMvc.perform(get("/api/reviews/restaurant/{id}", restaurantId).param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2));
+        mockMvc.perform(get("/api/reviews/restaurant/{id}/feed", restaurantId).param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+        mockMvc.perform(get("/api/reviews/restaurant/{id}/sentiment/{sentiment}", restaurantId, "positive"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+        mockMvc.perform(get("/api/reviews/restaurant/{id}/recent", restaurantId))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+        // Ranked ids, then the rows with their restaurant names; the hits span every restaurant of the test
+        mockMvc.perform(get("/api/reviews/search").param("q", marker).param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2));
+    }
+
+    @Test
+    void restaurantEndpointsStayWithinQueryBudget() throws Exception {
+        mockMvc.perform(get("/api/restaurants/{id}", restaurantIds.get(0)))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1))
+                .andExpect(jsonPath("$.restaurant.totalScore").doesNotExist());
+        mockMvc.perform(get("/api/restaurants").param("search", marker).param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(2));
+        mockMvc.perform(get("/api/restaurants/cuisine/{cuisine}", cuisine))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+        mockMvc.perform(get("/api/restaurants/top-rated").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+        mockMvc.perform(get("/api/restaurants/most-reviewed").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(queryCountAtMost(1));
+    }
+
+    private static String randomWord() {
+        StringBuilder word = new StringBuilder("qb");
+        for (int i = 0; i < 10; i++) {
+            word.append((char) ('a' + ThreadLocalRandom.current().nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.restaurantreview.diagnostics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Plain unit test with servlet mocks: the chain records the response the handler would have written to
+class QueryCountFilterTest {
+
+    private final QueryCountFilter filter = new QueryCountFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "responseHeader", true);
+        ReflectionTestUtils.setField(filter, "unbufferedPaths", List.of("/api/reviews/export"));
+    }
+
+    @Test
+    void regularResponsesAreBufferedForTheHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletResponse handlerResponse = run(new MockHttpServletRequest("GET", "/api/reviews/restaurant/1"), response);
+
+        assertNotNull(WebUtils.getNativeResponse(handlerResponse, ContentCachingResponseWrapper.class));
+        assertEquals("0", response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        assertEquals("body", response.getContentAsString());
+    }
+
+    @Test
+    void exportStreamsStraightToTheClient() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ServletResponse handlerResponse = run(new MockHttpServletRequest("GET", "/api/reviews/export"), response);
+
+        assertNull(WebUtils.getNativeResponse(handlerResponse, ContentCachingResponseWrapper.class));
+        assertNull(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        assertEquals("body", response.getContentAsString());
+    }
+
+    private ServletResponse run(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<ServletResponse> handlerResponse = new AtomicReference<>();
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                handlerResponse.set(res);
+                res.getWriter().write("body");
+                res.getWriter().flush();
+            }
+        });
+        return handlerResponse.get();
+    }
+}
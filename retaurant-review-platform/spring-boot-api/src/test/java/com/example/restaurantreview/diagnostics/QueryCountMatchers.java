@@ -0,0 +1,26 @@
+package com.example.restaurantreview.diagnostics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// MockMvc matchers on the X-Query-Count header. The test context needs
+// app.diagnostics.query-count.response-header=true.
+public final class QueryCountMatchers {
+
+    private QueryCountMatchers() {
+    }
+
+    // Fails when the request ran more SQL statements than the budget, lazy loads during serialization included
+    public static ResultMatcher queryCountAtMost(int budget) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+            assertNotNull(header, "No " + QueryCountFilter.QUERY_COUNT_HEADER
+                    + " header, set app.diagnostics.query-count.response-header=true in the test");
+            int queries = Integer.parseInt(header);
+            assertTrue(queries <= budget, () -> String.format("%s %s ran %d SQL statements, the budget is %d",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), queries, budget));
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.restaurantreview.loadtest;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.service.LexiconSentimentScorer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-process stand-in for the Python NLP service: the same /analyze, /batch-analyze, /ready and /health
+// contract, with a configurable latency distribution and error rate. Labels come from the lexicon scorer so
+// restaurant scores still move the way real reviews would move them.
+class FakeNlpServer implements AutoCloseable {
+
+    private static final String MODEL_VERSION = "load-test-fake";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LexiconSentimentScorer scorer = new LexiconSentimentScorer();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong failedCalls = new AtomicLong();
+
+    private volatile LatencyProfile latency = LatencyProfile.none();
+    private volatile double errorRate;
+
+    private FakeNlpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/analyze", this::analyze);
+        server.createContext("/batch-analyze", this::batchAnalyze);
+        server.createContext("/ready", exchange -> respond(exchange, 200,
+                Map.of("status", "ready", "model_ready", true, "model_version", MODEL_VERSION)));
+        server.createContext("/health", exchange -> respond(exchange, 200,
+                Map.of("status", "healthy", "model_ready", true, "model_loading", false, "model_version", MODEL_VERSION)));
+    }
+
+    static FakeNlpServer start() {
+        try {
+            FakeNlpServer fake = new FakeNlpServer();
+            fake.server.start();
+            return fake;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the fake NLP server", e);
+        }
+    }
+
+    String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void configure(LatencyProfile latency, double errorRate) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    long getCalls() {
+        return calls.get();
+    }
+
+    long getFailedCalls() {
+        return failedCalls.get();
+    }
+
+    private void analyze(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        if (shouldFail(exchange, 1)) {
+            return;
+        }
+        Map<String, Object> result = toResult(scorer.score(body.path("text").asText()));
+        result.put("processed_at", LocalDateTime.now().toString());
+        respond(exchange, 200, result);
+    }
+
+    private void batchAnalyze(HttpExchange exchange) throws IOException {
+        JsonNode texts = readBody(exchange).path("texts");
+        if (shouldFail(exchange, texts.size())) {
+            return;
+        }
+        List<Map<String, Object>> results = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            Map<String, Object> result = toResult(scorer.score(texts.get(i).asText()));
+            result.put("index", i);
+            results.add(result);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("results", results);
+        response.put("processed_count", results.size());
+        response.put("error_count", 0);
+        response.put("processed_at", LocalDateTime.now().toString());
+        respond(exchange, 200, response);
+    }
+
+    // Sleeps for the sampled latency, then answers 500 for the configured share of calls
+    private boolean shouldFail(HttpExchange exchange, int texts) throws IOException {
+        calls.incrementAndGet();
+        try {
+            Thread.sleep(latency.sample(texts));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorRate) {
+            failedCalls.incrementAndGet();
+            respond(exchange, 500, Map.of("error", "Internal server error", "details", "injected by the load test"));
+            return true;
+        }
+        return false;
+    }
+
+    private static Map<String, Object> toResult(SentimentAnalysisResponse sentiment) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sentiment", sentiment.getSentiment());
+        result.put("confidence", sentiment.getConfidence());
+        result.put("score", sentiment.getScore());
+        result.put("is_positive", sentiment.getIsPositive());
+        return result;
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return objectMapper.readTree(body);
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // Log-normal call latency given by its median and p99, plus a fixed cost per extra text in a batch
+    static class LatencyProfile {
+        // z-score of the 99th percentile of the standard normal distribution
+        private static final double Z_99 = 2.326;
+
+        private final double medianMs;
+        private final double sigma;
+        private final double perExtraTextMs;
+
+        private LatencyProfile(double medianMs, double sigma, double perExtraTextMs) {
+            this.medianMs = medianMs;
+            this.sigma = sigma;
+            this.perExtraTextMs = perExtraTextMs;
+        }
+
+        static LatencyProfile none() {
+            return new LatencyProfile(0, 0, 0);
+        }
+
+        static LatencyProfile logNormal(Duration median, Duration p99, Duration perExtraText) {
+            double medianMs = median.toNanos() / 1_000_000.0;
+            double p99Ms = p99.toNanos() / 1_000_000.0;
+            return new LatencyProfile(medianMs, Math.log(p99Ms / medianMs) / Z_99, perExtraText.toNanos() / 1_000_000.0);
+        }
+
+        long sample(int texts) {
+            if (medianMs == 0) {
+                return 0;
+            }
+            double callMs = medianMs * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+            return Math.round(callMs + perExtraTextMs * Math.max(0, texts - 1));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("median %.0f ms, p99 %.0f ms, +%.1f ms per extra text",
+                    medianMs, medianMs * Math.exp(sigma * Z_99), perExtraTextMs);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.restaurantreview.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// End-to-end ingestion load test: the whole app against Postgres and Redis containers, with the NLP service
+// replaced by an in-process fake of configurable latency and error rate. Closed-loop workers drive a mix of
+// review submissions, leaderboard reads and restaurant detail reads; every scenario reports throughput,
+// p50/p99/p999 per operation and resource usage, and fails on a regression against loadtest/baseline.json.
+// Needs Docker. Run with: mvn test -Ploadtest [-Dloadtest.duration=60] [-Dloadtest.updateBaseline=true]
+@Tag("loadtest")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.example.restaurantreview=WARN",
+        "logging.level.org.springframework.data.redis=WARN",
+        "spring.jpa.show-sql=false",
+        "app.nlp.rescore.enabled=false"
+})
+class IngestionLoadTest {
+
+    private static final int RESTAURANTS = 200;
+    private static final int WORKERS = Integer.getInteger("loadtest.workers", 32);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration", 30);
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("loadtest.updateBaseline");
+
+    private static final String SUBMIT_REVIEW = "submitReview";
+    private static final String LEADERBOARD = "leaderboard";
+    private static final String RESTAURANT = "restaurant";
+
+    private static final String[] REVIEW_TEMPLATES = {
+            "The food was delicious and the staff were friendly, visit %d",
+            "Great pasta, lovely room, we will come back for visit %d",
+            "Cold, bland and overpriced. Visit %d was a disappointment",
+            "The service was slow but the dessert was amazing on visit %d",
+            "We ate at seven on a Tuesday, table %d by the window",
+            "Absolutely terrible experience, the soup was awful on visit %d"
+    };
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static FakeNlpServer nlp = FakeNlpServer.start();
+
+    @DynamicPropertySource
+    static void nlpServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("app.nlp.service-url", nlp::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopNlp() {
+        nlp.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    // Makes every review text unique, so the sentiment cache never answers for the NLP service
+    private final AtomicLong reviewSequence = new AtomicLong();
+
+    private final List<Long> restaurantIds = new ArrayList<>();
+
+    @Test
+    void mixedIngestionWorkload() throws Exception {
+        seedRestaurants();
+
+        List<ScenarioSpec> scenarios = List.of(
+                new ScenarioSpec("mixed-steady", "NLP median 20 ms, p99 80 ms, no errors",
+                        FakeNlpServer.LatencyProfile.logNormal(Duration.ofMillis(20), Duration.ofMillis(80),
+                                Duration.ofMillis(2)), 0.0),
+                new ScenarioSpec("mixed-slow-nlp", "NLP median 150 ms, p99 800 ms, no errors",
+                        FakeNlpServer.LatencyProfile.logNormal(Duration.ofMillis(150), Duration.ofMillis(800),
+                                Duration.ofMillis(5)), 0.0),
+                new ScenarioSpec("mixed-nlp-errors", "NLP median 20 ms, p99 80 ms, 10% of calls fail",
+                        FakeNlpServer.LatencyProfile.logNormal(Duration.ofMillis(20), Duration.ofMillis(80),
+                                Duration.ofMillis(2)), 0.1));
+
+        LoadTestReport report = new LoadTestReport();
+        for (ScenarioSpec scenario : scenarios) {
+            report.add(run(scenario));
+        }
+
+        report.print();
+        report.write();
+        if (UPDATE_BASELINE) {
+            report.writeBaseline();
+            System.out.println("Baseline written to " + LoadTestReport.BASELINE_SOURCE.toAbsolutePath());
+            return;
+        }
+
+        List<String> regressions = report.regressionsAgainstBaseline(TOLERANCE);
+        assertTrue(regressions.isEmpty(), "Regressions beyond " + Math.round(TOLERANCE * 100)
+                + "% of the baseline:\n" + String.join("\n", regressions));
+    }
+
+    private LoadTestReport.Scenario run(ScenarioSpec scenario) throws Exception {
+        nlp.configure(scenario.latency, scenario.errorRate);
+
+        // Warmup fills the JIT, the connection pools and the caches, its samples are thrown away
+        drive(WARMUP_SECONDS);
+
+        long nlpCallsBefore = nlp.getCalls();
+        long nlpFailedBefore = nlp.getFailedCalls();
+        ResourceMonitor monitor = new ResourceMonitor();
+        monitor.start();
+        long start = System.nanoTime();
+        Map<String, LatencyRecorder> operations = drive(DURATION_SECONDS);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        ResourceMonitor.Usage usage = monitor.stop();
+
+        return new LoadTestReport.Scenario(scenario.name, scenario.description, seconds, operations, usage,
+                nlp.getCalls() - nlpCallsBefore, nlp.getFailedCalls() - nlpFailedBefore);
+    }
+
+    // Closed loop: each worker sends its next request as soon as the previous one is answered
+    private Map<String, LatencyRecorder> drive(int seconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<Map<String, LatencyRecorder>>> workers = new ArrayList<>(WORKERS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < WORKERS; i++) {
+                workers.add(executor.submit(() -> work(deadline)));
+            }
+
+            Map<String, LatencyRecorder> merged = new LinkedHashMap<>();
+            for (String operation : List.of(SUBMIT_REVIEW, LEADERBOARD, RESTAURANT)) {
+                merged.put(operation, new LatencyRecorder());
+            }
+            for (Future<Map<String, LatencyRecorder>> worker : workers) {
+                worker.get().forEach((operation, recorder) -> merged.get(operation).merge(recorder));
+            }
+            return merged;
+        }
+    }
+
+    private Map<String, LatencyRecorder> work(long deadline) {
+        Map<String, LatencyRecorder> recorders = Map.of(
+                SUBMIT_REVIEW, new LatencyRecorder(),
+                LEADERBOARD, new LatencyRecorder(),
+                RESTAURANT, new LatencyRecorder());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            // 40% writes, 40% leaderboard reads, 20% restaurant detail reads
+            int roll = random.nextInt(10);
+            String operation;
+            HttpRequest request;
+            if (roll < 4) {
+                operation = SUBMIT_REVIEW;
+                request = reviewSubmission(random);
+            } else if (roll < 8) {
+                operation = LEADERBOARD;
+                request = get("/api/leaderboard?limit=10");
+            } else {
+                operation = RESTAURANT;
+                request = get("/api/restaurants/" + restaurantIds.get(random.nextInt(restaurantIds.size())));
+            }
+
+            long start = System.nanoTime();
+            boolean error;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                error = response.statusCode() >= 400;
+            } catch (Exception e) {
+                error = true;
+            }
+            recorders.get(operation).record(System.nanoTime() - start, error);
+        }
+        return recorders;
+    }
+
+    private HttpRequest reviewSubmission(ThreadLocalRandom random) {
+        long sequence = reviewSequence.incrementAndGet();
+        Map<String, Object> body = Map.of(
+                "restaurantId", restaurantIds.get(random.nextInt(restaurantIds.size())),
+                "reviewText", String.format(REVIEW_TEMPLATES[random.nextInt(REVIEW_TEMPLATES.length)], sequence),
+                "reviewerName", "Load Tester " + (sequence % 500));
+        return post("/api/reviews", body);
+    }
+
+    private void seedRestaurants() throws Exception {
+        String[] cuisines = {"Italian", "Japanese", "Mexican", "Indian", "French"};
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Map<String, Object> body = Map.of(
+                    "name", "Load Test Restaurant " + i,
+                    "description", "Seeded by the ingestion load test",
+                    "address", i + " Benchmark Street",
+                    "cuisineType", cuisines[i % cuisines.length]);
+            HttpResponse<String> response = client.send(post("/api/restaurants", body),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(201, response.statusCode(), response.body());
+            restaurantIds.add(objectMapper.readTree(response.body()).path("id").asLong());
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ScenarioSpec {
+        private final String name;
+        private final String description;
+        private final FakeNlpServer.LatencyProfile latency;
+        private final double errorRate;
+
+        ScenarioSpec(String name, String description, FakeNlpServer.LatencyProfile latency, double errorRate) {
+            this.name = name;
+            this.description = description;
+            this.latency = latency;
+            this.errorRate = errorRate;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.restaurantreview.loadtest;
+
+import java.util.Arrays;
+
+// Every sample of one operation, kept exactly. Each load worker owns its recorders, they are merged once the
+// scenario ends, so recording is a plain array write.
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean error) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (size + other.size > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, size + other.size));
+        }
+        System.arraycopy(other.samples, 0, samples, size, other.size);
+        size += other.size;
+        errors += other.errors;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    // Nearest-rank percentile in milliseconds, call once all workers are merged
+    double percentileMs(double percentile) {
+        if (size == 0) {
+            return 0.0;
+        }
+        Arrays.sort(samples, 0, size);
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return samples[Math.min(size, Math.max(rank, 1)) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.restaurantreview.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Results of every scenario, written as JSON and compared with the stored baseline. A scenario regresses when
+// its throughput drops, or the p99 of one of its operations grows, by more than the tolerance.
+class LoadTestReport {
+
+    static final String BASELINE_RESOURCE = "/loadtest/baseline.json";
+    static final Path BASELINE_SOURCE = Path.of("src/test/resources/loadtest/baseline.json");
+    static final Path REPORT_FILE = Path.of("target/loadtest-report.json");
+    static final String UPDATE_BASELINE_HINT = "mvn test -Ploadtest -Dloadtest.updateBaseline=true";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, Scenario> scenarios = new LinkedHashMap<>();
+
+    void add(Scenario scenario) {
+        scenarios.put(scenario.name, scenario);
+    }
+
+    void print() {
+        System.out.println();
+        System.out.printf("%-18s %-10s %9s %8s %9s %9s %9s %7s%n",
+                "scenario", "operation", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "ops/s");
+        for (Scenario scenario : scenarios.values()) {
+            scenario.operations.forEach((operation, recorder) -> System.out.printf(
+                    "%-18s %-10s %9d %8d %9.1f %9.1f %9.1f %7.0f%n",
+                    scenario.name, operation, recorder.count(), recorder.errors(),
+                    recorder.percentileMs(50), recorder.percentileMs(99), recorder.percentileMs(99.9),
+                    recorder.count() / scenario.seconds));
+            ResourceMonitor.Usage usage = scenario.usage;
+            System.out.printf("%-18s total %.0f ops/s | cpu %.0f%% | heap max %.0f MB | threads max %d | "
+                            + "gc %d (%d ms) | nlp calls %d (%d failed)%n",
+                    scenario.name, scenario.throughput(), usage.getCpuPercent(), usage.getMaxHeapMb(),
+                    usage.getMaxThreads(), usage.getGcCount(), usage.getGcMillis(),
+                    scenario.nlpCalls, scenario.nlpFailedCalls);
+        }
+        System.out.println();
+    }
+
+    void write() {
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            objectMapper.writeValue(REPORT_FILE.toFile(), toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Overwrites the baseline in the source tree, commit it once the numbers look right
+    void writeBaseline() {
+        try {
+            Files.createDirectories(BASELINE_SOURCE.getParent());
+            objectMapper.writeValue(BASELINE_SOURCE.toFile(), toJson());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // A scenario or operation without a recorded number fails too, otherwise an unmeasured baseline would let
+    // every run pass
+    List<String> regressionsAgainstBaseline(double tolerance) {
+        JsonNode baseline = readBaseline().path("scenarios");
+        List<String> regressions = new ArrayList<>();
+
+        for (Scenario scenario : scenarios.values()) {
+            JsonNode expected = baseline.path(scenario.name);
+            JsonNode baselineThroughput = expected.path("throughput");
+            if (!baselineThroughput.isNumber()) {
+                regressions.add(String.format("%s: no throughput in %s, record one with %s",
+                        scenario.name, BASELINE_SOURCE, UPDATE_BASELINE_HINT));
+            } else if (scenario.throughput() < baselineThroughput.asDouble() * (1 - tolerance)) {
+                regressions.add(String.format("%s: throughput %.0f ops/s, baseline %.0f ops/s",
+                        scenario.name, scenario.throughput(), baselineThroughput.asDouble()));
+            }
+            scenario.operations.forEach((operation, recorder) -> {
+                JsonNode baselineP99 = expected.path("operations").path(operation).path("p99Ms");
+                if (!baselineP99.isNumber()) {
+                    regressions.add(String.format("%s %s: no p99 in %s, record one with %s",
+                            scenario.name, operation, BASELINE_SOURCE, UPDATE_BASELINE_HINT));
+                } else if (recorder.percentileMs(99) > baselineP99.asDouble() * (1 + tolerance)) {
+                    regressions.add(String.format("%s %s: p99 %.1f ms, baseline %.1f ms",
+                            scenario.name, operation, recorder.percentileMs(99), baselineP99.asDouble()));
+                }
+            });
+        }
+        return regressions;
+    }
+
+    private JsonNode readBaseline() {
+        try (InputStream input = LoadTestReport.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            return input != null ? objectMapper.readTree(input) : objectMapper.createObjectNode();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ObjectNode toJson() {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode scenariosNode = root.putObject("scenarios");
+        for (Scenario scenario : scenarios.values()) {
+            ObjectNode node = scenariosNode.putObject(scenario.name);
+            node.put("description", scenario.description);
+            node.put("seconds", scenario.seconds);
+            node.put("throughput", Math.round(scenario.throughput() * 10) / 10.0);
+
+            ObjectNode operationsNode = node.putObject("operations");
+            scenario.operations.forEach((operation, recorder) -> {
+                ObjectNode op = operationsNode.putObject(operation);
+                op.put("count", recorder.count());
+                op.put("errors", recorder.errors());
+                op.put("p50Ms", recorder.percentileMs(50));
+                op.put("p99Ms", recorder.percentileMs(99));
+                op.put("p999Ms", recorder.percentileMs(99.9));
+            });
+
+            ObjectNode resources = node.putObject("resources");
+            resources.put("cpuPercent", Math.round(scenario.usage.getCpuPercent() * 10) / 10.0);
+            resources.put("maxHeapMb", Math.round(scenario.usage.getMaxHeapMb()));
+            resources.put("maxThreads", scenario.usage.getMaxThreads());
+            resources.put("gcCount", scenario.usage.getGcCount());
+            resources.put("gcMillis", scenario.usage.getGcMillis());
+
+            ObjectNode nlp = node.putObject("nlp");
+            nlp.put("calls", scenario.nlpCalls);
+            nlp.put("failedCalls", scenario.nlpFailedCalls);
+        }
+        return root;
+    }
+
+    static class Scenario {
+        private final String name;
+        private final String description;
+        private final double seconds;
+        private final Map<String, LatencyRecorder> operations;
+        private final ResourceMonitor.Usage usage;
+        private final long nlpCalls;
+        private final long nlpFailedCalls;
+
+        Scenario(String name, String description, double seconds, Map<String, LatencyRecorder> operations,
+                 ResourceMonitor.Usage usage, long nlpCalls, long nlpFailedCalls) {
+            this.name = name;
+            this.description = description;
+            this.seconds = seconds;
+            this.operations = operations;
+            this.usage = usage;
+            this.nlpCalls = nlpCalls;
+            this.nlpFailedCalls = nlpFailedCalls;
+        }
+
+        double throughput() {
+            long total = 0;
+            for (LatencyRecorder recorder : operations.values()) {
+                total += recorder.count();
+            }
+            return total / seconds;
+        }
+    }
+}
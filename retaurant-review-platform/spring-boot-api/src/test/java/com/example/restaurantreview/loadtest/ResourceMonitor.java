@@ -0,0 +1,90 @@
+package com.example.restaurantreview.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// CPU, heap, GC and thread usage of this JVM over one scenario. The app, the fake NLP service and the load
+// driver share the process, so these are upper bounds for the app alone.
+class ResourceMonitor {
+
+    private final com.sun.management.OperatingSystemMXBean os =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private ScheduledExecutorService sampler;
+    private volatile long maxHeapBytes;
+    private volatile int maxThreads;
+    private long startNanos;
+    private long startCpuNanos;
+    private long startGcCount;
+    private long startGcMillis;
+
+    void start() {
+        maxHeapBytes = 0;
+        maxThreads = 0;
+        startNanos = System.nanoTime();
+        startCpuNanos = os.getProcessCpuTime();
+        startGcCount = gcCount();
+        startGcMillis = gcMillis();
+
+        sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxHeapBytes = Math.max(maxHeapBytes, memory.getHeapMemoryUsage().getUsed());
+            maxThreads = Math.max(maxThreads, threads.getThreadCount());
+        }, 0, 250, TimeUnit.MILLISECONDS);
+    }
+
+    Usage stop() {
+        sampler.shutdownNow();
+        double wallNanos = System.nanoTime() - startNanos;
+        double cpuPercent = 100.0 * (os.getProcessCpuTime() - startCpuNanos)
+                / (wallNanos * Runtime.getRuntime().availableProcessors());
+        return new Usage(cpuPercent, maxHeapBytes / (1024.0 * 1024.0), maxThreads,
+                gcCount() - startGcCount, gcMillis() - startGcMillis);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    static class Usage {
+        private final double cpuPercent;
+        private final double maxHeapMb;
+        private final int maxThreads;
+        private final long gcCount;
+        private final long gcMillis;
+
+        Usage(double cpuPercent, double maxHeapMb, int maxThreads, long gcCount, long gcMillis) {
+            this.cpuPercent = cpuPercent;
+            this.maxHeapMb = maxHeapMb;
+            this.maxThreads = maxThreads;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+        }
+
+        // Getters
+        public double getCpuPercent() { return cpuPercent; }
+        public double getMaxHeapMb() { return maxHeapMb; }
+        public int getMaxThreads() { return maxThreads; }
+        public long getGcCount() { return gcCount; }
+        public long getGcMillis() { return gcMillis; }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.restaurantreview.repository;
+
+import com.example.restaurantreview.service.LeaderboardService;
+import com.example.restaurantreview.service.RestaurantService;
+import com.example.restaurantreview.service.ReviewSearchService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Calls each repository query, captures the SQL Hibernate generates for it and runs EXPLAIN on that SQL
+// against the local database. Statements are prepared and planned generically, so the plan cannot depend on
+// parameter values. With enable_seqscan off the planner only picks a sequential scan when no index can serve
+// the query, so the result does not depend on how much data the local tables hold.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.restaurantreview.repository.CapturingStatementInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryQueryPlanTest {
+
+    private static final Pattern NUMBERED_PARAMETER = Pattern.compile("\\$\\d+");
+    private static final LocalDateTime SINCE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    // Ranked reads take the database fallback when the sorted set is empty
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewIngestionTaskRepository taskRepository;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private ReviewSearchService reviewSearchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicInteger preparedStatements = new AtomicInteger();
+
+    Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                // RestaurantRepository. Page 1 so the count query runs as well.
+                query("findByNameIgnoreCase", () -> restaurantRepository.findByNameIgnoreCase("Pizza Place")),
+                query("findSummariesByCuisineType",
+                        () -> restaurantRepository.findSummariesByCuisineType("italian")),
+                query("searchByNamePattern (substring)",
+                        () -> restaurantService.searchRestaurants("pizza", PageRequest.of(1, 10))),
+                query("searchByNamePattern (short prefix)",
+                        () -> restaurantService.searchRestaurants("pi", PageRequest.of(1, 10))),
+                query("findByMinimumScore", () -> restaurantRepository.findByMinimumScore(0.8)),
+                query("top-rated fallback", () -> restaurantService.getTopRatedRestaurants(0, 20)),
+                query("most-reviewed fallback", () -> restaurantService.getMostReviewedRestaurants(0, 20)),
+
+                // ReviewRepository
+                query("findViewsByRestaurantId",
+                        () -> reviewRepository.findViewsByRestaurantId(1L, PageRequest.of(1, 20))),
+                query("findViewsByRestaurantIdAndSentimentLabel",
+                        () -> reviewRepository.findViewsByRestaurantIdAndSentimentLabel(1L, "POSITIVE")),
+                query("findFeedFirstPage", () -> reviewRepository.findFeedFirstPage(1L, PageRequest.of(0, 21))),
+                query("findFeedAfter",
+                        () -> reviewRepository.findFeedAfter(1L, SINCE, 1000L, PageRequest.of(0, 21))),
+                query("findRecentReviewsForRestaurant",
+                        () -> reviewRepository.findRecentReviewsForRestaurant(1L, SINCE)),
+                query("sumScoresByRestaurant", () -> reviewRepository.sumScoresByRestaurant(List.of(1L, 2L, 3L))),
+                query("review full-text search",
+                        () -> reviewSearchService.searchReviews("great pasta", 1L, null, null, 20)),
+                query("findRescoreCandidates",
+                        () -> reviewRepository.findRescoreCandidates(0L, PageRequest.of(0, 200))),
+
+                // ReviewIngestionTaskRepository
+                query("findByReviewId", () -> taskRepository.findByReviewId(1L)),
+                query("findDueTaskIds", () -> taskRepository.findDueTaskIds(SINCE, PageRequest.of(0, 100))),
+                query("releaseStaleTasks", () -> taskRepository.releaseStaleTasks(SINCE.minusMinutes(5), SINCE))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQueryUsesAnIndex(String query, Runnable call) {
+        List<String> statements = capture(call);
+        assertFalse(statements.isEmpty(), query + " ran no SQL");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains("Seq Scan"), query + " falls back to a sequential scan:\n" + sql + "\n" + plan);
+        }
+    }
+
+    // The partial score index only applies when the query repeats its sentiment_score IS NOT NULL predicate
+    @Test
+    void sumScoresByRestaurantUsesThePartialScoreIndex() {
+        List<String> statements = capture(() -> reviewRepository.sumScoresByRestaurant(List.of(1L, 2L, 3L)));
+        assertEquals(1, statements.size(), "sumScoresByRestaurant statements: " + statements);
+
+        String plan = explain(statements.get(0));
+        assertTrue(plan.contains("idx_reviews_restaurant_score"), "sumScoresByRestaurant plan:\n" + plan);
+    }
+
+    private static Arguments query(String name, Runnable call) {
+        return Arguments.of(name, call);
+    }
+
+    // Rolled back: releaseStaleTasks is an UPDATE
+    private List<String> capture(Runnable call) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            List<String> statements;
+            CapturingStatementInspector.start();
+            try {
+                call.run();
+            } finally {
+                statements = CapturingStatementInspector.stop();
+            }
+            return statements;
+        });
+    }
+
+    private String explain(String sql) {
+        String numbered = numberParameters(sql);
+        long parameters = NUMBERED_PARAMETER.matcher(numbered).results().count();
+        String name = "plan_check_" + preparedStatements.incrementAndGet();
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+            jdbcTemplate.execute("PREPARE " + name + " AS " + numbered);
+
+            String arguments = parameters > 0
+                    ? "(" + String.join(", ", Collections.nCopies((int) parameters, "NULL")) + ")"
+                    : "";
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN EXECUTE " + name + arguments, String.class);
+            jdbcTemplate.execute("DEALLOCATE " + name);
+            return String.join("\n", lines);
+        });
+    }
+
+    // Hibernate's ? placeholders as $1..$n for PREPARE, leaving quoted literals such as the LIKE escape alone
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
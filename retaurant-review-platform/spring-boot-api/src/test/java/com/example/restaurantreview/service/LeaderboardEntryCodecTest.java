@@ -0,0 +1,119 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.service.LeaderboardService.RestaurantLeaderboardEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Plain unit test of the Redis value layouts, no Redis involved
+class LeaderboardEntryCodecTest {
+
+    private final LeaderboardEntryCodec binaryCodec = new LeaderboardEntryCodec(RedisValueFormat.BINARY);
+    private final LeaderboardEntryCodec jsonCodec = new LeaderboardEntryCodec(RedisValueFormat.JSON);
+
+    @Test
+    void binaryRoundTripKeepsEveryField() {
+        RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry(4217L, "Trattoria da Enzo \u00e0 Roma", 0.8734, 1289, "Italian");
+
+        byte[] encoded = binaryCodec.encode(entry);
+        RestaurantLeaderboardEntry decoded = binaryCodec.decode(encoded);
+
+        assertEquals(LeaderboardEntryCodec.BINARY_V1, encoded[0]);
+        assertEquals(4217L, decoded.getId());
+        assertEquals("Trattoria da Enzo \u00e0 Roma", decoded.getName());
+        assertEquals(0.8734, decoded.getAverageScore());
+        assertEquals(1289, decoded.getReviewCount());
+        assertEquals("Italian", decoded.getCuisineType());
+    }
+
+    @Test
+    void binaryIsSmallerThanTheLegacyJson() {
+        RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry(4217L, "Trattoria da Enzo", 0.8734, 1289, "Italian");
+        assertTrue(binaryCodec.encode(entry).length * 3 < jsonCodec.encode(entry).length);
+    }
+
+    @Test
+    void missingFieldsStayNull() {
+        RestaurantLeaderboardEntry decoded = binaryCodec.decode(
+                binaryCodec.encode(new RestaurantLeaderboardEntry(7L, null, null, null, null)));
+
+        assertEquals(7L, decoded.getId());
+        assertNull(decoded.getName());
+        assertNull(decoded.getAverageScore());
+        assertNull(decoded.getReviewCount());
+        assertNull(decoded.getCuisineType());
+    }
+
+    @Test
+    void eachCodecReadsTheOtherFormat() {
+        RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry(12L, "Sushi Ko", -0.25, 3, "Japanese");
+
+        // Entries written by GenericJackson2JsonRedisSerializer before the codec existed
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(entry);
+        assertEquals("Sushi Ko", binaryCodec.decode(legacy).getName());
+        assertEquals(-0.25, binaryCodec.decode(legacy).getAverageScore());
+
+        // A node still on json during a rolling switch to binary
+        assertEquals("Japanese", jsonCodec.decode(binaryCodec.encode(entry)).getCuisineType());
+    }
+
+    @Test
+    void isCurrentFormatFollowsTheConfiguredFormat() {
+        RestaurantLeaderboardEntry entry = new RestaurantLeaderboardEntry(1L, "Bistro", 0.5, 1, "French");
+        byte[] binary = binaryCodec.encode(entry);
+        byte[] json = jsonCodec.encode(entry);
+
+        assertEquals('{', json[0]);
+        assertTrue(binaryCodec.isCurrentFormat(binary));
+        assertFalse(binaryCodec.isCurrentFormat(json));
+        assertTrue(jsonCodec.isCurrentFormat(json));
+        assertFalse(jsonCodec.isCurrentFormat(binary));
+        assertFalse(binaryCodec.isCurrentFormat(new byte[0]));
+    }
+
+    @Test
+    void unreadableValuesDecodeToNull() {
+        byte[] binary = binaryCodec.encode(new RestaurantLeaderboardEntry(1L, "Bistro", 0.5, 1, "French"));
+
+        byte[] newerVersion = binary.clone();
+        newerVersion[0] = 2;
+        assertNull(binaryCodec.decode(newerVersion));
+
+        assertNull(binaryCodec.decode(Arrays.copyOf(binary, binary.length - 3)));
+        assertNull(binaryCodec.decode("{\"broken".getBytes(StandardCharsets.UTF_8)));
+        assertNull(binaryCodec.decode(new byte[0]));
+        assertNull(binaryCodec.decode(null));
+    }
+
+    @Test
+    void sentimentResponseRoundTrip() {
+        SentimentAnalysisResponse response = new SentimentAnalysisResponse();
+        response.setSentiment("NEGATIVE");
+        response.setConfidence(0.91);
+        response.setScore(-0.91);
+        response.setIsPositive(false);
+        response.setEngine(Review.SENTIMENT_ENGINE_TRANSFORMER);
+
+        SentimentAnalysisResponse decoded = SentimentResponseCodec.decode(SentimentResponseCodec.encode(response));
+
+        assertEquals("NEGATIVE", decoded.getSentiment());
+        assertEquals(0.91, decoded.getConfidence());
+        assertEquals(-0.91, decoded.getScore());
+        assertEquals(Boolean.FALSE, decoded.getIsPositive());
+        assertNull(decoded.getProcessedAt());
+        assertEquals(Review.SENTIMENT_ENGINE_TRANSFORMER, decoded.getEngine());
+
+        // Neutral results carry no isPositive at all
+        response.setIsPositive(null);
+        assertNull(SentimentResponseCodec.decode(SentimentResponseCodec.encode(response)).getIsPositive());
+    }
+}
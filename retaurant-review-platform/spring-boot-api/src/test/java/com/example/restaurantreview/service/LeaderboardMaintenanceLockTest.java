@@ -0,0 +1,92 @@
+package com.example.restaurantreview.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Plain unit test with Redis stubbed: the lock key stands in for another node holding or not holding the lock
+class LeaderboardMaintenanceLockTest {
+
+    private static final String REBUILD_LOCK = "restaurant:leaderboard:lock:rebuild";
+    private static final Duration LEASE = Duration.ofMinutes(30);
+
+    private final LeaderboardMaintenanceService maintenanceService = new LeaderboardMaintenanceService();
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(maintenanceService, "leaderboardService", leaderboardService);
+        ReflectionTestUtils.setField(maintenanceService, "redisTemplate", redisTemplate);
+        ReflectionTestUtils.setField(maintenanceService, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(maintenanceService, "lockLease", LEASE);
+        ReflectionTestUtils.setField(maintenanceService, "warmupEnabled", true);
+
+        when(leaderboardService.getLeaderboardKey()).thenReturn("restaurant:leaderboard");
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void rebuildIsRefusedWhileAnotherNodeHoldsTheLock() {
+        when(valueOperations.setIfAbsent(eq(REBUILD_LOCK), anyString(), eq(LEASE))).thenReturn(false);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, maintenanceService::rebuild);
+
+        assertEquals("A leaderboard rebuild is already running on another node", e.getMessage());
+        verifyNoInteractions(redisTemplate);
+        verify(stringRedisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+    }
+
+    @Test
+    void warmUpIsSkippedWhileAnotherNodeHoldsTheLock() {
+        when(valueOperations.setIfAbsent(eq(REBUILD_LOCK), anyString(), eq(LEASE))).thenReturn(false);
+
+        maintenanceService.warmUp();
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedRebuildReleasesTheLockWithItsOwnToken() {
+        when(valueOperations.setIfAbsent(eq(REBUILD_LOCK), anyString(), eq(LEASE))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new IllegalArgumentException("Redis is down"));
+
+        assertThrows(IllegalArgumentException.class, maintenanceService::rebuild);
+
+        ArgumentCaptor<String> acquired = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq(REBUILD_LOCK), acquired.capture(), eq(LEASE));
+        ArgumentCaptor<Object> released = ArgumentCaptor.forClass(Object.class);
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of(REBUILD_LOCK)), released.capture());
+        assertEquals(acquired.getValue(), released.getValue());
+
+        // The local guard is free again as well
+        when(valueOperations.setIfAbsent(eq(REBUILD_LOCK), anyString(), eq(LEASE))).thenReturn(false);
+        assertThrows(IllegalStateException.class, maintenanceService::rebuild);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.service.LeaderboardService.RestaurantLeaderboardEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// Plain unit test with Redis stubbed: loads are counted through the loader functions
+class LeaderboardNearCacheTest {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final LeaderboardNearCache nearCache = new LeaderboardNearCache();
+    private final AtomicInteger topLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(nearCache, "stringRedisTemplate", mock(StringRedisTemplate.class));
+        ReflectionTestUtils.setField(nearCache, "listenerContainer", mock(RedisMessageListenerContainer.class));
+        ReflectionTestUtils.setField(nearCache, "enabled", true);
+        ReflectionTestUtils.setField(nearCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(nearCache, "maxStaleness", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(nearCache, "maxRankEntries", 100);
+        ReflectionTestUtils.setField(nearCache, "invalidationChannel", "test:invalidations");
+    }
+
+    @AfterEach
+    void tearDown() {
+        nearCache.stop();
+    }
+
+    @Test
+    void invalidationServesTheOldSnapshotWhileOneRefreshLoadsTheNewOne() throws Exception {
+        nearCache.start();
+        assertEquals("v1", topName(nearCache.getTop(10, MAX_LIMIT, versionedLoader())));
+
+        nearCache.invalidate();
+        assertEquals("v1", topName(nearCache.getTop(10, MAX_LIMIT, versionedLoader())));
+
+        awaitLoads(2);
+        assertEquals("v2", topName(nearCache.getTop(10, MAX_LIMIT, versionedLoader())));
+        assertEquals(2, topLoads.get());
+        assertEquals(1, nearCache.getStats().getStaleHits());
+    }
+
+    @Test
+    void snapshotPastTheTtlIsRefreshedInTheBackground() throws Exception {
+        ReflectionTestUtils.setField(nearCache, "ttl", Duration.ofMillis(20));
+        nearCache.start();
+        nearCache.getTop(10, MAX_LIMIT, versionedLoader());
+
+        Thread.sleep(40);
+        assertEquals("v1", topName(nearCache.getTop(10, MAX_LIMIT, versionedLoader())));
+        awaitLoads(2);
+        assertEquals("v2", topName(nearCache.getTop(10, MAX_LIMIT, versionedLoader())));
+    }
+
+    @Test
+    void staleReadsShareOneRefresh() throws Exception {
+        nearCache.start();
+        nearCache.getTop(10, MAX_LIMIT, versionedLoader());
+
+        CountDownLatch release = new CountDownLatch(1);
+        IntFunction<List<RestaurantLeaderboardEntry>> blockingLoader = limit -> {
+            await(release);
+            return versionedLoader().apply(limit);
+        };
+        nearCache.invalidate();
+        for (int i = 0; i < 20; i++) {
+            assertEquals("v1", topName(nearCache.getTop(10, MAX_LIMIT, blockingLoader)));
+        }
+        release.countDown();
+
+        awaitLoads(2);
+        Thread.sleep(50);
+        assertEquals(2, topLoads.get());
+        assertEquals(1, nearCache.getStats().getRefreshes());
+    }
+
+    @Test
+    void concurrentColdMissesShareOneLoad() throws Exception {
+        nearCache.start();
+        CountDownLatch release = new CountDownLatch(1);
+        IntFunction<List<RestaurantLeaderboardEntry>> blockingLoader = limit -> {
+            await(release);
+            return versionedLoader().apply(limit);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<RestaurantLeaderboardEntry>>> reads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                reads.add(executor.submit(() -> nearCache.getTop(10, MAX_LIMIT, blockingLoader)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<List<RestaurantLeaderboardEntry>> read : reads) {
+                assertEquals("v1", topName(read.get(5, TimeUnit.SECONDS)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, topLoads.get());
+    }
+
+    @Test
+    void snapshotPastMaxStalenessIsNeverServed() throws Exception {
+        ReflectionTestUtils.setField(nearCache, "ttl", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(nearCache, "maxStaleness", Duration.ofMillis(60));
+        nearCache.start();
+        nearCache.getTop(10, MAX_LIMIT, versionedLoader());
+
+        // Refreshes keep failing: the old snapshot is served only until max-staleness
+        IntFunction<List<RestaurantLeaderboardEntry>> failingLoader = limit -> {
+            throw new IllegalStateException("Redis is down");
+        };
+        Thread.sleep(20);
+        assertEquals("v1", topName(nearCache.getTop(10, MAX_LIMIT, failingLoader)));
+        Thread.sleep(60);
+        assertThrows(IllegalStateException.class, () -> nearCache.getTop(10, MAX_LIMIT, failingLoader));
+
+        // Once Redis answers again the expired snapshot is replaced by a synchronous load
+        assertEquals("v2", topName(nearCache.getTop(10, MAX_LIMIT, versionedLoader())));
+        assertEquals(2, nearCache.getStats().getExpiredLoads());
+    }
+
+    @Test
+    void ranksAreEvictedLeastRecentlyReadFirst() {
+        ReflectionTestUtils.setField(nearCache, "maxRankEntries", 2);
+        nearCache.start();
+        AtomicInteger rankLoads = new AtomicInteger();
+
+        nearCache.getRank(1L, id -> { rankLoads.incrementAndGet(); return 10L; });
+        nearCache.getRank(2L, id -> { rankLoads.incrementAndGet(); return 20L; });
+        nearCache.getRank(1L, id -> { rankLoads.incrementAndGet(); return 10L; });
+        nearCache.getRank(3L, id -> { rankLoads.incrementAndGet(); return 30L; });
+        assertEquals(3, rankLoads.get());
+
+        // 1 was read after 2, so 2 is the one that went
+        assertEquals(10L, nearCache.getRank(1L, id -> { rankLoads.incrementAndGet(); return -1L; }));
+        assertEquals(3, rankLoads.get());
+        assertEquals(20L, nearCache.getRank(2L, id -> { rankLoads.incrementAndGet(); return 20L; }));
+        assertEquals(4, rankLoads.get());
+        assertEquals(2, nearCache.getStats().getRankEntries());
+        assertEquals(2, nearCache.getStats().getRankEvictions());
+    }
+
+    // Each load returns a list whose first entry is named after the load number
+    private IntFunction<List<RestaurantLeaderboardEntry>> versionedLoader() {
+        return limit -> List.of(new RestaurantLeaderboardEntry(1L, "v" + topLoads.incrementAndGet(), 0.5, 1, "Test"));
+    }
+
+    private static String topName(List<RestaurantLeaderboardEntry> entries) {
+        return entries.get(0).getName();
+    }
+
+    private void awaitLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (topLoads.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(topLoads.get() >= expected, "Expected " + expected + " loads, saw " + topLoads.get());
+        // The refresh stores its snapshot right after the loader returns
+        Thread.sleep(20);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
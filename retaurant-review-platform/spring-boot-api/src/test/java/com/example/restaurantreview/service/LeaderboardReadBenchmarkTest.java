@@ -0,0 +1,133 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.Restaurant;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compares the old N+1 leaderboard read (ZREVRANGE, then one HGET per entry) with the single
+// round-trip script. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "app.leaderboard.cache-key=benchmark:leaderboard",
+        // Measure Redis round trips, not the in-process near cache
+        "app.leaderboard.near-cache.enabled=false"
+})
+class LeaderboardReadBenchmarkTest {
+
+    private static final String LEADERBOARD_KEY = "benchmark:leaderboard";
+    private static final long FIRST_ID = 9_000_000L;
+    private static final int RESTAURANTS = 60;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 2000;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private LeaderboardEntryCodec entryCodec;
+
+    @BeforeAll
+    void seedLeaderboard() {
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant("Benchmark " + i, "benchmark", "benchmark", "Benchmark");
+            restaurant.setId(FIRST_ID + i);
+            restaurant.setReviewCount(10);
+            restaurant.setTotalScore(i / 10.0);
+            restaurant.setAverageScore(i / 100.0);
+            leaderboardService.updateRestaurantScore(restaurant);
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        redisTemplate.delete(List.of(LEADERBOARD_KEY, LEADERBOARD_KEY + ":review-count", LEADERBOARD_KEY + ":changes",
+                LEADERBOARD_KEY + ":cuisine:benchmark"));
+        for (int i = 0; i < RESTAURANTS; i++) {
+            redisTemplate.delete("restaurant:" + (FIRST_ID + i));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50})
+    void compareTopReadLatency(int limit) {
+        List<LeaderboardService.RestaurantLeaderboardEntry> legacy = legacyTopRestaurants(limit);
+        List<LeaderboardService.RestaurantLeaderboardEntry> scripted = leaderboardService.getTopRestaurants(limit);
+        assertEquals(limit, scripted.size());
+        assertEquals(legacy.stream().map(LeaderboardService.RestaurantLeaderboardEntry::getId).toList(),
+                scripted.stream().map(LeaderboardService.RestaurantLeaderboardEntry::getId).toList());
+
+        long[] legacyNanos = measure(this::legacyTopRestaurants, limit);
+        long[] scriptedNanos = measure(leaderboardService::getTopRestaurants, limit);
+
+        System.out.printf("leaderboard top %d  legacy N+1: p50 %.3f ms, p99 %.3f ms  |  script: p50 %.3f ms, p99 %.3f ms%n",
+                limit,
+                percentileMs(legacyNanos, 50), percentileMs(legacyNanos, 99),
+                percentileMs(scriptedNanos, 50), percentileMs(scriptedNanos, 99));
+    }
+
+    // The read path as it was before the script: one ZREVRANGE plus one HGET per entry
+    private List<LeaderboardService.RestaurantLeaderboardEntry> legacyTopRestaurants(int limit) {
+        Set<ZSetOperations.TypedTuple<String>> rankings = stringRedisTemplate.opsForZSet()
+                .reverseRangeWithScores(LEADERBOARD_KEY, 0, limit - 1);
+
+        List<LeaderboardService.RestaurantLeaderboardEntry> leaderboard = new ArrayList<>();
+        if (rankings != null) {
+            for (ZSetOperations.TypedTuple<String> tuple : rankings) {
+                byte[] data = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.hashCommands()
+                        .hGet(tuple.getValue().getBytes(StandardCharsets.UTF_8), LeaderboardService.DATA_FIELD));
+                LeaderboardService.RestaurantLeaderboardEntry entry = entryCodec.decode(data);
+                if (entry != null) {
+                    entry.setRank(leaderboard.size() + 1);
+                    leaderboard.add(entry);
+                }
+            }
+        }
+        return leaderboard;
+    }
+
+    private long[] measure(IntFunction<List<LeaderboardService.RestaurantLeaderboardEntry>> read, int limit) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            read.apply(limit);
+        }
+
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            read.apply(limit);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double percentileMs(long[] sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+}
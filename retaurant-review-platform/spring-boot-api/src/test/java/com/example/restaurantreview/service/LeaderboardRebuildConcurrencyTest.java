@@ -0,0 +1,135 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Score updates that land while a rebuild streams the database and swaps its sets in must all be in the
+// Redis aggregates and rankings afterwards
+@SpringBootTest
+class LeaderboardRebuildConcurrencyTest {
+
+    private static final int RESTAURANTS = 8;
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 40;
+    private static final String LEADERBOARD_KEY = "restaurant:leaderboard";
+    private static final String CUISINE_KEY = LEADERBOARD_KEY + ":cuisine:rebuild-test";
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private LeaderboardMaintenanceService maintenanceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final List<Long> restaurantIds = new ArrayList<>();
+
+    @BeforeEach
+    void createRestaurants() {
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant("Rebuild Test " + i + " " + System.nanoTime(), "test", "test",
+                    "Rebuild Test");
+            restaurantIds.add(restaurantRepository.save(restaurant).getId());
+        }
+    }
+
+    @AfterEach
+    void deleteRestaurants() {
+        restaurantIds.forEach(restaurantService::deleteRestaurant);
+        restaurantIds.clear();
+    }
+
+    @Test
+    void scoreUpdatesDuringRebuildsAreNotLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean updating = new AtomicBoolean(true);
+        List<Future<?>> updates = new ArrayList<>();
+        try {
+            Future<Integer> rebuilds = executor.submit(() -> {
+                start.await();
+                int runs = 0;
+                while (updating.get() || runs == 0) {
+                    maintenanceService.rebuild();
+                    runs++;
+                }
+                return runs;
+            });
+
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                updates.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        Long restaurantId = restaurantIds.get((thread + i) % RESTAURANTS);
+                        double score = (i % 2 == 0) ? 0.9 : -0.3;
+                        transactionTemplate.executeWithoutResult(status -> {
+                            Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+                            restaurantService.updateRestaurantScores(restaurant, score);
+                        });
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> update : updates) {
+                update.get(2, TimeUnit.MINUTES);
+            }
+            updating.set(false);
+            assertTrue(rebuilds.get(2, TimeUnit.MINUTES) > 0);
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        int totalReviews = 0;
+        for (Long restaurantId : restaurantIds) {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+            String restaurantKey = "restaurant:" + restaurantId;
+            totalReviews += restaurant.getReviewCount();
+
+            assertEquals(String.valueOf(restaurant.getReviewCount()),
+                    stringRedisTemplate.opsForHash().get(restaurantKey, "reviewCount"));
+            assertEquals(restaurant.getTotalScore(),
+                    Double.parseDouble((String) stringRedisTemplate.opsForHash().get(restaurantKey, "totalScore")), 1e-6);
+
+            Double leaderboardScore = stringRedisTemplate.opsForZSet().score(LEADERBOARD_KEY, restaurantKey);
+            Double cuisineScore = stringRedisTemplate.opsForZSet().score(CUISINE_KEY, restaurantKey);
+            Double countScore = stringRedisTemplate.opsForZSet().score(LEADERBOARD_KEY + ":review-count", restaurantKey);
+            assertNotNull(leaderboardScore, restaurantKey + " missing from the leaderboard");
+            assertNotNull(cuisineScore, restaurantKey + " missing from its cuisine leaderboard");
+            assertEquals(restaurant.getAverageScore(), leaderboardScore, 1e-6);
+            assertEquals(restaurant.getAverageScore(), cuisineScore, 1e-6);
+            assertEquals(restaurant.getReviewCount(), countScore.intValue());
+        }
+        assertEquals(THREADS * UPDATES_PER_THREAD, totalReviews);
+    }
+}
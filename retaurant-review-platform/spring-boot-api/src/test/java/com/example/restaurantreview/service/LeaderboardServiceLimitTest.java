@@ -0,0 +1,128 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.service.LeaderboardService.RestaurantLeaderboardEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisElementReader;
+import org.springframework.data.redis.serializer.RedisElementWriter;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+// Plain unit test with Redis stubbed: a limit of zero or less must never reach Redis, where
+// ZREVRANGE 0 -1 would return the whole leaderboard, and the reactive read goes through the top script
+class LeaderboardServiceLimitTest {
+
+    private static final String LEADERBOARD_KEY = "restaurant:leaderboard";
+    private static final int TOP_LIMIT = 50;
+
+    private final LeaderboardService leaderboardService = new LeaderboardService();
+    private ReactiveStringRedisTemplate reactiveStringRedisTemplate;
+    private ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reactiveStringRedisTemplate = mock(ReactiveStringRedisTemplate.class);
+        reactiveRedisTemplate = mock(ReactiveRedisTemplate.class);
+        stringRedisTemplate = mock(StringRedisTemplate.class);
+
+        ReflectionTestUtils.setField(leaderboardService, "reactiveStringRedisTemplate", reactiveStringRedisTemplate);
+        ReflectionTestUtils.setField(leaderboardService, "reactiveRedisTemplate", reactiveRedisTemplate);
+        ReflectionTestUtils.setField(leaderboardService, "stringRedisTemplate", stringRedisTemplate);
+        ReflectionTestUtils.setField(leaderboardService, "nearCache", mock(LeaderboardNearCache.class));
+        ReflectionTestUtils.setField(leaderboardService, "entryCodec", new LeaderboardEntryCodec(RedisValueFormat.BINARY));
+        ReflectionTestUtils.setField(leaderboardService, "leaderboardKey", LEADERBOARD_KEY);
+        ReflectionTestUtils.setField(leaderboardService, "topLimit", TOP_LIMIT);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, -25})
+    void reactiveTopWithoutPositiveLimitIsEmpty(int limit) {
+        assertTrue(leaderboardService.getTopRestaurantsReactive(limit).block().isEmpty());
+        verifyNoInteractions(reactiveStringRedisTemplate, reactiveRedisTemplate);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, -25})
+    void blockingTopWithoutPositiveLimitIsEmpty(int limit) {
+        assertTrue(leaderboardService.getTopRestaurants(limit).isEmpty());
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    void reactiveTopIsCappedAtTopLimit() {
+        stubTopScript(List.of());
+
+        assertTrue(leaderboardService.getTopRestaurantsReactive(10_000).block().isEmpty());
+        assertEquals(List.of(String.valueOf(TOP_LIMIT)), scriptArgs());
+    }
+
+    @Test
+    void reactiveTopKeepsTheSortedSetPositionAsRank() {
+        LeaderboardEntryCodec codec = new LeaderboardEntryCodec(RedisValueFormat.BINARY);
+        List<Object> reply = new ArrayList<>();
+        reply.addAll(List.of(bytes("restaurant:1"), bytes("0.9"),
+                codec.encode(new RestaurantLeaderboardEntry(1L, "First", 0.9, 10, "Thai"))));
+        // Member whose hash has gone missing, it must not pull the next one up to rank 2
+        reply.addAll(Arrays.asList(bytes("restaurant:2"), bytes("0.8"), null));
+        reply.addAll(List.of(bytes("restaurant:3"), bytes("0.7"),
+                codec.encode(new RestaurantLeaderboardEntry(3L, "Third", 0.7, 5, "Thai"))));
+        stubTopScript(reply);
+
+        List<RestaurantLeaderboardEntry> top = leaderboardService.getTopRestaurantsReactive(3).block();
+
+        assertEquals(2, top.size());
+        assertEquals(1, top.get(0).getRank());
+        assertEquals("Third", top.get(1).getName());
+        assertEquals(3, top.get(1).getRank());
+        assertEquals(0.7, top.get(1).getAverageScore());
+        assertEquals(List.of("3"), scriptArgs());
+        verifyNoInteractions(reactiveStringRedisTemplate);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void stubTopScript(List<Object> reply) {
+        when(reactiveRedisTemplate.execute(any(RedisScript.class), eq(List.of(LEADERBOARD_KEY)), anyList(),
+                any(RedisElementWriter.class), any(RedisElementReader.class)))
+                .thenReturn((Flux) Flux.just(reply));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<String> scriptArgs() {
+        ArgumentCaptor<List> args = ArgumentCaptor.forClass(List.class);
+        verify(reactiveRedisTemplate).execute(any(RedisScript.class), eq(List.of(LEADERBOARD_KEY)), args.capture(),
+                any(RedisElementWriter.class), any(RedisElementReader.class));
+        List<String> values = new ArrayList<>();
+        for (Object arg : (List<Object>) args.getValue()) {
+            values.add(new String((byte[]) arg, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
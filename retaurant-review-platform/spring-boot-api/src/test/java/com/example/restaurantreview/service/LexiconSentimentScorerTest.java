@@ -0,0 +1,97 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Plain unit test, the scorer needs nothing but its lexicon resource
+class LexiconSentimentScorerTest {
+
+    private final LexiconSentimentScorer scorer = new LexiconSentimentScorer();
+
+    @Test
+    void scoresPositiveAndNegativeReviews() {
+        SentimentAnalysisResponse positive = scorer.score("The food was delicious and the staff were friendly");
+        assertEquals("POSITIVE", positive.getSentiment());
+        assertEquals(Boolean.TRUE, positive.getIsPositive());
+        assertTrue(positive.getScore() > 0);
+
+        SentimentAnalysisResponse negative = scorer.score("Cold, bland and overpriced.");
+        assertEquals("NEGATIVE", negative.getSentiment());
+        assertEquals(Boolean.FALSE, negative.getIsPositive());
+        assertTrue(negative.getScore() < 0);
+    }
+
+    @Test
+    void scoreHasTheTransformerShape() {
+        SentimentAnalysisResponse positive = scorer.score("Great pasta");
+        assertEquals(positive.getConfidence(), positive.getScore(), 1e-9);
+
+        SentimentAnalysisResponse negative = scorer.score("Awful pasta");
+        assertEquals(-negative.getConfidence(), negative.getScore(), 1e-9);
+
+        assertEquals(Review.SENTIMENT_ENGINE_LEXICON, positive.getEngine());
+        assertEquals(Review.SENTIMENT_ENGINE_LEXICON, negative.getEngine());
+    }
+
+    @Test
+    void negationFlipsTheFollowingWords() {
+        assertEquals("NEGATIVE", scorer.score("The pasta was not good").getSentiment());
+        assertEquals("NEGATIVE", scorer.score("The pasta wasn't good").getSentiment());
+        assertEquals("NEGATIVE", scorer.score("The pasta wasn\u2019t good").getSentiment());
+        assertEquals("NEGATIVE", scorer.score("We didnt enjoy it").getSentiment());
+        assertEquals("POSITIVE", scorer.score("The service was never slow").getSentiment());
+    }
+
+    @Test
+    void negationEndsAtClausePunctuation() {
+        // Without the comma ending the scope, "delicious" would be negated as well
+        SentimentAnalysisResponse response = scorer.score("Nothing wrong, everything delicious");
+        assertEquals("POSITIVE", response.getSentiment());
+    }
+
+    @Test
+    void intensifiersScaleTheNextWord() {
+        double plain = scorer.score("The soup was good").getConfidence();
+        double boosted = scorer.score("The soup was very good").getConfidence();
+        double dampened = scorer.score("The soup was slightly good").getConfidence();
+
+        assertTrue(boosted > plain, "very should strengthen good");
+        assertTrue(dampened < plain, "slightly should weaken good");
+    }
+
+    @Test
+    void clauseAfterButOutweighsTheOneBefore() {
+        SentimentAnalysisResponse response = scorer.score("The food was great but the service was terrible");
+        assertEquals("NEGATIVE", response.getSentiment());
+        // Mixed texts never look certain enough for the fast path
+        assertTrue(response.getConfidence() <= 0.75);
+    }
+
+    @Test
+    void matchingIgnoresCase() {
+        assertEquals(scorer.score("amazing").getScore(), scorer.score("AMAZING").getScore(), 1e-9);
+    }
+
+    @Test
+    void textWithoutLexiconWordsIsNeutral() {
+        for (String text : new String[]{"We ate at seven on a Tuesday", "", "   ", null}) {
+            SentimentAnalysisResponse response = scorer.score(text);
+            assertEquals("NEUTRAL", response.getSentiment());
+            assertEquals(0.0, response.getScore());
+            assertNull(response.getIsPositive());
+        }
+    }
+
+    @Test
+    void strongUnanimousReviewsReachFastPathConfidence() {
+        SentimentAnalysisResponse response = scorer.score(
+                "Absolutely amazing! Delicious food, wonderful staff and a lovely room.");
+        assertEquals("POSITIVE", response.getSentiment());
+        assertTrue(response.getConfidence() >= 0.9);
+    }
+}
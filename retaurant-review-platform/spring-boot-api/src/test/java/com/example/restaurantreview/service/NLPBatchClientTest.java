@@ -0,0 +1,138 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.BatchSentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Review;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+// Plain unit test: WebClient runs against a stubbed exchange function, no NLP service involved
+class NLPBatchClientTest {
+
+    private final NLPBatchClient batchClient = new NLPBatchClient();
+    private final ReviewPipelineMetrics metrics = mock(ReviewPipelineMetrics.class);
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    @Test
+    void resultsAreMappedBackToTheirInputPositions() {
+        BatchSentimentAnalysisResponse response = new BatchSentimentAnalysisResponse();
+        response.setProcessedAt("2024-05-14T18:22:31Z");
+        response.setResults(List.of(
+                result(2, "NEGATIVE", -0.7),
+                errorResult(1, "Text too long"),
+                result(0, "POSITIVE", 0.9),
+                result(7, "POSITIVE", 0.5)));
+
+        NLPBatchClient.BatchResults results = NLPBatchClient.toResultsByIndex(response, 4);
+
+        assertEquals(4, results.size());
+        assertEquals("POSITIVE", results.getSentiment(0).getSentiment());
+        assertEquals("2024-05-14T18:22:31Z", results.getSentiment(0).getProcessedAt());
+        assertEquals(Review.SENTIMENT_ENGINE_TRANSFORMER, results.getSentiment(0).getEngine());
+        assertEquals(-0.7, results.getSentiment(2).getScore());
+        assertNull(results.getError(0));
+
+        assertNull(results.getSentiment(1));
+        assertEquals("Text too long", results.getError(1));
+        // Index 3 never came back, index 7 is outside the batch
+        assertNull(results.getSentiment(3));
+        assertEquals("Missing result in NLP batch response", results.getError(3));
+    }
+
+    @Test
+    void analyzePostsTheTextsAndMapsTheResponse() {
+        useService(List.of(json(HttpStatus.OK, """
+                {"results": [
+                  {"index": 1, "sentiment": "NEGATIVE", "confidence": 0.8, "score": -0.8, "is_positive": false},
+                  {"index": 0, "sentiment": "POSITIVE", "confidence": 0.9, "score": 0.9, "is_positive": true}
+                ], "processed_at": "2024-05-14T18:22:31Z"}""")));
+
+        NLPBatchClient.BatchResults results = batchClient.analyze(List.of("great", "awful")).block();
+
+        assertEquals(1, requests.size());
+        assertEquals("/batch-analyze", requests.get(0).url().getPath());
+        assertEquals(0.9, results.getSentiment(0).getScore());
+        assertEquals(Boolean.FALSE, results.getSentiment(1).getIsPositive());
+    }
+
+    @Test
+    void retriesWhileTheModelIsLoading() {
+        useService(List.of(
+                json(HttpStatus.SERVICE_UNAVAILABLE, "{\"detail\": \"loading\"}"),
+                json(HttpStatus.OK, "{\"results\": [{\"index\": 0, \"sentiment\": \"NEUTRAL\", \"score\": 0.0}]}")));
+
+        NLPBatchClient.BatchResults results = batchClient.analyze(List.of("fine")).block();
+
+        assertEquals(2, requests.size());
+        assertEquals("NEUTRAL", results.getSentiment(0).getSentiment());
+        verify(metrics).recordNlpRetry();
+    }
+
+    @Test
+    void batchesAboveTheServiceLimitAreNotSent() {
+        useService(List.of());
+        List<String> texts = Collections.nCopies(NLPBatchClient.SERVICE_MAX_BATCH_SIZE + 1, "text");
+
+        assertThrows(IllegalArgumentException.class, () -> batchClient.analyze(texts).block());
+        assertEquals(0, requests.size());
+    }
+
+    private void useService(List<ClientResponse> responses) {
+        AtomicInteger next = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://nlp.test")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(responses.get(next.getAndIncrement()));
+                })
+                .build();
+
+        ReflectionTestUtils.setField(batchClient, "nlpWebClient", webClient);
+        ReflectionTestUtils.setField(batchClient, "metrics", metrics);
+        ReflectionTestUtils.setField(batchClient, "notReadyRetries", 1);
+        ReflectionTestUtils.setField(batchClient, "notReadyBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(batchClient, "timeout", Duration.ofSeconds(5));
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static BatchSentimentAnalysisResponse.Result result(int index, String sentiment, double score) {
+        BatchSentimentAnalysisResponse.Result result = new BatchSentimentAnalysisResponse.Result();
+        result.setIndex(index);
+        result.setSentiment(sentiment);
+        result.setScore(score);
+        result.setConfidence(Math.abs(score));
+        result.setIsPositive(score > 0);
+        return result;
+    }
+
+    private static BatchSentimentAnalysisResponse.Result errorResult(int index, String error) {
+        BatchSentimentAnalysisResponse.Result result = new BatchSentimentAnalysisResponse.Result();
+        result.setIndex(index);
+        result.setError(error);
+        return result;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.service.NLPCircuitBreaker.Permit;
+import com.example.restaurantreview.service.NLPCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Plain unit test of the breaker state machine. An open duration of zero makes the next permit a probe.
+class NLPCircuitBreakerTest {
+
+    private static final long LONG_OPEN = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void opensAfterConsecutiveFailuresAndShortCircuits() {
+        NLPCircuitBreaker breaker = new NLPCircuitBreaker(3, LONG_OPEN);
+
+        breaker.onFailure(breaker.acquirePermit());
+        breaker.onFailure(breaker.acquirePermit());
+        breaker.onSuccess(breaker.acquirePermit());
+        assertEquals(0, breaker.getConsecutiveFailures());
+
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure(breaker.acquirePermit());
+        }
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(Permit.REJECTED, breaker.acquirePermit());
+        assertEquals(1, breaker.getShortCircuited());
+    }
+
+    @Test
+    void halfOpenAdmitsOneProbeAndItsSuccessCloses() {
+        NLPCircuitBreaker breaker = openBreaker(0);
+
+        Permit probe = breaker.acquirePermit();
+        assertEquals(Permit.PROBE, probe);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertEquals(Permit.REJECTED, breaker.acquirePermit());
+
+        breaker.onSuccess(probe);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(Permit.CALL, breaker.acquirePermit());
+    }
+
+    @Test
+    void failedProbeReopens() {
+        NLPCircuitBreaker breaker = openBreaker(0);
+
+        breaker.onFailure(breaker.acquirePermit());
+        assertEquals(State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void callsAdmittedBeforeOpeningDoNotDecideTheProbe() {
+        NLPCircuitBreaker breaker = new NLPCircuitBreaker(1, 0);
+        Permit slowCall = breaker.acquirePermit();
+        Permit lateFailure = breaker.acquirePermit();
+        breaker.onFailure(breaker.acquirePermit());
+
+        Permit probe = breaker.acquirePermit();
+        assertEquals(Permit.PROBE, probe);
+
+        breaker.onSuccess(slowCall);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        breaker.onFailure(lateFailure);
+        assertEquals(State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess(probe);
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void ignoredProbeFreesTheProbeSlot() {
+        NLPCircuitBreaker breaker = openBreaker(0);
+
+        breaker.onIgnore(breaker.acquirePermit());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertEquals(Permit.PROBE, breaker.acquirePermit());
+    }
+
+    private static NLPCircuitBreaker openBreaker(long openDurationNanos) {
+        NLPCircuitBreaker breaker = new NLPCircuitBreaker(1, openDurationNanos);
+        breaker.onFailure(breaker.acquirePermit());
+        assertEquals(State.OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class RestaurantScoreConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 50;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private Long restaurantId;
+
+    @BeforeEach
+    void createRestaurant() {
+        Restaurant restaurant = new Restaurant("Concurrency Test " + System.nanoTime(), "test", "test", "Test");
+        restaurantId = restaurantRepository.save(restaurant).getId();
+    }
+
+    @AfterEach
+    void deleteRestaurant() {
+        restaurantService.deleteRestaurant(restaurantId);
+    }
+
+    @Test
+    void concurrentScoreUpdatesAreNotLost() throws Exception {
+        runConcurrently(() -> transactionTemplate.executeWithoutResult(status -> {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+            restaurantService.updateRestaurantScores(restaurant, 0.5);
+        }));
+
+        int expectedCount = THREADS * UPDATES_PER_THREAD;
+        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+        assertEquals(expectedCount, restaurant.getReviewCount());
+        assertEquals(expectedCount * 0.5, restaurant.getTotalScore(), 1e-6);
+        assertEquals(0.5, restaurant.getAverageScore(), 1e-9);
+
+        String restaurantKey = "restaurant:" + restaurantId;
+        assertEquals(String.valueOf(expectedCount),
+                stringRedisTemplate.opsForHash().get(restaurantKey, "reviewCount"));
+        Double leaderboardScore = stringRedisTemplate.opsForZSet().score("restaurant:leaderboard", restaurantKey);
+        assertEquals(0.5, leaderboardScore, 1e-9);
+    }
+
+    @Test
+    void concurrentIncrementsAndDecrementsBalance() throws Exception {
+        // Seed enough reviews that decrements never race the count down to zero
+        int seeded = THREADS * UPDATES_PER_THREAD;
+        transactionTemplate.executeWithoutResult(status -> {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+            for (int i = 0; i < seeded; i++) {
+                restaurantService.updateRestaurantScores(restaurant, 0.8);
+            }
+        });
+
+        runConcurrently(() -> transactionTemplate.executeWithoutResult(status -> {
+            Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+            restaurantService.updateRestaurantScores(restaurant, 0.2);
+            restaurantService.removeReviewScore(restaurant, 0.8, LocalDateTime.now());
+        }));
+
+        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElseThrow();
+        assertEquals(seeded, restaurant.getReviewCount());
+        assertEquals(seeded * 0.2, restaurant.getTotalScore(), 1e-6);
+        assertEquals(0.2, restaurant.getAverageScore(), 1e-9);
+    }
+
+    private void runConcurrently(Runnable update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        update.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.ReviewImportJob;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import com.example.restaurantreview.repository.ReviewImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+// Throughput of the bulk import write path: streaming parse, JDBC-batched inserts and per-chunk aggregate
+// updates. Inference is stubbed so the figure does not depend on the model. Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@SpringBootTest(properties = "app.leaderboard.cache-key=benchmark:import-leaderboard")
+class ReviewImportBenchmarkTest {
+
+    private static final String LEADERBOARD_KEY = "benchmark:import-leaderboard";
+    private static final int RESTAURANTS = 50;
+    private static final int REVIEWS = 50_000;
+
+    // Target for the database path alone, the per-review path pays an INSERT and an UPDATE round trip per row
+    private static final double TARGET_REVIEWS_PER_SECOND = 2_000;
+
+    @MockitoBean
+    private NLPService nlpService;
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewImportJobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final List<Long> restaurantIds = new ArrayList<>();
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < RESTAURANTS; i++) {
+            Restaurant restaurant = new Restaurant("Import Benchmark " + i + " " + System.nanoTime(),
+                    "benchmark", "benchmark", "Benchmark");
+            restaurantIds.add(restaurantRepository.save(restaurant).getId());
+        }
+
+        when(nlpService.analyzeSentimentBatch(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<?> texts = invocation.getArgument(0);
+            List<SentimentAnalysisResponse> results = new ArrayList<>(texts.size());
+            for (int i = 0; i < texts.size(); i++) {
+                results.add(i % 3 == 0
+                        ? new SentimentAnalysisResponse("NEGATIVE", 0.9, -0.8, false)
+                        : new SentimentAnalysisResponse("POSITIVE", 0.95, 0.9, true));
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Long restaurantId : restaurantIds) {
+            jdbcTemplate.update("DELETE FROM reviews WHERE restaurant_id = ?", restaurantId);
+            restaurantService.deleteRestaurant(restaurantId);
+        }
+        if (jobId != null) {
+            jobRepository.deleteById(jobId);
+        }
+        Set<String> keys = stringRedisTemplate.keys(LEADERBOARD_KEY + "*");
+        if (keys != null && !keys.isEmpty()) {
+            stringRedisTemplate.delete(keys);
+        }
+    }
+
+    @Test
+    void importThroughput() {
+        byte[] input = ndjson(REVIEWS);
+
+        long start = System.nanoTime();
+        ReviewImportJob job = reviewImportService.importReviews(
+                new ByteArrayInputStream(input), ReviewImportService.Format.NDJSON, "benchmark", null);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        jobId = job.getId();
+
+        assertEquals(ReviewImportJob.STATUS_COMPLETED, job.getStatus());
+        assertEquals(REVIEWS, job.getImportedCount().longValue());
+        assertEquals(0L, job.getFailedCount().longValue());
+
+        long reviewCount = restaurantRepository.findAllById(restaurantIds).stream()
+                .mapToLong(Restaurant::getReviewCount).sum();
+        assertEquals(REVIEWS, reviewCount);
+
+        double throughput = REVIEWS / seconds;
+        System.out.printf("review import: %d reviews in %.2f s, %.0f reviews/s (target %.0f)%n",
+                REVIEWS, seconds, throughput, TARGET_REVIEWS_PER_SECOND);
+        assertTrue(throughput >= TARGET_REVIEWS_PER_SECOND,
+                String.format("Import throughput %.0f reviews/s is below the target of %.0f",
+                        throughput, TARGET_REVIEWS_PER_SECOND));
+    }
+
+    private byte[] ndjson(int reviews) {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        StringBuilder builder = new StringBuilder(reviews * 160);
+        for (int i = 0; i < reviews; i++) {
+            builder.append("{\"restaurantId\":").append(restaurantIds.get(i % RESTAURANTS))
+                    .append(",\"reviewText\":\"Imported review number ").append(i)
+                    .append(", the food was good and the service friendly\"")
+                    .append(",\"reviewerName\":\"Importer ").append(i % 1000)
+                    .append("\",\"createdAt\":\"").append(base.plusMinutes(i)).append("\"}\n");
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
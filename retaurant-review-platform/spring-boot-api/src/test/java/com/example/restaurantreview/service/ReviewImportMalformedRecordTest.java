@@ -0,0 +1,119 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.ReviewImportJob;
+import com.example.restaurantreview.repository.RestaurantRepository;
+import com.example.restaurantreview.repository.ReviewImportJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+// A record that cannot be parsed is counted as failed and skipped, the rest of the file is still imported
+@SpringBootTest(properties = "app.import.chunk-size=2")
+class ReviewImportMalformedRecordTest {
+
+    @MockitoBean
+    private NLPService nlpService;
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ReviewImportJobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long restaurantId;
+    private final List<Long> jobIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Restaurant restaurant = new Restaurant("Import Malformed " + System.nanoTime(), "test", "test", "Test");
+        restaurantId = restaurantRepository.save(restaurant).getId();
+
+        when(nlpService.analyzeSentimentBatch(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<?> texts = invocation.getArgument(0);
+            List<SentimentAnalysisResponse> results = new ArrayList<>(texts.size());
+            for (int i = 0; i < texts.size(); i++) {
+                results.add(new SentimentAnalysisResponse("POSITIVE", 0.9, 0.8, true));
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reviews WHERE restaurant_id = ?", restaurantId);
+        restaurantService.deleteRestaurant(restaurantId);
+        jobIds.forEach(jobRepository::deleteById);
+    }
+
+    @Test
+    void malformedNdjsonLinesAreCountedAsFailed() {
+        String input = String.join("\n",
+                review("first"),
+                "{\"restaurantId\":" + restaurantId + ",\"reviewText\":\"cut off",
+                "",
+                review("second"),
+                "{\"restaurantId\":\"not a number\",\"reviewText\":\"bad id\"}",
+                review("third")) + "\n";
+
+        ReviewImportJob job = importReviews(input, ReviewImportService.Format.NDJSON);
+
+        assertEquals(ReviewImportJob.STATUS_COMPLETED, job.getStatus());
+        assertEquals(3L, job.getImportedCount().longValue());
+        assertEquals(2L, job.getFailedCount().longValue());
+        assertEquals(5L, job.getRecordsRead().longValue());
+        assertTrue(job.getLastError().startsWith("line 5:"), job.getLastError());
+        assertEquals(3, restaurantRepository.findById(restaurantId).orElseThrow().getReviewCount());
+    }
+
+    @Test
+    void unmappableCsvRowsAreCountedAsFailed() {
+        String input = "restaurantId,reviewText,reviewerName\n"
+                + restaurantId + ",Lovely pasta,Ana\n"
+                + "twelve,Unreadable id,Ben\n"
+                + restaurantId + ",Great service,Cleo\n";
+
+        ReviewImportJob job = importReviews(input, ReviewImportService.Format.CSV);
+
+        assertEquals(ReviewImportJob.STATUS_COMPLETED, job.getStatus());
+        assertEquals(2L, job.getImportedCount().longValue());
+        assertEquals(1L, job.getFailedCount().longValue());
+        assertTrue(job.getLastError().startsWith("line 3:"), job.getLastError());
+    }
+
+    private ReviewImportJob importReviews(String input, ReviewImportService.Format format) {
+        ReviewImportJob job = reviewImportService.importReviews(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, "test", null);
+        jobIds.add(job.getId());
+        return job;
+    }
+
+    private String review(String text) {
+        return "{\"restaurantId\":" + restaurantId + ",\"reviewText\":\"A " + text + " imported review\"}";
+    }
+}
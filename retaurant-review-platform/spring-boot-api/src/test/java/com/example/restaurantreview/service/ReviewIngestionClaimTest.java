@@ -0,0 +1,111 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import com.example.restaurantreview.entity.Restaurant;
+import com.example.restaurantreview.entity.Review;
+import com.example.restaurantreview.entity.ReviewIngestionTask;
+import com.example.restaurantreview.repository.ReviewIngestionTaskRepository;
+import com.example.restaurantreview.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Plain unit test with the repositories stubbed: the NLP call stands in for the window in which a task can
+// go stale and be claimed again by another worker
+class ReviewIngestionClaimTest {
+
+    private static final long TASK_ID = 1L;
+    private static final long REVIEW_ID = 10L;
+
+    private final ReviewIngestionService ingestionService = new ReviewIngestionService();
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final ReviewIngestionTaskRepository taskRepository = mock(ReviewIngestionTaskRepository.class);
+    private final RestaurantService restaurantService = mock(RestaurantService.class);
+    private final ReviewStatisticsService statisticsService = mock(ReviewStatisticsService.class);
+    private final NLPService nlpService = mock(NLPService.class);
+
+    private final ReviewIngestionTask task = new ReviewIngestionTask(REVIEW_ID);
+    private final Review review = new Review(new Restaurant("Claim", "test", "test", "Test"), "Nice place", "Ana");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ingestionService, "reviewRepository", reviewRepository);
+        ReflectionTestUtils.setField(ingestionService, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(ingestionService, "restaurantService", restaurantService);
+        ReflectionTestUtils.setField(ingestionService, "reviewService", new ReviewService());
+        ReflectionTestUtils.setField(ingestionService, "statisticsService", statisticsService);
+        ReflectionTestUtils.setField(ingestionService, "nlpService", nlpService);
+        ReflectionTestUtils.setField(ingestionService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(ingestionService, "maxAttempts", 5);
+
+        task.setId(TASK_ID);
+        task.setStatus(ReviewIngestionTask.STATUS_PROCESSING);
+        task.setAttempts(1);
+        review.setId(REVIEW_ID);
+        review.setSentimentStatus(Review.SENTIMENT_STATUS_PENDING);
+
+        when(taskRepository.claim(anyLong(), any(LocalDateTime.class))).thenReturn(1);
+        when(taskRepository.findById(TASK_ID)).thenReturn(Optional.of(task));
+        when(taskRepository.findByIdForUpdate(TASK_ID)).thenReturn(Optional.of(task));
+        when(reviewRepository.findById(REVIEW_ID)).thenReturn(Optional.of(review));
+        when(reviewRepository.findByIdForUpdate(REVIEW_ID)).thenReturn(Optional.of(review));
+    }
+
+    @Test
+    void currentClaimAppliesTheSentimentOnce() {
+        when(nlpService.analyzeSentiment(anyString())).thenReturn(new SentimentAnalysisResponse("POSITIVE", 0.9, 0.8, true));
+
+        ingestionService.processTask(TASK_ID);
+
+        verify(restaurantService, times(1)).updateRestaurantScores(any(Restaurant.class), anyDouble(), any());
+        verify(statisticsService, times(1)).recordAnalyzedReview(review);
+        assertEquals(ReviewIngestionTask.STATUS_COMPLETED, task.getStatus());
+    }
+
+    @Test
+    void staleWorkerDropsItsResultAfterTheTaskWasClaimedAgain() {
+        when(nlpService.analyzeSentiment(anyString())).thenAnswer(invocation -> {
+            // Released by the recovery poller and claimed by another worker while this one waited
+            task.setAttempts(2);
+            return new SentimentAnalysisResponse("POSITIVE", 0.9, 0.8, true);
+        });
+
+        ingestionService.processTask(TASK_ID);
+
+        verify(restaurantService, never()).updateRestaurantScores(any(Restaurant.class), anyDouble(), any());
+        verify(statisticsService, never()).recordAnalyzedReview(any());
+        verify(taskRepository, never()).save(any());
+        assertEquals(ReviewIngestionTask.STATUS_PROCESSING, task.getStatus());
+        assertEquals(Review.SENTIMENT_STATUS_PENDING, review.getSentimentStatus());
+    }
+
+    @Test
+    void staleWorkerDoesNotRequeueTheNewerAttempt() {
+        when(nlpService.analyzeSentiment(anyString())).thenAnswer(invocation -> {
+            task.setAttempts(2);
+            throw new IllegalStateException("NLP service timed out");
+        });
+
+        ingestionService.processTask(TASK_ID);
+
+        verify(taskRepository, never()).save(any());
+        assertEquals(ReviewIngestionTask.STATUS_PROCESSING, task.getStatus());
+    }
+}
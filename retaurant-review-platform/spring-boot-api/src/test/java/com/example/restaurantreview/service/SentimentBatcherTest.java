@@ -0,0 +1,181 @@
+package com.example.restaurantreview.service;
+
+import com.example.restaurantreview.dto.SentimentAnalysisResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Plain unit test with the /batch-analyze client stubbed: each batch the dispatcher sends is recorded
+class SentimentBatcherTest {
+
+    private final SentimentBatcher batcher = new SentimentBatcher();
+    private final NLPBatchClient batchClient = mock(NLPBatchClient.class);
+    private final NLPResilienceGuard resilienceGuard = new NLPResilienceGuard();
+    private final List<List<String>> sentBatches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(batchClient.analyze(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            sentBatches.add(List.copyOf(texts));
+            return Mono.just(echo(texts));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.stop();
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheLinger() throws Exception {
+        start(4, Duration.ofSeconds(10), 100);
+
+        List<CompletableFuture<SentimentAnalysisResponse>> futures = submitAll("a", "b", "c", "d");
+
+        for (CompletableFuture<SentimentAnalysisResponse> future : futures) {
+            future.get(2, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of(List.of("a", "b", "c", "d")), sentBatches);
+    }
+
+    @Test
+    void partialBatchIsSentOnceTheLingerEnds() throws Exception {
+        start(16, Duration.ofMillis(50), 100);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<SentimentAnalysisResponse>> futures = submitAll("a", "b", "c");
+        for (CompletableFuture<SentimentAnalysisResponse> future : futures) {
+            future.get(2, TimeUnit.SECONDS);
+        }
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(List.of(List.of("a", "b", "c")), sentBatches);
+        assertEquals("c", futures.get(2).get().getSentiment());
+    }
+
+    @Test
+    void failedItemOnlyFailsItsOwnCaller() throws Exception {
+        start(3, Duration.ofSeconds(10), 100);
+
+        List<CompletableFuture<SentimentAnalysisResponse>> futures = submitAll("a", "reject", "c");
+
+        assertEquals("a", futures.get(0).get(2, TimeUnit.SECONDS).getSentiment());
+        assertEquals("c", futures.get(2).get(2, TimeUnit.SECONDS).getSentiment());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> futures.get(1).get(2, TimeUnit.SECONDS));
+        assertInstanceOf(SentimentBatcher.BatchItemException.class, failure.getCause());
+        assertEquals("Text rejected", failure.getCause().getMessage());
+        assertEquals(1, batcher.getStats().getItemsFailed());
+    }
+
+    @Test
+    void submissionsBeyondTheQueueCapacityAreRejected() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchClient.analyze(anyList())).thenAnswer(invocation -> {
+            // Hold the dispatcher so the queue fills up behind it
+            sending.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Mono.just(echo(invocation.getArgument(0)));
+        });
+        start(1, Duration.ZERO, 1);
+
+        CompletableFuture<SentimentAnalysisResponse> inFlight = batcher.submit("a");
+        assertTrue(sending.await(2, TimeUnit.SECONDS));
+        CompletableFuture<SentimentAnalysisResponse> queued = batcher.submit("b");
+        CompletableFuture<SentimentAnalysisResponse> rejected = batcher.submit("c");
+
+        ExecutionException failure = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(NLPService.ServiceOverloadedException.class, failure.getCause());
+        assertEquals(1, batcher.getStats().getItemsRejected());
+
+        release.countDown();
+        assertEquals("a", inFlight.get(2, TimeUnit.SECONDS).getSentiment());
+        assertEquals("b", queued.get(2, TimeUnit.SECONDS).getSentiment());
+    }
+
+    @Test
+    void failedBatchCountsAsOneCircuitBreakerFailure() throws Exception {
+        when(batchClient.analyze(anyList())).thenReturn(Mono.error(new IllegalStateException("Connection reset")));
+        start(16, Duration.ofSeconds(10), 100);
+
+        List<CompletableFuture<SentimentAnalysisResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            futures.add(batcher.submit("text " + i));
+        }
+        for (CompletableFuture<SentimentAnalysisResponse> future : futures) {
+            assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        }
+
+        // The guard records the outcome just after the callers are failed
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (resilienceGuard.getStats().getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        NLPResilienceGuard.ResilienceStats stats = resilienceGuard.getStats();
+        assertEquals(1, stats.getConsecutiveFailures());
+        assertEquals("CLOSED", stats.getCircuitState());
+        assertEquals(0, stats.getInFlight());
+    }
+
+    private void start(int maxBatchSize, Duration maxLinger, int queueCapacity) {
+        ReflectionTestUtils.setField(resilienceGuard, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(resilienceGuard, "failureThreshold", 5);
+        ReflectionTestUtils.setField(resilienceGuard, "openDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(resilienceGuard, "initialLimit", 20);
+        ReflectionTestUtils.setField(resilienceGuard, "minLimit", 2);
+        ReflectionTestUtils.setField(resilienceGuard, "maxLimit", 200);
+        ReflectionTestUtils.setField(resilienceGuard, "minRttWindow", Duration.ofSeconds(60));
+        resilienceGuard.init();
+
+        ReflectionTestUtils.setField(batcher, "batchClient", batchClient);
+        ReflectionTestUtils.setField(batcher, "resilienceGuard", resilienceGuard);
+        ReflectionTestUtils.setField(batcher, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batcher, "maxBatchSize", maxBatchSize);
+        ReflectionTestUtils.setField(batcher, "maxLinger", maxLinger);
+        ReflectionTestUtils.setField(batcher, "queueCapacity", queueCapacity);
+        batcher.start();
+    }
+
+    private List<CompletableFuture<SentimentAnalysisResponse>> submitAll(String... texts) {
+        List<CompletableFuture<SentimentAnalysisResponse>> futures = new ArrayList<>();
+        for (String text : texts) {
+            futures.add(batcher.submit(text));
+        }
+        return futures;
+    }
+
+    // Each text comes back as its own sentiment label; "reject" comes back as an item error
+    private static NLPBatchClient.BatchResults echo(List<String> texts) {
+        SentimentAnalysisResponse[] sentiments = new SentimentAnalysisResponse[texts.size()];
+        String[] errors = new String[texts.size()];
+        for (int i = 0; i < texts.size(); i++) {
+            if ("reject".equals(texts.get(i))) {
+                errors[i] = "Text rejected";
+            } else {
+                sentiments[i] = new SentimentAnalysisResponse(texts.get(i), 0.9, 0.9, true);
+            }
+        }
+        return new NLPBatchClient.BatchResults(sentiments, errors);
+    }
+}